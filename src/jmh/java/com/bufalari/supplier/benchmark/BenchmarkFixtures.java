@@ -0,0 +1,93 @@
+package com.bufalari.supplier.benchmark;
+
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared test data for the JMH benchmarks (realistic field sizes, pt-BR text).
+ * Dados compartilhados pelos benchmarks JMH (tamanhos de campos realistas, texto em pt-BR).
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET_KEY = "benchmark-only-secret-key-with-at-least-256-bits-0123456789";
+    static final String USERNAME = "compras.joao";
+
+    private BenchmarkFixtures() {
+    }
+
+    static SupplierDTO supplier(int i) {
+        return SupplierDTO.builder()
+                .id(UUID.nameUUIDFromBytes(("supplier-" + i).getBytes(StandardCharsets.UTF_8)))
+                .name("Construtora São João Materiais de Construção Ltda " + i)
+                .tradeName("SJ Materiais " + i)
+                .businessIdentificationNumber(String.format("%02d.%03d.%03d/0001-%02d", i % 100, i % 1000, (i * 7) % 1000, i % 97))
+                .address(AddressDTO.builder()
+                        .street("Avenida Brigadeiro Faria Lima")
+                        .number(String.valueOf(1000 + i))
+                        .complement("Conjunto " + (i % 50))
+                        .neighbourhood("Jardim Paulistano")
+                        .city("São Paulo")
+                        .province("SP")
+                        .postalCode("01452-000")
+                        .country("Brasil")
+                        .build())
+                .primaryContactName("Maria Conceição Oliveira")
+                .primaryContactPhone("+55 11 99999-" + String.format("%04d", i % 10000))
+                .primaryContactEmail("compras" + i + "@sjmateriais.com.br")
+                .category("MATERIAL")
+                .bankName("Banco do Brasil")
+                .bankAgency("1234-5")
+                .bankAccount("98765-" + (i % 10))
+                .documentReferences(new ArrayList<>(List.of("contrato-" + i + ".pdf", "alvara-" + i + ".pdf", "certidao-" + i + ".pdf")))
+                .build();
+    }
+
+    static List<SupplierDTO> suppliers(int count) {
+        List<SupplierDTO> suppliers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            suppliers.add(supplier(i));
+        }
+        return suppliers;
+    }
+
+    /** A JwtUtil wired as Spring would, with the given claims cache size (0 disables caching). */
+    static JwtUtil jwtUtil(long claimsCacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "configuredSecretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", claimsCacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(jwtUtil, "rolesClaim", "roles");
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /** A signed HS256 token for {@link #USERNAME}, valid for one hour, as issued by auth-service. */
+    static String token() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(USERNAME)
+                .addClaims(Map.of("roles", List.of("PURCHASING", "MANAGER")))
+                .setIssuedAt(now)
+                .setExpiration(Date.from(now.toInstant().plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    static LocalDateTime timestamp() {
+        return LocalDateTime.of(2024, 5, 17, 14, 30, 12, 123_456_000);
+    }
+}
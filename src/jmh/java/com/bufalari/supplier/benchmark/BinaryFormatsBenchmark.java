@@ -0,0 +1,94 @@
+package com.bufalari.supplier.benchmark;
+
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode of a 1,000-supplier page in JSON, CBOR and Smile, each mapper configured the way
+ * BinaryFormatsConfig configures it. encode also reports the encoded size as the bytesPerSupplier counter, next
+ * to the score in the results.
+ * Codificação e decodificação de uma página de 1.000 fornecedores em JSON, CBOR e Smile, com cada mapper
+ * configurado como no BinaryFormatsConfig. encode também reporta o tamanho codificado no contador
+ * bytesPerSupplier, junto do score nos resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatsBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+    private static final TypeReference<List<SupplierDTO>> SUPPLIER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<SupplierDTO> suppliers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        suppliers = BenchmarkFixtures.suppliers(PAGE_SIZE);
+        encoded = objectMapper.writeValueAsBytes(suppliers);
+    }
+
+    /**
+     * Encoded size, reported by JMH as a secondary result of encode.
+     * Tamanho codificado, reportado pelo JMH como resultado secundário do encode.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public double bytesPerSupplier;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerSupplier = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(suppliers);
+        size.bytesPerSupplier = (double) bytes.length / PAGE_SIZE; // Atribuição, não soma: o valor é o mesmo a cada chamada
+        return bytes;
+    }
+
+    @Benchmark
+    public List<SupplierDTO> decode() throws IOException {
+        return objectMapper.readValue(encoded, SUPPLIER_LIST);
+    }
+}
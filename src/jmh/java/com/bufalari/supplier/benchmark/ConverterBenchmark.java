@@ -0,0 +1,72 @@
+package com.bufalari.supplier.benchmark;
+
+import com.bufalari.supplier.converter.AddressConverter;
+import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.entity.AddressEmbeddable;
+import com.bufalari.supplier.entity.SupplierEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the entity/DTO converters used on every read and write.
+ * Custo por chamada dos conversores entidade/DTO usados em toda leitura e escrita.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private AddressConverter addressConverter;
+    private SupplierConverter supplierConverter;
+    private SupplierDTO dto;
+    private SupplierEntity entity;
+    private AddressDTO addressDTO;
+    private AddressEmbeddable addressEntity;
+
+    @Setup
+    public void setUp() {
+        addressConverter = new AddressConverter();
+        supplierConverter = new SupplierConverter(addressConverter);
+        dto = BenchmarkFixtures.supplier(42);
+        entity = supplierConverter.dtoToEntity(dto);
+        entity.setCreatedAt(BenchmarkFixtures.timestamp());
+        entity.setLastModifiedAt(BenchmarkFixtures.timestamp());
+        addressDTO = dto.getAddress();
+        addressEntity = entity.getAddress();
+    }
+
+    @Benchmark
+    public SupplierDTO supplierEntityToDTO() {
+        return supplierConverter.entityToDTO(entity);
+    }
+
+    @Benchmark
+    public SupplierEntity supplierDtoToEntity() {
+        return supplierConverter.dtoToEntity(dto);
+    }
+
+    @Benchmark
+    public AddressDTO addressEntityToDTO() {
+        return addressConverter.entityToDTO(addressEntity);
+    }
+
+    @Benchmark
+    public AddressEmbeddable addressDtoToEntity() {
+        return addressConverter.dtoToEntity(addressDTO);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bufalari.supplier.benchmark;
+
+import com.bufalari.supplier.client.AuthServiceClient;
+import com.bufalari.supplier.dto.UserDetailsDTO;
+import com.bufalari.supplier.security.CustomUserDetailsService;
+import com.bufalari.supplier.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full JwtAuthenticationFilter pass for an authenticated GET, in both authorization modes. The user details
+ * service is stubbed (no Feign call), so this measures token handling, authority mapping and security context setup.
+ * Uma passagem completa pelo JwtAuthenticationFilter para um GET autenticado, nos dois modos de autorização. O serviço
+ * de usuários é um stub (sem chamada Feign).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({JwtAuthenticationFilter.MODE_AUTH_SERVICE, JwtAuthenticationFilter.MODE_CLAIMS})
+    public String mode;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+
+    /** Returns a fixed user instead of calling auth-service. / Retorna um usuário fixo em vez de chamar o auth-service. */
+    static final class StubUserDetailsService extends CustomUserDetailsService {
+
+        private final UserDetails user = new User(BenchmarkFixtures.USERNAME, "",
+                List.of(new SimpleGrantedAuthority("ROLE_PURCHASING"), new SimpleGrantedAuthority("ROLE_MANAGER")));
+
+        StubUserDetailsService() {
+            super(unusedClient(), new SimpleMeterRegistry(), Duration.ofMinutes(5), 1);
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+            return user;
+        }
+
+        private static AuthServiceClient unusedClient() {
+            return new AuthServiceClient() {
+                @Override
+                public UserDetailsDTO getUserByUsername(String username) {
+                    throw new IllegalStateException("auth-service must not be called in the benchmark");
+                }
+
+                @Override
+                public UserDetailsDTO getUserById(String userId) {
+                    throw new IllegalStateException("auth-service must not be called in the benchmark");
+                }
+            };
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthenticationFilter(new StubUserDetailsService(), BenchmarkFixtures.jwtUtil(10_000), mode, false);
+        authorizationHeader = "Bearer " + BenchmarkFixtures.token();
+    }
+
+    @Benchmark
+    public Authentication filterPass() throws ServletException, IOException {
+        // Requisição nova a cada chamada: OncePerRequestFilter marca a requisição como já filtrada
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/supplier-service/d290f1ee-6c54-4b01-90e6-d701748f0851");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
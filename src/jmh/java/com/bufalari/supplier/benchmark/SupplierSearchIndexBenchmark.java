@@ -0,0 +1,75 @@
+package com.bufalari.supplier.benchmark;
+
+import com.bufalari.supplier.converter.AddressConverter;
+import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.service.SupplierSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Typeahead search latency over 10 000 indexed suppliers, for the query shapes the index handles differently:
+ * name prefix (sorted-map fast path), words inside names (trigram intersection), one- and two-letter word prefixes,
+ * and business IDs with punctuation. Also the cost of re-indexing one supplier after a write.
+ * Latência da busca typeahead sobre 10 000 fornecedores indexados, para cada forma de consulta tratada de modo
+ * diferente pelo índice, e o custo de reindexar um fornecedor após uma escrita.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SupplierSearchIndexBenchmark {
+
+    private static final int SUPPLIERS = 10_000;
+
+    /** Name prefix, words inside the name, short prefix, business ID. / Prefixo, palavras no nome, prefixo curto, Business ID. */
+    @Param({"construtora sao", "materiais 4242", "sj", "12.345"})
+    public String query;
+
+    private SupplierSearchIndex index;
+    private SupplierEntity updated;
+
+    @Setup
+    public void setUp() {
+        // Sem transação ativa, index() aplica a mudança na hora; o repositório só seria usado por rebuild()
+        index = new SupplierSearchIndex(mock(SupplierRepository.class), mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        SupplierConverter supplierConverter = new SupplierConverter(new AddressConverter());
+        for (SupplierDTO dto : BenchmarkFixtures.suppliers(SUPPLIERS)) {
+            SupplierEntity entity = supplierConverter.dtoToEntity(dto);
+            entity.setId(dto.getId());
+            index.index(entity);
+            updated = entity;
+        }
+    }
+
+    @Benchmark
+    public List<SupplierSummaryDTO> search() {
+        return index.search(query, 10);
+    }
+
+    @Benchmark
+    public void reindexOne() {
+        index.index(updated);
+    }
+}
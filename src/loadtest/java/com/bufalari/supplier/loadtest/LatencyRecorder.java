@@ -0,0 +1,99 @@
+package com.bufalari.supplier.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects every latency sample of one operation (no bucketing, so percentiles are exact) and the error count.
+ * At the rates this suite runs, a few hundred thousand samples per run, a sorted array is cheap enough.
+ * Coleta todas as amostras de latência de uma operação (sem buckets, então os percentis são exatos) e o número de erros.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    /**
+     * Records one completed request. / Registra uma requisição concluída.
+     *
+     * @param latencyNanos From the intended send time to the response (includes queueing). / Do envio planejado até a resposta.
+     * @param success      2xx/3xx response. / Resposta 2xx/3xx.
+     */
+    synchronized void record(long latencyNanos, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized int errors() {
+        return errors;
+    }
+
+    /**
+     * Report entry: count, errors, throughput over {@code elapsedSeconds} and latency percentiles in milliseconds.
+     * Entrada do relatório: contagem, erros, vazão em {@code elapsedSeconds} e percentis de latência em milissegundos.
+     */
+    synchronized Map<String, Object> summary(double elapsedSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughput", round(count / elapsedSeconds));
+        summary.put("latencyMillis", percentiles(Arrays.copyOf(samples, count)));
+        return summary;
+    }
+
+    /**
+     * Merges several recorders into one (the "all operations" line). / Junta vários registros num só.
+     */
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                for (int i = 0; i < recorder.count; i++) {
+                    merged.record(recorder.samples[i], true);
+                }
+                merged.errors += recorder.errors;
+            }
+        }
+        return merged;
+    }
+
+    private static Map<String, Object> percentiles(long[] sorted) {
+        Arrays.sort(sorted);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        if (sorted.length == 0) {
+            return latency;
+        }
+        latency.put("p50", millis(percentile(sorted, 0.50)));
+        latency.put("p95", millis(percentile(sorted, 0.95)));
+        latency.put("p99", millis(percentile(sorted, 0.99)));
+        latency.put("p999", millis(percentile(sorted, 0.999)));
+        latency.put("max", millis(sorted[sorted.length - 1]));
+        latency.put("mean", millis((long) Arrays.stream(sorted).average().orElse(0)));
+        return latency;
+    }
+
+    /** Nearest-rank percentile. / Percentil pelo posto mais próximo. */
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.bufalari.supplier.loadtest;
+
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data the load mix draws from: base URL, one token per simulated user and the suppliers created before the run.
+ * Dados usados pela mistura de carga: URL base, um token por usuário simulado e os fornecedores criados antes da carga.
+ */
+final class LoadFixture {
+
+    static final String SECRET_KEY = "load-test-only-secret-key-with-at-least-256-bits-0123456789";
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    static final List<String> CITIES = List.of("São Paulo", "Curitiba", "Porto Alegre", "Toronto", "Montréal", "Vancouver");
+    static final List<String> PROVINCES = List.of("SP", "PR", "RS", "ON", "QC", "BC");
+    static final List<String> CATEGORIES = List.of("MATERIAL", "SERVICE", "EQUIPMENT_RENTAL", "LOGISTICS");
+    private static final List<String> NAME_WORDS = List.of("Construtora", "Materiais", "Engenharia", "Ferragens", "Concreto", "Elétrica");
+
+    private final String baseUrl;
+    private final List<String> tokens;
+    private final ObjectMapper objectMapper;
+    /** Suppliers created before the run, with their IDs (targets of reads, updates and document calls). */
+    private final List<SupplierDTO> suppliers = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextBusinessId = new AtomicLong();
+
+    LoadFixture(String baseUrl, int users, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            tokens.add(token("load-user-" + i));
+        }
+    }
+
+    /** A new supplier with a unique business ID, in the formats real clients send. / Um novo fornecedor com business ID único. */
+    SupplierDTO newSupplier() {
+        long n = nextBusinessId.getAndIncrement();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int location = random.nextInt(CITIES.size());
+        String digits = String.format("%014d", n);
+        return SupplierDTO.builder()
+                .name(pick(NAME_WORDS) + " " + pick(NAME_WORDS) + " " + CITIES.get(location) + " Ltda " + n)
+                .tradeName(pick(NAME_WORDS) + " " + n)
+                .businessIdentificationNumber(digits.substring(0, 2) + "." + digits.substring(2, 5) + "." + digits.substring(5, 8)
+                        + "/" + digits.substring(8, 12) + "-" + digits.substring(12))
+                .address(AddressDTO.builder()
+                        .street("Avenida Central")
+                        .number(String.valueOf(100 + random.nextInt(5000)))
+                        .city(CITIES.get(location))
+                        .province(PROVINCES.get(location))
+                        .postalCode("01000-000")
+                        .country(location < 3 ? "Brasil" : "Canada")
+                        .build())
+                .primaryContactName("Contato " + n)
+                .primaryContactEmail("compras" + n + "@fornecedor.example.com")
+                .category(pick(CATEGORIES))
+                .bankName("Banco " + (n % 10))
+                .documentReferences(List.of())
+                .build();
+    }
+
+    void addSupplier(SupplierDTO supplier) {
+        suppliers.add(supplier);
+    }
+
+    int supplierCount() {
+        return suppliers.size();
+    }
+
+    SupplierDTO randomSupplier() {
+        return suppliers.get(ThreadLocalRandom.current().nextInt(suppliers.size()));
+    }
+
+    HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .header("Authorization", "Bearer " + pick(tokens))
+                .timeout(REQUEST_TIMEOUT);
+    }
+
+    HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String token(String username) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(username)
+                .addClaims(Map.of("roles", List.of("PURCHASING")))
+                .setIssuedAt(now)
+                .setExpiration(Date.from(now.toInstant().plus(Duration.ofHours(4))))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
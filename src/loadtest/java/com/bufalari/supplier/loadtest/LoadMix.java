@@ -0,0 +1,106 @@
+package com.bufalari.supplier.loadtest;
+
+import com.bufalari.supplier.dto.SupplierDTO;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request mix driven through SupplierController, weighted per thousand requests: mostly reads by ID, as seen from
+ * accounts-payable and the web front end, plus listings, typeahead searches, writes and document calls.
+ * Mistura de requisições aplicada ao SupplierController, com pesos por mil requisições: principalmente leituras por
+ * ID, mais listagens, buscas, escritas e chamadas de documentos.
+ */
+enum LoadMix {
+
+    GET_BY_ID(900) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            return fixture.request("/supplier-service/" + fixture.randomSupplier().getId()).GET().build();
+        }
+    },
+    LIST(30) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            return fixture.request("/supplier-service?size=50&category=" + LoadFixture.pick(LoadFixture.CATEGORIES)
+                    + "&province=" + LoadFixture.pick(LoadFixture.PROVINCES)).GET().build();
+        }
+    },
+    SEARCH(20) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            return fixture.request("/supplier-service/search?limit=10&q="
+                    + URLEncoder.encode(LoadFixture.pick(SEARCH_TERMS), StandardCharsets.UTF_8)).GET().build();
+        }
+    },
+    CREATE(20) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            return fixture.request("/supplier-service")
+                    .header("Content-Type", "application/json")
+                    .POST(fixture.json(fixture.newSupplier()))
+                    .build();
+        }
+    },
+    UPDATE(15) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            SupplierDTO supplier = fixture.randomSupplier();
+            SupplierDTO updated = supplier.toBuilder()
+                    .tradeName("Atualizado " + ThreadLocalRandom.current().nextInt(1_000_000))
+                    .build();
+            return fixture.request("/supplier-service/" + supplier.getId())
+                    .header("Content-Type", "application/json")
+                    .PUT(fixture.json(updated))
+                    .build();
+        }
+    },
+    DOCUMENT_LIST(10) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            return fixture.request("/supplier-service/" + fixture.randomSupplier().getId() + "/documents").GET().build();
+        }
+    },
+    DOCUMENT_UPLOAD(5) {
+        @Override
+        HttpRequest request(LoadFixture fixture) {
+            byte[] content = new byte[DOCUMENT_SIZE];
+            ThreadLocalRandom.current().nextBytes(content); // Conteúdo novo: o armazenamento é endereçado por hash
+            return fixture.request("/supplier-service/" + fixture.randomSupplier().getId() + "/documents")
+                    .header("Content-Type", "application/octet-stream")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(content))
+                    .build();
+        }
+    };
+
+    private static final List<String> SEARCH_TERMS = List.of("constr", "mat", "engenharia sao", "ferr curitiba", "toronto", "conc");
+    private static final int DOCUMENT_SIZE = 16 * 1024;
+    private static final int TOTAL_WEIGHT = 1000;
+
+    private final int weight;
+
+    LoadMix(int weight) {
+        this.weight = weight;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    abstract HttpRequest request(LoadFixture fixture);
+
+    /** Draws an operation according to the weights. / Sorteia uma operação conforme os pesos. */
+    static LoadMix next() {
+        int draw = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (LoadMix operation : values()) {
+            draw -= operation.weight;
+            if (draw < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights must add up to " + TOTAL_WEIGHT);
+    }
+}
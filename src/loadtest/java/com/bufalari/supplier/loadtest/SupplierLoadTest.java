@@ -0,0 +1,241 @@
+package com.bufalari.supplier.loadtest;
+
+import com.bufalari.supplier.SupplierServiceApplication;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repeatable in-process load test. Starts supplier-service on a random port against a fresh H2 database, with a
+ * local HTTP stub standing in for auth-service, creates {@code loadtest.suppliers} suppliers and then sends the
+ * {@link LoadMix} at a fixed arrival rate ({@code loadtest.rate} requests per second) for a warm-up and a measured
+ * window. The load is open-loop: requests are sent on schedule whether or not earlier ones have answered, and each
+ * latency is measured from the scheduled send time, so a stalled server shows up as latency rather than as a
+ * lower request rate. Throughput and p50/p95/p99/p999 latencies, overall and per operation, are written as JSON to
+ * {@code loadtest.result}. Run through the load-test Maven profile.
+ * <p>
+ * Teste de carga em processo e repetível. Sobe o supplier-service em porta aleatória com um H2 novo e um stub HTTP
+ * no lugar do auth-service, cria {@code loadtest.suppliers} fornecedores e envia a {@link LoadMix} a uma taxa de
+ * chegada fixa, com aquecimento e janela medida. A carga é de malha aberta: as requisições saem no horário previsto
+ * mesmo que as anteriores não tenham respondido, e a latência conta a partir desse horário, então um servidor
+ * travado aparece como latência e não como taxa menor. Vazão e latências p50/p95/p99/p999 vão em JSON para
+ * {@code loadtest.result}. Executar pelo perfil Maven load-test.
+ */
+public final class SupplierLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierLoadTest.class);
+
+    /** Requests still waiting for a response above which new ones are dropped instead of queued without bound. */
+    private static final int MAX_IN_FLIGHT = 10_000;
+    private static final int SEED_CONCURRENCY = 16;
+
+    private final double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+    private final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+    private final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+    private final int supplierCount = Integer.getInteger("loadtest.suppliers", 2000);
+    private final int users = Integer.getInteger("loadtest.users", 20);
+    private final Duration authServiceDelay = Duration.parse(System.getProperty("loadtest.auth-delay", "PT0.005S"));
+    private final Path result = Path.of(System.getProperty("loadtest.result", "target/load-test-result.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    /** Outcome of one window of load. / Resultado de uma janela de carga. */
+    private record Window(Map<LoadMix, LatencyRecorder> recorders, int dropped, double elapsedSeconds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SupplierLoadTest().run();
+        System.exit(0); // Threads do HttpClient e do Tomcat já encerradas; não espera threads não-daemon restantes
+    }
+
+    private void run() throws Exception {
+        ExecutorService stubExecutor = Executors.newCachedThreadPool();
+        HttpServer authService = authServiceStub(stubExecutor);
+        Path documents = Files.createTempDirectory("supplier-load-test-documents");
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SupplierServiceApplication.class)
+                .profiles("test")
+                .run(
+                        "--server.port=0",
+                        "--auth.service.url=http://localhost:" + authService.getAddress().getPort(),
+                        "--spring.datasource.url=jdbc:h2:mem:load-test-" + UUID.randomUUID() + ";MODE=PostgreSQL",
+                        "--security.jwt.token.secret-key=" + LoadFixture.SECRET_KEY,
+                        "--supplier.documents.storage.local.root=" + documents,
+                        // Sem custos que não existem em produção: log DEBUG por requisição e estatísticas do Hibernate
+                        "--logging.level.com.bufalari.supplier=INFO",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+            LoadFixture fixture = new LoadFixture("http://localhost:" + port, users, objectMapper);
+
+            seed(client, fixture);
+            log.info("Warm-up: {} req/s for {}", rate, warmup);
+            send(client, fixture, warmup);
+            log.info("Measuring: {} req/s for {}", rate, duration);
+            Window window = send(client, fixture, duration);
+            report(window);
+        } finally {
+            authService.stop(0);
+            stubExecutor.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * auth-service stand-in: answers every user lookup with the PURCHASING role after {@code loadtest.auth-delay}.
+     * Substituto do auth-service: responde toda busca de usuário com o papel PURCHASING após {@code loadtest.auth-delay}.
+     */
+    private HttpServer authServiceStub(ExecutorService executor) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/users/username/", exchange -> {
+            try {
+                Thread.sleep(authServiceDelay.toMillis());
+                String username = exchange.getRequestURI().getPath().substring("/users/username/".length());
+                byte[] body = ("{\"username\":\"" + username + "\",\"password\":\"\",\"roles\":[\"PURCHASING\"]}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    /**
+     * Creates the suppliers the mix reads and updates, through the API, a few at a time.
+     * Cria pela API, alguns por vez, os fornecedores que a mistura lê e atualiza.
+     */
+    private void seed(HttpClient client, LoadFixture fixture) throws Exception {
+        log.info("Creating {} suppliers", supplierCount);
+        ExecutorService seeders = Executors.newFixedThreadPool(SEED_CONCURRENCY);
+        try {
+            for (int i = 0; i < supplierCount; i++) {
+                seeders.execute(() -> {
+                    try {
+                        HttpResponse<byte[]> response = client.send(fixture.request("/supplier-service")
+                                .header("Content-Type", "application/json")
+                                .POST(fixture.json(fixture.newSupplier()))
+                                .build(), HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 201) {
+                            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode()
+                                    + ": " + new String(response.body(), StandardCharsets.UTF_8));
+                        }
+                        fixture.addSupplier(objectMapper.readValue(response.body(), SupplierDTO.class));
+                    } catch (Exception e) {
+                        log.error("Could not create a seed supplier: {}", e.getMessage());
+                    }
+                });
+            }
+        } finally {
+            seeders.shutdown();
+            seeders.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        if (fixture.supplierCount() < supplierCount) {
+            throw new IllegalStateException("Only " + fixture.supplierCount() + " of " + supplierCount + " suppliers were created");
+        }
+    }
+
+    /**
+     * Sends requests at the configured rate for {@code window}, then waits for the outstanding responses.
+     * Envia requisições na taxa configurada durante {@code window} e depois espera as respostas pendentes.
+     */
+    private Window send(HttpClient client, LoadFixture fixture, Duration window) throws InterruptedException {
+        Map<LoadMix, LatencyRecorder> recorders = new EnumMap<>(LoadMix.class);
+        for (LoadMix operation : LoadMix.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        int dropped = 0;
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = window.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                dropped++;
+                continue;
+            }
+            LoadMix operation = LoadMix.next();
+            LatencyRecorder recorder = recorders.get(operation);
+            inFlight.incrementAndGet();
+            client.sendAsync(operation.request(fixture), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        // Latência a partir do horário previsto: inclui a espera se o cliente ou o servidor atrasaram
+                        recorder.record(System.nanoTime() - scheduled, error == null && response.statusCode() < 400);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long deadline = System.nanoTime() + LoadFixture.REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new Window(recorders, dropped, elapsedSeconds);
+    }
+
+    private void report(Window window) throws Exception {
+        LatencyRecorder all = LatencyRecorder.merge(window.recorders().values());
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("targetRate", rate);
+        settings.put("warmup", warmup.toString());
+        settings.put("duration", duration.toString());
+        settings.put("suppliers", supplierCount);
+        settings.put("users", users);
+        settings.put("authServiceDelay", authServiceDelay.toString());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (LoadMix operation : LoadMix.values()) {
+            mix.put(operation.name(), operation.weight());
+        }
+        settings.put("mixPerThousand", mix);
+        report.put("settings", settings);
+        report.put("dropped", window.dropped());
+        report.put("elapsedSeconds", Math.round(window.elapsedSeconds() * 1000) / 1000.0);
+        report.put("all", all.summary(window.elapsedSeconds()));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        window.recorders().forEach((operation, recorder) -> operations.put(operation.name(), recorder.summary(window.elapsedSeconds())));
+        report.put("operations", operations);
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        log.info("Load test finished: {}", report.get("all"));
+        log.info("Dropped (over {} in flight): {}; result written to {}", MAX_IN_FLIGHT, window.dropped(), result.toAbsolutePath());
+    }
+}
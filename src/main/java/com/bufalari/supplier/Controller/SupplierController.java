@@ -1,31 +1,77 @@
 package com.bufalari.supplier.Controller;
 
+import com.bufalari.supplier.config.BinaryFormatsConfig;
+import com.bufalari.supplier.converter.SupplierCsvConverter;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
+import com.bufalari.supplier.dto.SupplierChangesPageDTO;
 import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierImportResultDTO;
+import com.bufalari.supplier.dto.SupplierPageDTO;
+import com.bufalari.supplier.dto.SupplierStatisticsDTO;
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.dto.SupplierSummaryPageDTO;
 // import com.bufalari.supplier.exception.ResourceNotFoundException; // Não é mais capturada diretamente aqui
+import com.bufalari.supplier.service.JsonMergePatch;
+import com.bufalari.supplier.service.SupplierBulkImportService;
+import com.bufalari.supplier.service.SupplierCache;
+import com.bufalari.supplier.service.SupplierChangeService;
+import com.bufalari.supplier.service.SupplierDocumentService;
+import com.bufalari.supplier.service.SupplierSearchIndex;
 import com.bufalari.supplier.service.SupplierService;
+import com.bufalari.supplier.service.SupplierVersions;
+import com.bufalari.supplier.storage.DocumentContent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter; // Para anotações de parâmetro
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException; // Para exceções HTTP diretas
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID; // <<<--- IMPORT UUID
 
 /**
@@ -40,7 +86,26 @@ import java.util.UUID; // <<<--- IMPORT UUID
 public class SupplierController {
 
     private static final Logger log = LoggerFactory.getLogger(SupplierController.class);
+    /** Newline-delimited JSON media type. / Tipo de mídia JSON delimitado por linha. */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    /** CSV media type. / Tipo de mídia CSV. */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
+    /** Tomcat request attributes for sendfile (see Tomcat's DefaultServlet). / Atributos de requisição do Tomcat para sendfile. */
+    private static final String TOMCAT_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String TOMCAT_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String TOMCAT_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String TOMCAT_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final SupplierService supplierService;
+    private final SupplierBulkImportService supplierBulkImportService;
+    private final SupplierCsvConverter supplierCsvConverter;
+    private final ObjectMapper objectMapper;
+    private final SupplierDocumentService supplierDocumentService;
+    private final SupplierChangeService supplierChangeService;
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter; // Mapper CBOR do export binário
+    private final MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter; // Mapper Smile do export binário
 
     @Operation(summary = "Create a new supplier", description = "Creates a new supplier record. Requires ADMIN, MANAGER or PURCHASING role.")
     @ApiResponses(value = {
@@ -64,48 +129,326 @@ public class SupplierController {
         return ResponseEntity.created(location).body(createdSupplier);
     }
 
-    @Operation(summary = "Get supplier by ID", description = "Retrieves supplier details. Requires authentication.")
+    @Operation(summary = "Bulk import suppliers (JSON)", description = "Imports a JSON array of suppliers in chunks, using one duplicate check query and one batched insert per chunk. Returns a per-row result (CREATED, DUPLICATE, VALIDATION_ERROR or FAILED); malformed JSON stops the import at that element, keeping earlier rows. Requires ADMIN, MANAGER or PURCHASING role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see per-row results", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Body does not start a JSON array"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
+    public ResponseEntity<SupplierImportResultDTO> bulkImportJson(InputStream body) throws IOException {
+        log.info("Received bulk supplier import (JSON)");
+        return ResponseEntity.ok(logImportResult(supplierBulkImportService.importJson(body)));
+    }
+
+    @Operation(summary = "Bulk import suppliers (CSV body)", description = "Imports a UTF-8 CSV whose header names the columns (same columns as the CSV export; id is ignored). Requires ADMIN, MANAGER or PURCHASING role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see per-row results", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing header"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)")
+    })
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
+    public ResponseEntity<SupplierImportResultDTO> bulkImportCsv(InputStream body) throws IOException {
+        log.info("Received bulk supplier import (CSV)");
+        return ResponseEntity.ok(logImportResult(supplierBulkImportService.importCsv(body)));
+    }
+
+    @Operation(summary = "Bulk import suppliers (CSV upload)", description = "Same as the CSV body import, for a spreadsheet exported as CSV and uploaded as multipart file. Requires ADMIN, MANAGER or PURCHASING role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed; see per-row results", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierImportResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty file or missing header"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (insufficient role)")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
+    public ResponseEntity<SupplierImportResultDTO> bulkImportCsvUpload(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info("Received bulk supplier import (CSV upload '{}')", file.getOriginalFilename());
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty / Arquivo não pode ser vazio");
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(logImportResult(supplierBulkImportService.importCsv(in)));
+        }
+    }
+
+    private SupplierImportResultDTO logImportResult(SupplierImportResultDTO result) {
+        log.info("Bulk supplier import finished: {} rows, {} created, {} duplicates, {} validation errors, {} failed",
+                result.getTotalRows(), result.getCreated(), result.getDuplicates(), result.getValidationErrors(), result.getFailed());
+        return result;
+    }
+
+    @Operation(summary = "Get supplier by ID", description = "Retrieves supplier details with ETag and Last-Modified headers. Send If-None-Match or If-Modified-Since to get 304 Not Modified when the supplier has not changed. Requires authentication.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Supplier found", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Supplier not modified since the given ETag/date"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Supplier not found")
     })
-    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<SupplierDTO> getSupplierById(
-            @Parameter(description = "ID of the supplier to retrieve (UUID format)") @PathVariable UUID id) { // <<<--- ID é UUID
+            @Parameter(description = "ID of the supplier to retrieve (UUID format)") @PathVariable UUID id, // <<<--- ID é UUID
+            WebRequest webRequest) {
          log.debug("Received request to get supplier by ID: {}", id);
-         SupplierDTO supplier = supplierService.getSupplierById(id); // Service lança ResourceNotFoundException
-         return ResponseEntity.ok(supplier);
+         if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+             // Requisição condicional: compara só a versão, sem carregar nem converter o fornecedor
+             LocalDateTime version = supplierService.getSupplierVersion(id);
+             if (webRequest.checkNotModified(SupplierVersions.etag(version), SupplierVersions.toInstant(version).toEpochMilli())) {
+                 log.debug("Supplier {} not modified", id);
+                 return null; // 304 com ETag/Last-Modified já definidos por checkNotModified
+             }
+         }
+         SupplierCache.VersionedSupplier supplier = supplierService.getVersionedSupplierById(id); // Service lança ResourceNotFoundException
+         return ResponseEntity.ok()
+                 .varyBy(HttpHeaders.ACCEPT) // JSON, CBOR ou Smile conforme o Accept: caches devem separar as representações
+                 .eTag(SupplierVersions.etag(supplier.lastModifiedAt()))
+                 .lastModified(SupplierVersions.toInstant(supplier.lastModifiedAt()))
+                 .body(supplier.supplier());
+    }
+
+    @Operation(summary = "Get many suppliers at once", description = "Looks up suppliers by a list of IDs and/or business identification numbers (up to " + SupplierBatchRequestDTO.MAX_KEYS + " each) in a single call. Keys that do not exist are listed separately. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierBatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Too many keys or invalid UUID"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SupplierBatchResultDTO> getSuppliersBatch(@Valid @RequestBody SupplierBatchRequestDTO request) {
+        log.debug("Received batch supplier lookup request");
+        return ResponseEntity.ok(supplierService.getSuppliersBatch(request));
+    }
+
+    @Operation(summary = "List suppliers (keyset pagination)", description = "Retrieves one page of suppliers ordered by name and ID, with optional filters. Pass the returned nextPageToken to fetch the next page. The ETag changes whenever a supplier in the page is added, removed or modified; send it back as If-None-Match to get 304 Not Modified. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suppliers retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Page content unchanged for the given If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid page token"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SupplierPageDTO> getAllSuppliers(
+            @Parameter(description = "Filter by exact category") @RequestParam(required = false) String category,
+            @Parameter(description = "Filter by exact address city") @RequestParam(required = false) String city,
+            @Parameter(description = "Filter by exact address province/state") @RequestParam(required = false) String province,
+            @Parameter(description = "Filter by legal name prefix") @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Opaque token returned as nextPageToken by the previous page") @RequestParam(required = false) String pageToken,
+            @Parameter(description = "Page size (1-" + SupplierService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+         log.debug("Received request to list suppliers (size={}, pageToken present={})", size, pageToken != null);
+         SupplierService.SupplierPageResult result = supplierService.getAllSuppliers(category, city, province, namePrefix, pageToken, size, ifNoneMatch);
+         if (result.notModified()) {
+             return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.etag()).build();
+         }
+         return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(result.etag()).body(result.page());
+    }
+
+    @Operation(summary = "List supplier summaries (keyset pagination)", description = "Same filters and paging as the supplier list, but returns only identification, category and location fields. Document references, contacts and bank data are not loaded. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Supplier summaries retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierSummaryPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page token"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/summaries", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SupplierSummaryPageDTO> getSupplierSummaries(
+            @Parameter(description = "Filter by exact category") @RequestParam(required = false) String category,
+            @Parameter(description = "Filter by exact address city") @RequestParam(required = false) String city,
+            @Parameter(description = "Filter by exact address province/state") @RequestParam(required = false) String province,
+            @Parameter(description = "Filter by legal name prefix") @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Opaque token returned as nextPageToken by the previous page") @RequestParam(required = false) String pageToken,
+            @Parameter(description = "Page size (1-" + SupplierService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "50") int size) {
+         log.debug("Received request to list supplier summaries (size={}, pageToken present={})", size, pageToken != null);
+         return ResponseEntity.ok(supplierService.getSupplierSummaries(category, city, province, namePrefix, pageToken, size));
+    }
+
+    @Operation(summary = "Search suppliers (typeahead)", description = "Type-as-you-go search over legal name, trade name and business identification number, ignoring accents and case. Words of one or two letters match the start of a word; longer words match anywhere. Results are ranked by relevance and served from an in-memory index. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching suppliers, best first", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = SupplierSummaryDTO.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<SupplierSummaryDTO>> searchSuppliers(
+            @Parameter(description = "Text typed by the user", example = "constr sao") @RequestParam("q") String query,
+            @Parameter(description = "Maximum number of results (1-" + SupplierSearchIndex.MAX_LIMIT + ")") @RequestParam(defaultValue = "10") int limit) {
+         log.debug("Received supplier search request (limit={})", limit);
+         return ResponseEntity.ok(supplierService.searchSuppliers(query, limit));
+    }
+
+    @Operation(summary = "Supplier statistics", description = "Number of suppliers in total, per category, per address province/state and per address country, and how many were created in the current month. Served from counts kept up to date on every write and reconciled with the database periodically, so the cost does not depend on the number of suppliers. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierStatisticsDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(value = "/statistics", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SupplierStatisticsDTO> getSupplierStatistics() {
+         log.debug("Received request for supplier statistics");
+         return ResponseEntity.ok(supplierService.getStatistics());
     }
 
-    @Operation(summary = "Get all suppliers", description = "Retrieves a list of all suppliers. Requires authentication.")
+    @Operation(summary = "Export all suppliers (streaming)", description = "Streams the full supplier catalogue ordered by name and ID as NDJSON (one SupplierDTO per line), CSV, "
+            + "or, for service-to-service callers, a CBOR or Smile array of SupplierDTO. Without the format parameter the Accept header decides (application/cbor, "
+            + BinaryFormatsConfig.APPLICATION_SMILE_VALUE + ", otherwise NDJSON). Rows are written as they are read, so memory use does not grow with the catalogue. Requires authentication.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Suppliers retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "200", description = "Export stream", content = {
+                    @Content(mediaType = SupplierController.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = SupplierController.TEXT_CSV_VALUE),
+                    @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE),
+                    @Content(mediaType = BinaryFormatsConfig.APPLICATION_SMILE_VALUE)
+            }),
+            @ApiResponse(responseCode = "400", description = "Unsupported format"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/export", produces = {SupplierController.APPLICATION_NDJSON_VALUE, SupplierController.TEXT_CSV_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-         log.debug("Received request to get all suppliers");
-         List<SupplierDTO> suppliers = supplierService.getAllSuppliers();
-         return ResponseEntity.ok(suppliers);
+    public void exportSuppliers(
+            @Parameter(description = "Output format: ndjson, csv, cbor or smile (default: from the Accept header, else ndjson)") @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        String resolvedFormat = format != null ? format.toLowerCase(Locale.ROOT) : exportFormatFor(accept);
+        ObjectMapper binaryMapper = switch (resolvedFormat) {
+            case "cbor" -> cborHttpMessageConverter.getObjectMapper();
+            case "smile" -> smileHttpMessageConverter.getObjectMapper();
+            case "csv", "ndjson" -> null;
+            default -> throw new IllegalArgumentException("Unsupported export format / Formato de exportação não suportado: " + format);
+        };
+        boolean csv = "csv".equals(resolvedFormat);
+        log.info("Received request to export suppliers as {}", resolvedFormat);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(switch (resolvedFormat) {
+            case "csv" -> TEXT_CSV_VALUE;
+            case "cbor" -> MediaType.APPLICATION_CBOR_VALUE;
+            case "smile" -> BinaryFormatsConfig.APPLICATION_SMILE_VALUE;
+            default -> APPLICATION_NDJSON_VALUE;
+        });
+        if (binaryMapper == null) {
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("suppliers." + resolvedFormat).build().toString());
+
+        OutputStream out = response.getOutputStream();
+        try {
+            if (binaryMapper != null) {
+                // Um único array de tamanho indefinido (CBOR) / sem tamanho (Smile): os itens saem à medida que são lidos
+                ObjectWriter itemWriter = binaryMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                try (JsonGenerator generator = binaryMapper.getFactory().createGenerator(out)) {
+                    generator.writeStartArray();
+                    supplierService.exportSuppliers(dto -> {
+                        try {
+                            itemWriter.writeValue(generator, dto);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    generator.writeEndArray();
+                }
+            } else if (csv) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+                writer.write(supplierCsvConverter.header());
+                writer.write("\r\n");
+                supplierService.exportSuppliers(dto -> {
+                    try {
+                        writer.write(supplierCsvConverter.toCsvLine(dto));
+                        writer.write("\r\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } else {
+                // Sem flush por linha: o buffer do gerador/Tomcat envia blocos assim que enchem
+                ObjectWriter lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    generator.setRootValueSeparator(null); // o separador de linha é escrito abaixo
+                    supplierService.exportSuppliers(dto -> {
+                        try {
+                            lineWriter.writeValue(generator, dto);
+                            generator.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou no meio do stream; a transação já foi encerrada pelo serviço
+            log.warn("Supplier export aborted: {}", e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Export format asked for by the Accept header: the first export type it lists by name, otherwise NDJSON
+     * (wildcards, as sent by browsers, do not pick a format).
+     * Formato de exportação pedido pelo Accept: o primeiro tipo de exportação listado pelo nome, senão NDJSON
+     * (curingas, como os enviados por navegadores, não escolhem formato).
+     */
+    private static String exportFormatFor(String accept) {
+        if (accept != null) {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.isWildcardType() || mediaType.isWildcardSubtype() || mediaType.getQualityValue() == 0) {
+                    continue;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                    return "cbor";
+                }
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(BinaryFormatsConfig.APPLICATION_SMILE_VALUE))) {
+                    return "smile";
+                }
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+                    return "csv";
+                }
+                if (mediaType.isCompatibleWith(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))) {
+                    return "ndjson";
+                }
+            }
+        }
+        return "ndjson";
     }
 
-    @Operation(summary = "Update an existing supplier", description = "Updates supplier details. Requires ADMIN, MANAGER or PURCHASING role.")
+    @Operation(summary = "Supplier changes since a cursor (delta sync)", description = "Returns suppliers created, modified or deleted after the given cursor, in change order and in bounded batches. Call without 'since' for the initial full sync, then keep passing nextCursor; when hasMore is false, poll again later. A supplier changed several times appears once with its latest state; deletes appear as DELETED entries. Changes become visible in commit order, so the cursor never skips a write that commits late. Requires authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch of changes", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierChangesPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "410", description = "Cursor older than the tombstone retention; resynchronise without a cursor")
+    })
+    @GetMapping(value = "/changes", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SupplierChangesPageDTO> getSupplierChanges(
+            @Parameter(description = "Opaque cursor returned as nextCursor by the previous call; omit for the initial sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Batch size (1-" + SupplierService.MAX_PAGE_SIZE + ")") @RequestParam(defaultValue = "" + SupplierService.MAX_PAGE_SIZE) int size) {
+         log.debug("Received request for supplier changes (size={}, cursor present={})", size, since != null);
+         return ResponseEntity.ok(supplierChangeService.getChanges(since, size));
+    }
+
+    @Operation(summary = "Update an existing supplier", description = "Updates supplier details. Send the ETag from a previous GET as If-Match to reject the update (412) if someone else changed the supplier in between. Requires ADMIN, MANAGER or PURCHASING role.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Supplier updated successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Supplier not found"),
-            @ApiResponse(responseCode = "409", description = "Conflict (e.g., Business ID belongs to another supplier)")
+            @ApiResponse(responseCode = "409", description = "Conflict (e.g., Business ID belongs to another supplier)"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag (supplier changed meanwhile)")
     })
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
     public ResponseEntity<SupplierDTO> updateSupplier(
             @Parameter(description = "ID of the supplier to update (UUID format)") @PathVariable UUID id, // <<<--- ID é UUID
-            @Valid @RequestBody SupplierDTO supplierDTO) {
+            @Valid @RequestBody SupplierDTO supplierDTO,
+            @Parameter(description = "ETag the client last saw; the update is rejected with 412 if it is no longer current")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
          log.info("Received request to update supplier with ID: {}", id);
          // Garantir que o ID no DTO, se presente, corresponda ao ID do path, ou ignorá-lo.
          if (supplierDTO.getId() != null && !supplierDTO.getId().equals(id)) {
@@ -113,8 +456,38 @@ public class SupplierController {
              // Você pode optar por lançar um Bad Request aqui ou apenas usar o ID do path.
          }
          // O SupplierService usará o 'id' do path para buscar e atualizar.
-         SupplierDTO updatedSupplier = supplierService.updateSupplier(id, supplierDTO);
-         return ResponseEntity.ok(updatedSupplier);
+         SupplierCache.VersionedSupplier updatedSupplier = supplierService.updateSupplier(id, supplierDTO, ifMatch);
+         return ResponseEntity.ok()
+                 .eTag(SupplierVersions.etag(updatedSupplier.lastModifiedAt()))
+                 .lastModified(SupplierVersions.toInstant(updatedSupplier.lastModifiedAt()))
+                 .body(updatedSupplier.supplier());
+    }
+
+    @Operation(summary = "Partially update a supplier", description = "Applies a JSON Merge Patch (RFC 7396): only the fields sent are changed and null clears a field. documentReferences, when sent, is the complete new list. Accepts If-Match like PUT. Requires ADMIN, MANAGER or PURCHASING role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Supplier patched successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = SupplierDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Patch is not a JSON object, or the patched supplier is invalid"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Supplier not found"),
+            @ApiResponse(responseCode = "409", description = "Conflict (e.g., Business ID belongs to another supplier)"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag (supplier changed meanwhile)")
+    })
+    @PatchMapping(value = "/{id}", consumes = {JsonMergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
+    public ResponseEntity<SupplierDTO> patchSupplier(
+            @Parameter(description = "ID of the supplier to patch (UUID format)") @PathVariable UUID id,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Merge patch, e.g. {\"primaryContactPhone\": \"+1 555 0100\", \"tradeName\": null}",
+                    content = @Content(mediaType = JsonMergePatch.MEDIA_TYPE, schema = @Schema(implementation = SupplierDTO.class)))
+            @RequestBody JsonNode mergePatch,
+            @Parameter(description = "ETag the client last saw; the patch is rejected with 412 if it is no longer current")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+         log.info("Received request to patch supplier with ID: {}", id);
+         SupplierCache.VersionedSupplier patchedSupplier = supplierService.patchSupplier(id, mergePatch, ifMatch);
+         return ResponseEntity.ok()
+                 .eTag(SupplierVersions.etag(patchedSupplier.lastModifiedAt()))
+                 .lastModified(SupplierVersions.toInstant(patchedSupplier.lastModifiedAt()))
+                 .body(patchedSupplier.supplier());
     }
 
     @Operation(summary = "Delete a supplier", description = "Deletes a supplier. Requires ADMIN role.")
@@ -135,36 +508,59 @@ public class SupplierController {
     }
 
 
-    // --- DOCUMENT MANAGEMENT ENDPOINTS (STUBS - adapt IDs to UUID) ---
+    // --- DOCUMENT MANAGEMENT ENDPOINTS ---
+
+    @Operation(summary = "Upload supplier document (streaming)", description = "Streams the request body (the raw file bytes) into document storage and associates it with a supplier. "
+            + "The body is never buffered in memory, so this is the endpoint for large files. Identical content is stored once. Returns the document reference (sha256-<hex>). Requires ADMIN, MANAGER or PURCHASING role.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Document stored and reference added; ETag is the content hash"),
+        @ApiResponse(responseCode = "400", description = "Empty file"),
+        @ApiResponse(responseCode = "404", description = "Supplier not found"),
+        @ApiResponse(responseCode = "413", description = "Document exceeds supplier.documents.max-size")
+    })
+    @PostMapping(value = "/{supplierId}/documents", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
+    public ResponseEntity<String> uploadSupplierDocumentStream(
+            @Parameter(description = "ID of the supplier (UUID format)") @PathVariable UUID supplierId,
+            HttpServletRequest request) throws IOException {
+        log.info("Received streaming document upload for supplier ID: {} ({} bytes declared)", supplierId, request.getContentLengthLong());
+        // Lê direto do socket; nada é acumulado no heap nem em arquivo temporário do container
+        return documentCreated(supplierDocumentService.upload(supplierId, request.getInputStream(), request.getContentLengthLong()));
+    }
 
-    @Operation(summary = "Upload supplier document", description = "Uploads a document and associates it with a supplier. Requires ADMIN, MANAGER or PURCHASING role. (STUB)")
+    @Operation(summary = "Upload supplier document (multipart)", description = "Same as the streaming upload, for multipart/form-data clients (field 'file'). "
+            + "The servlet container spools the part to a temporary file first; prefer the application/octet-stream variant for large files. Requires ADMIN, MANAGER or PURCHASING role.")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Document reference created"),
+        @ApiResponse(responseCode = "201", description = "Document stored and reference added; ETag is the content hash"),
         @ApiResponse(responseCode = "400", description = "Invalid file or supplier ID"),
-        @ApiResponse(responseCode = "404", description = "Supplier not found")
+        @ApiResponse(responseCode = "404", description = "Supplier not found"),
+        @ApiResponse(responseCode = "413", description = "Document exceeds supplier.documents.max-size")
     })
     @PostMapping(value = "/{supplierId}/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
     public ResponseEntity<String> uploadSupplierDocument(
             @Parameter(description = "ID of the supplier (UUID format)") @PathVariable UUID supplierId, // <<<--- ID é UUID
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file) throws IOException {
         log.info("Received request to upload document for supplier ID: {}", supplierId);
         if (file == null || file.isEmpty()) {
-             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File cannot be empty / Arquivo não pode ser vazio");
+             throw new IllegalArgumentException("File cannot be empty / Arquivo não pode ser vazio");
+        }
+        try (InputStream content = file.getInputStream()) {
+            return documentCreated(supplierDocumentService.upload(supplierId, content, file.getSize()));
         }
-        // STUB - Chamar supplierService.getSupplierById(supplierId) para verificar se o fornecedor existe.
-        supplierService.getSupplierById(supplierId); // Lança 404 se não existir
-        String documentReference = "stubbed-doc-ref-for-" + supplierId + "-" + System.currentTimeMillis();
-        // supplierService.addDocumentReference(supplierId, documentReference); // Chamada real
-        log.warn("Document upload STUB called for supplier {}, file '{}'. Reference: {}", supplierId, file.getOriginalFilename(), documentReference);
-        
-        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
-            .path("/api/suppliers/{supplierId}/documents/{docRef}") // Assumindo que docRef é único ou um ID
-            .buildAndExpand(supplierId, documentReference).toUri();
-        return ResponseEntity.created(location).body(documentReference);
     }
 
-    @Operation(summary = "Get supplier document references", description = "Retrieves document references for a supplier. Requires authentication. (STUB)")
+    private static ResponseEntity<String> documentCreated(SupplierDocumentService.UploadedDocument document) {
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .path("/{documentReference}/content")
+            .buildAndExpand(document.documentReference()).toUri();
+        return ResponseEntity.created(location)
+                .eTag(document.stored().contentHash())
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(document.documentReference());
+    }
+
+    @Operation(summary = "Get supplier document references", description = "Retrieves document references for a supplier. Requires authentication.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Document references retrieved"),
         @ApiResponse(responseCode = "404", description = "Supplier not found")
@@ -179,25 +575,114 @@ public class SupplierController {
         if (references == null) {
             references = List.of(); // Retorna lista vazia se for nulo
         }
-        log.warn("Document references STUB returning {} references for supplier {}", references.size(), supplierId);
         return ResponseEntity.ok(references);
     }
 
-    @Operation(summary = "Delete supplier document reference", description = "Removes a document association from a supplier. Requires ADMIN, MANAGER or PURCHASING role. (STUB)")
+    @Operation(summary = "Download supplier document content", description = "Streams a stored document. Supports single byte ranges (Range / If-Range) for resuming downloads, "
+            + "and If-None-Match on the ETag, which is the SHA-256 of the content and never changes. Requires authentication.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Full document", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+        @ApiResponse(responseCode = "206", description = "Requested byte range (see Content-Range)", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)),
+        @ApiResponse(responseCode = "304", description = "Not modified (If-None-Match matched the content hash)"),
+        @ApiResponse(responseCode = "404", description = "Supplier, document reference or stored content not found"),
+        @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    @GetMapping("/{supplierId}/documents/{documentReference}/content")
+    @PreAuthorize("isAuthenticated()")
+    public void downloadSupplierDocument(
+            @Parameter(description = "ID of the supplier (UUID format)") @PathVariable UUID supplierId,
+            @Parameter(description = "Document reference as returned by the upload (sha256-<hex>)") @PathVariable String documentReference,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("Received request to download document '{}' of supplier ID: {}", documentReference, supplierId);
+        try (DocumentContent content = supplierDocumentService.openContent(supplierId, documentReference)) {
+            String etag = "\"" + SupplierDocumentService.contentHash(documentReference) + "\"";
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            // Conteúdo endereçado por hash é imutável: o cliente pode guardar, mas só para si (exige autenticação)
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+            if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return; // 304, sem abrir o corpo
+            }
+
+            long size = content.size();
+            long start = 0;
+            long end = size - 1;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            // If-Range com outro validador (ou uma data): o cliente tem outra versão, então recebe o documento inteiro
+            if (range != null && (ifRange == null || ifRange.trim().equals(etag))) {
+                List<HttpRange> ranges = parseRanges(range);
+                if (ranges.size() == 1) {
+                    HttpRange requested = ranges.get(0);
+                    try {
+                        start = requested.getRangeStart(size);
+                        end = requested.getRangeEnd(size);
+                    } catch (IllegalArgumentException e) {
+                        start = size; // fora do documento
+                    }
+                    if (start > end) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                        return;
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+                // Várias faixas: a RFC 9110 permite ignorar o Range e responder 200 com o documento inteiro
+            }
+            long length = end - start + 1;
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(length);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(documentReference).build().toString());
+            if (HttpMethod.HEAD.matches(request.getMethod())) {
+                return;
+            }
+            sendDocument(content, start, length, request, response);
+        }
+    }
+
+    /**
+     * Sends the bytes without copying them through the heap. With a local file on a connector that supports it,
+     * Tomcat sends the region itself with sendfile (FileChannel.transferTo on the socket) after this method returns;
+     * otherwise the content is transferred to the response channel.
+     * Envia os bytes sem copiá-los pelo heap. Com arquivo local e conector com suporte, o próprio Tomcat envia a faixa
+     * com sendfile (FileChannel.transferTo no socket) após o retorno; senão o conteúdo é transferido para o canal da resposta.
+     */
+    private static void sendDocument(DocumentContent content, long start, long length,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = content.localFile();
+        if (file.isPresent() && Boolean.TRUE.equals(request.getAttribute(TOMCAT_SENDFILE_SUPPORT))) {
+            request.setAttribute(TOMCAT_SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(TOMCAT_SENDFILE_START, start);
+            request.setAttribute(TOMCAT_SENDFILE_END, start + length); // exclusivo
+            log.debug("Sending {} bytes of {} with container sendfile", length, file.get().getFileName());
+            return;
+        }
+        content.transferTo(start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /** Malformed Range headers are ignored (RFC 9110). / Cabeçalhos Range malformados são ignorados. */
+    private static List<HttpRange> parseRanges(String range) {
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header '{}': {}", range, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @Operation(summary = "Delete supplier document reference", description = "Removes a document association from a supplier, deleting only that reference; "
+            + "the stored content is kept because other suppliers may reference it. Requires ADMIN, MANAGER or PURCHASING role.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Document reference deleted"),
         @ApiResponse(responseCode = "404", description = "Supplier or document reference not found")
     })
-    @DeleteMapping("/{supplierId}/documents/{documentReference}") // Assumir que documentReference é o ID/URL exato
+    @DeleteMapping("/{supplierId}/documents/{documentReference}") // documentReference é a referência exata
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PURCHASING')")
     public ResponseEntity<Void> deleteSupplierDocumentReference(
             @Parameter(description = "ID of the supplier (UUID format)") @PathVariable UUID supplierId, // <<<--- ID é UUID
             @Parameter(description = "The exact document reference to delete") @PathVariable String documentReference) {
         log.info("Received request to delete document reference '{}' for supplier ID: {}", documentReference, supplierId);
-        // STUB - Chamar supplierService.getSupplierById(supplierId) para verificar
-        supplierService.getSupplierById(supplierId);
-        // supplierService.deleteDocumentReference(supplierId, documentReference); // Chamada real
-        log.warn("Document deletion STUB called for supplier {}, reference {}", supplierId, documentReference);
+        supplierService.removeDocumentReference(supplierId, documentReference); // Service lança ResourceNotFoundException
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
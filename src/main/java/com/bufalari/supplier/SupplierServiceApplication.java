@@ -1,5 +1,6 @@
 package com.bufalari.supplier;
 
+import com.bufalari.supplier.config.FeignClientDefaults;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition; // Para Swagger
 import io.swagger.v3.oas.annotations.info.Info;         // Para Swagger
 import io.swagger.v3.oas.annotations.servers.Server;     // Para Swagger
@@ -13,7 +14,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * Classe principal da aplicação para o Serviço de Fornecedores.
  */
 @SpringBootApplication
-@EnableFeignClients(basePackages = "com.bufalari.supplier.client")
+@EnableFeignClients(basePackages = "com.bufalari.supplier.client", defaultConfiguration = FeignClientDefaults.class)
 // A anotação @EnableJpaAuditing está na classe JpaAuditingConfig, o que é uma boa prática.
 // Se não estivesse lá, seria adicionada aqui.
 @OpenAPIDefinition( // Adicionar para documentação Swagger/OpenAPI
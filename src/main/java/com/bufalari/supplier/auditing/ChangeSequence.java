@@ -0,0 +1,20 @@
+package com.bufalari.supplier.auditing;
+
+import org.hibernate.annotations.ValueGenerationType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code Long} attribute that receives the next value of the change sequence, in commit order, on every
+ * INSERT and UPDATE of its entity (see {@link ChangeSequenceGenerator}). Used as the delta-sync cursor.
+ * Marca um atributo {@code Long} que recebe o próximo valor da sequência de mudanças, em ordem de commit, em todo
+ * INSERT e UPDATE da sua entidade (ver {@link ChangeSequenceGenerator}). Usado como cursor do delta-sync.
+ */
+@ValueGenerationType(generatedBy = ChangeSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ChangeSequence {
+}
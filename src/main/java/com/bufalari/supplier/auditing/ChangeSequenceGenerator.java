@@ -0,0 +1,153 @@
+package com.bufalari.supplier.auditing;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numbers every INSERT and UPDATE of a {@link ChangeSequence} attribute with {@value #SEQUENCE_NAME}, in commit order.
+ * <p>
+ * The row is written with NULL and the ids written by the transaction are collected; right before commit (after
+ * the final flush) the transaction locks the single row of {@value #LOCK_TABLE} and numbers all of them in one
+ * UPDATE per table, then reads the values back into the entities. The lock is held until commit, so a transaction
+ * numbered later also commits later and a sync cursor never moves past a value that is still to become visible.
+ * Values are not drawn per row, so the INSERTs and UPDATEs themselves stay in JDBC batches.
+ * <p>
+ * Numera todo INSERT e UPDATE de um atributo {@link ChangeSequence} com {@value #SEQUENCE_NAME}, em ordem de commit.
+ * A linha é gravada com NULL e os IDs gravados pela transação são coletados; logo antes do commit (após o último
+ * flush) a transação trava a linha única de {@value #LOCK_TABLE}, numera todos num único UPDATE por tabela e lê os
+ * valores de volta para as entidades. A trava dura até o commit, então uma transação numerada depois também faz
+ * commit depois e um cursor de sync nunca passa por um valor que ainda vai ficar visível. Os valores não são obtidos
+ * linha a linha, então os INSERTs e UPDATEs continuam em lotes JDBC.
+ */
+public class ChangeSequenceGenerator implements BeforeExecutionGenerator {
+
+    /** Database sequence shared by supplier writes and supplier tombstones. / Sequência compartilhada por escritas e tombstones. */
+    public static final String SEQUENCE_NAME = "supplier_change_seq";
+
+    /** Single-row table that serialises numbering and commit. / Tabela de linha única que serializa numeração e commit. */
+    public static final String LOCK_TABLE = "supplier_change_lock";
+
+    /**
+     * Takes the numbering lock until the end of the current transaction.
+     * Obtém a trava de numeração até o fim da transação corrente.
+     */
+    public static final String LOCK_STATEMENT = "SELECT id FROM " + LOCK_TABLE + " WHERE id = 1 FOR UPDATE";
+
+    // Limite de parâmetros por comando (o Postgres aceita até 32767)
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private final String propertyName;
+    // Entidades gravadas por sessão (por ID), numeradas antes do commit; removidas ao fim da transação (commit ou rollback)
+    private final Map<SharedSessionContractImplementor, Map<Object, Object>> pendingBySession = new ConcurrentHashMap<>();
+
+    public ChangeSequenceGenerator(ChangeSequence annotation, Member member, GeneratorCreationContext context) {
+        this.propertyName = context.getProperty().getName();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_AND_UPDATE;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (!(session instanceof SessionImplementor sessionImplementor)) {
+            throw new IllegalStateException("Change sequences are assigned at commit and need a stateful session. / Sequências de mudança exigem sessão com estado.");
+        }
+        AbstractEntityPersister persister = (AbstractEntityPersister) session.getEntityPersister(null, owner);
+        Map<Object, Object> pending = pendingBySession.get(session);
+        if (pending == null) {
+            Map<Object, Object> entities = new LinkedHashMap<>();
+            pendingBySession.put(session, entities);
+            sessionImplementor.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> assign(completing, persister, entities));
+            sessionImplementor.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pendingBySession.remove(session));
+            pending = entities;
+        }
+        pending.put(persister.getIdentifier(owner, session), owner);
+        return null; // Numerado no commit; até lá a linha não é visível a outras transações
+    }
+
+    private void assign(SessionImplementor session, AbstractEntityPersister persister, Map<Object, Object> entities) {
+        Dialect dialect = session.getJdbcServices().getDialect();
+        String table = persister.getPropertyTableName(propertyName);
+        String idColumn = persister.getIdentifierColumnNames()[0];
+        String sequenceColumn = persister.getPropertyColumnNames(propertyName)[0];
+        String assignment = "UPDATE " + table + " SET " + sequenceColumn + " = " + nextValueExpression(dialect) + " WHERE " + idColumn + " IN (";
+        String readBack = "SELECT " + idColumn + ", " + sequenceColumn + " FROM " + table + " WHERE " + idColumn + " IN (";
+        List<Object> ids = new ArrayList<>(entities.keySet());
+        session.doWork(connection -> {
+            lock(connection);
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+                List<Object> chunk = ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size()));
+                String in = "?" + ",?".repeat(chunk.size() - 1) + ")";
+                try (PreparedStatement statement = connection.prepareStatement(assignment + in)) {
+                    bind(statement, chunk);
+                    statement.executeUpdate();
+                }
+                // Valores atribuídos de volta às entidades: quem reage ao commit (ex.: SupplierStatistics) sabe a posição
+                try (PreparedStatement statement = connection.prepareStatement(readBack + in)) {
+                    bind(statement, chunk);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Object id = resultSet.getObject(1, persister.getIdentifierType().getReturnedClass());
+                            setAssigned(session, persister, entities.get(id), resultSet.getLong(2));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    private static void bind(PreparedStatement statement, List<Object> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            statement.setObject(i + 1, ids.get(i));
+        }
+    }
+
+    private void setAssigned(SessionImplementor session, AbstractEntityPersister persister, Object entity, long value) {
+        if (entity == null) {
+            return;
+        }
+        int index = persister.getEntityMetamodel().getPropertyIndex(propertyName);
+        persister.setValue(entity, index, value);
+        EntityEntry entry = session.getPersistenceContextInternal().getEntry(entity);
+        if (entry != null && entry.getLoadedState() != null) {
+            entry.getLoadedState()[index] = value; // Não é uma alteração pendente para um flush posterior
+        }
+    }
+
+    private static void lock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_STATEMENT)) {
+            statement.executeQuery().close();
+        }
+    }
+
+    /**
+     * SQL expression that yields the next sequence value inside another statement (e.g. an UPDATE backfill).
+     * Expressão SQL que produz o próximo valor da sequência dentro de outro comando (ex.: backfill via UPDATE).
+     */
+    public static String nextValueExpression(Dialect dialect) {
+        return dialect.getSequenceSupport().getSelectSequenceNextValString(SEQUENCE_NAME);
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.web.bind.annotation.PathVariable;
  * Feign client interface for interacting with the Accounts Payable Service.
  * Interface de cliente Feign para interagir com o Serviço de Contas a Pagar.
  */
-@FeignClient(name = "accounts-payable-client-supplier", url = "${payable.service.url}")
+@FeignClient(name = "accounts-payable-client-supplier", fallbackFactory = AccountsPayableClientFallbackFactory.class)
 public interface AccountsPayableClient {
 
     /**
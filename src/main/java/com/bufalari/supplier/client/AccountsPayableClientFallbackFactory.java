@@ -0,0 +1,28 @@
+package com.bufalari.supplier.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fallback for {@link AccountsPayableClient}. Fails closed: when accounts-payable cannot answer, the caller gets a
+ * 503-mapped exception rather than a guess that a supplier has no active payables.
+ * Fallback do {@link AccountsPayableClient}. Falha fechado: se o accounts-payable não responder, quem chama recebe
+ * uma exceção mapeada para 503 em vez de supor que o fornecedor não tem contas a pagar ativas.
+ */
+@Component
+public class AccountsPayableClientFallbackFactory implements FallbackFactory<AccountsPayableClient> {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountsPayableClientFallbackFactory.class);
+
+    static final String SERVICE = "accounts-payable-service";
+
+    @Override
+    public AccountsPayableClient create(Throwable cause) {
+        return supplierId -> {
+            log.warn("accounts-payable call for supplier {} failed: {}", supplierId, cause.toString());
+            throw FeignFallbacks.failure(SERVICE, cause);
+        };
+    }
+}
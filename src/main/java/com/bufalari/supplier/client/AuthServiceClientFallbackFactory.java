@@ -0,0 +1,38 @@
+package com.bufalari.supplier.client;
+
+import com.bufalari.supplier.dto.UserDetailsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fallback for {@link AuthServiceClient}: fails fast with a 503-mapped exception instead of blocking the request.
+ * JwtAuthenticationFilter decides whether the token's own roles claim may be used instead.
+ * Fallback do {@link AuthServiceClient}: falha rápido com uma exceção mapeada para 503 em vez de bloquear a
+ * requisição. O JwtAuthenticationFilter decide se a claim de roles do próprio token pode ser usada no lugar.
+ */
+@Component
+public class AuthServiceClientFallbackFactory implements FallbackFactory<AuthServiceClient> {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthServiceClientFallbackFactory.class);
+
+    static final String SERVICE = "auth-service";
+
+    @Override
+    public AuthServiceClient create(Throwable cause) {
+        return new AuthServiceClient() {
+            @Override
+            public UserDetailsDTO getUserByUsername(String username) {
+                log.warn("auth-service call for user '{}' failed: {}", username, cause.toString());
+                throw FeignFallbacks.failure(SERVICE, cause);
+            }
+
+            @Override
+            public UserDetailsDTO getUserById(String userId) {
+                log.warn("auth-service call for user ID '{}' failed: {}", userId, cause.toString());
+                throw FeignFallbacks.failure(SERVICE, cause);
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.bufalari.supplier.client;
+
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import feign.FeignException;
+
+/**
+ * Shared logic of the Feign fallbacks.
+ * Lógica comum dos fallbacks Feign.
+ */
+final class FeignFallbacks {
+
+    private FeignFallbacks() {
+    }
+
+    /**
+     * The exception a fallback throws for {@code cause}: 4xx responses are answers, not outages, so they are
+     * rethrown unchanged (e.g. 404 user not found); anything else (open circuit, full bulkhead, timeout, 5xx,
+     * I/O error) becomes {@link ExternalServiceUnavailableException}.
+     * A exceção que um fallback lança para {@code cause}: respostas 4xx são respostas, não indisponibilidade, e são
+     * relançadas sem alteração; qualquer outra causa vira {@link ExternalServiceUnavailableException}.
+     */
+    static RuntimeException failure(String service, Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            return clientError;
+        }
+        return new ExternalServiceUnavailableException(service, cause);
+    }
+}
@@ -0,0 +1,35 @@
+package com.bufalari.supplier.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR and Smile message converters for service-to-service callers: the same DTOs, encoded in binary, when the
+ * request asks for them with Accept (or sends them with Content-Type). Both mappers get the spring.jackson.*
+ * settings of the JSON one. Spring Boot places these beans where its default CBOR/Smile converters would be, after
+ * JSON, so clients that accept anything (browsers, Accept: *&#47;*) keep getting JSON.
+ * Conversores CBOR e Smile para chamadas entre serviços: os mesmos DTOs, codificados em binário, quando a requisição
+ * os pede no Accept (ou os envia no Content-Type). Os dois mappers recebem as configurações spring.jackson.* do JSON.
+ * O Spring Boot os posiciona depois do JSON, então clientes que aceitam qualquer tipo continuam recebendo JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /** Media type of Jackson's Smile format. / Media type do formato Smile do Jackson. */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
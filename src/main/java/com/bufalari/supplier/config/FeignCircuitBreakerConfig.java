@@ -0,0 +1,23 @@
+package com.bufalari.supplier.config;
+
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Names each Feign circuit breaker after its client ({@code auth-service-client-supplier}, ...), so all methods of
+ * a client share one breaker: failures of the same downstream service add up in one sliding window and open one
+ * circuit, and the breaker picks up {@code resilience4j.circuitbreaker.configs.<client name>}. Spring Cloud
+ * OpenFeign's default would create one breaker per method ({@code AuthServiceClient#getUserByUsername(String)}).
+ * Nomeia cada circuit breaker Feign com o nome do cliente, para que todos os métodos de um cliente compartilhem um
+ * único breaker: falhas do mesmo serviço somam na mesma janela e abrem um só circuito, com a configuração
+ * {@code resilience4j.circuitbreaker.configs.<nome do cliente>}. O padrão criaria um breaker por método.
+ */
+@Configuration
+public class FeignCircuitBreakerConfig {
+
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+}
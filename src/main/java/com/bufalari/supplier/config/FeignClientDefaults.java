@@ -0,0 +1,85 @@
+package com.bufalari.supplier.config;
+
+import feign.Client;
+import feign.Request;
+import feign.http2client.Http2Client;
+import feign.micrometer.DefaultFeignObservationConvention;
+import feign.micrometer.FeignContext;
+import feign.micrometer.MicrometerObservationCapability;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Beans created once per Feign client, inside that client's own context (registered as {@code defaultConfiguration}
+ * of {@code @EnableFeignClients}; deliberately not a {@code @Configuration}, so component scanning does not pull it
+ * into the main context).
+ * <p>
+ * Each client gets its own JDK {@link HttpClient}: a connection pool with keep-alive that negotiates HTTP/2 when the
+ * server supports it. The connect timeout is fixed per HttpClient, so it is built from the client's own
+ * {@code spring.cloud.openfeign.client.config.<name>.connect-timeout}; a shared HttpClient with a different connect
+ * timeout would make Http2Client build a new, unpooled HttpClient on every request. The read timeout is applied
+ * per request by Feign.
+ * <p>
+ * Beans criados uma vez por cliente Feign, no contexto do próprio cliente. Cada cliente recebe seu próprio
+ * {@link HttpClient} do JDK (pool de conexões com keep-alive, HTTP/2 quando o servidor suporta), construído com o
+ * connect-timeout do cliente: um HttpClient compartilhado com outro connect-timeout faria o Http2Client criar um
+ * HttpClient novo, sem pool, a cada requisição.
+ */
+public class FeignClientDefaults {
+
+    private static final Logger log = LoggerFactory.getLogger(FeignClientDefaults.class);
+
+    /** Metric tag holding the Feign client name. / Tag de métrica com o nome do cliente Feign. */
+    public static final String CLIENT_NAME_TAG = "clientName";
+
+    @Bean
+    public Client feignClient(FeignClientProperties properties,
+                              @Value("${spring.cloud.openfeign.client.name}") String clientName) {
+        // Os mesmos valores que o FeignClientFactoryBean coloca no Request.Options deste cliente
+        Request.Options defaults = new Request.Options();
+        int connectTimeoutMillis = setting(properties, clientName, FeignClientProperties.FeignClientConfiguration::getConnectTimeout)
+                .orElse(defaults.connectTimeoutMillis());
+        boolean followRedirects = setting(properties, clientName, FeignClientProperties.FeignClientConfiguration::isFollowRedirects)
+                .orElse(defaults.isFollowRedirects());
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // volta para HTTP/1.1 se o servidor não fizer upgrade
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(followRedirects ? HttpClient.Redirect.ALWAYS : HttpClient.Redirect.NEVER)
+                .build();
+        log.info("Feign client '{}': pooled JDK HttpClient, connect timeout {} ms", clientName, connectTimeoutMillis);
+        return new Http2Client(httpClient);
+    }
+
+    /**
+     * Feign metrics ({@code http.client.requests}) tagged with {@code clientName}, so each client has its own latency
+     * histogram. Replaces the capability Spring Cloud OpenFeign would register, which has no client tag.
+     * Métricas Feign ({@code http.client.requests}) com a tag {@code clientName}, para um histograma de latência por cliente.
+     */
+    @Bean
+    public MicrometerObservationCapability micrometerObservationCapability(ObservationRegistry observationRegistry,
+                                                                           @Value("${spring.cloud.openfeign.client.name}") String clientName) {
+        return new MicrometerObservationCapability(observationRegistry, new DefaultFeignObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(FeignContext context) {
+                return super.getLowCardinalityKeyValues(context).and(CLIENT_NAME_TAG, clientName);
+            }
+        });
+    }
+
+    /** Client-specific setting, else the default client config's. / Configuração do cliente, senão a da configuração padrão. */
+    private static <T> Optional<T> setting(FeignClientProperties properties, String clientName,
+                                           Function<FeignClientProperties.FeignClientConfiguration, T> getter) {
+        return Optional.ofNullable(properties.getConfig().get(clientName)).map(getter)
+                .or(() -> Optional.ofNullable(properties.getConfig().get(properties.getDefaultConfig())).map(getter));
+    }
+}
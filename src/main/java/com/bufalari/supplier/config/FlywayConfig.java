@@ -0,0 +1,33 @@
+package com.bufalari.supplier.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the Flyway migrations at startup unless supplier.schema.migrate-on-startup is false. The switch is read at
+ * runtime, unlike spring.flyway.enabled, which Spring AOT (fast-startup profile) fixes at build time; the AppCDS
+ * training run of the Dockerfile uses it because there is no database during the image build.
+ * Executa as migrações Flyway na inicialização, exceto quando supplier.schema.migrate-on-startup é false. A chave é
+ * lida em runtime, ao contrário de spring.flyway.enabled, que o Spring AOT (perfil fast-startup) fixa no build; a
+ * execução de treino do AppCDS no Dockerfile a usa porque não há banco durante o build da imagem.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${supplier.schema.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.warn("Schema migrations skipped (supplier.schema.migrate-on-startup=false).");
+            }
+        };
+    }
+}
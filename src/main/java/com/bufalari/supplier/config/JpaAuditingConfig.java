@@ -3,12 +3,17 @@ package com.bufalari.supplier.config; // Pacote correto
 import com.bufalari.supplier.auditing.AuditorAwareImpl; // Import correto
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 @Configuration
 // <<< AJUSTE: Usar ref específico para o serviço >>>
-@EnableJpaAuditing(auditorAwareRef = "auditorProviderSupplier")
+@EnableJpaAuditing(auditorAwareRef = "auditorProviderSupplier", dateTimeProviderRef = "auditingDateTimeProvider")
 public class JpaAuditingConfig {
 
     @Bean
@@ -16,4 +21,15 @@ public class JpaAuditingConfig {
     public AuditorAware<String> auditorProviderSupplier() {
         return new AuditorAwareImpl();
     }
-}
\ No newline at end of file
+
+    /**
+     * Audit timestamps truncated to microseconds, the precision of the TIMESTAMP columns, so the value kept in memory
+     * after a write (and the ETag derived from it) equals what is read back later.
+     * Timestamps de auditoria truncados em microssegundos, a precisão das colunas TIMESTAMP, para que o valor em memória
+     * após uma escrita (e o ETag derivado dele) seja igual ao lido depois.
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,92 @@
+package com.bufalari.supplier.config;
+
+import com.bufalari.supplier.datasource.ReadReplicaRoutingDataSource;
+import com.bufalari.supplier.datasource.ReadYourWritesFilter;
+import com.bufalari.supplier.datasource.ReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application DataSource. Without supplier.datasource.replicas.urls it is the usual Hikari pool on spring.datasource.*;
+ * with replica URLs, read-only transactions are routed to the replicas ({@link ReadReplicaRoutingDataSource}). Every
+ * pool takes the spring.datasource.hikari.* settings; replica pools are read-only. The replica list is read at
+ * runtime rather than through a @Conditional, which Spring AOT (fast-startup profile) would fix at build time.
+ * DataSource da aplicação. Sem supplier.datasource.replicas.urls é o pool Hikari usual de spring.datasource.*; com
+ * URLs de réplicas, as transações somente leitura vão para as réplicas. Todos os pools recebem
+ * spring.datasource.hikari.*; os pools das réplicas são somente leitura. A lista de réplicas é lida em runtime, e
+ * não por um @Conditional, que o Spring AOT (perfil fast-startup) fixaria no build.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                         @Value("${supplier.datasource.replicas.urls:}") List<String> urls,
+                                         @Value("${supplier.datasource.replicas.username:}") String username,
+                                         @Value("${supplier.datasource.replicas.password:}") String password,
+                                         @Value("${supplier.datasource.replicas.lag-query:}") String lagQuery,
+                                         @Value("${supplier.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                                         @Value("${supplier.datasource.replicas.check-timeout:PT2S}") Duration checkTimeout) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(environment, meterRegistry, name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(StringUtils.hasText(username) ? username : properties.determineUsername());
+            replica.setPassword(StringUtils.hasText(password) ? password : properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReplicaMonitor(replicas, lagQuery, maxLag, checkTimeout, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                 ReplicaMonitor replicaMonitor) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            primary.setPoolName(properties.getName());
+        }
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (replicaMonitor.isEmpty()) {
+            return primary; // Métricas do pool registradas pelo Spring Boot, como no DataSource auto-configurado
+        }
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricRegistry(meterRegistry); // Pools internos ao roteador não são beans; o Boot não os instrumenta
+        return new ReadReplicaRoutingDataSource(primary, replicaMonitor, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaMonitor replicaMonitor,
+                                                     @Value("${supplier.datasource.replicas.read-your-writes-window:PT10S}") Duration window) {
+        return new ReadYourWritesFilter(window, !replicaMonitor.isEmpty());
+    }
+
+    private static HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
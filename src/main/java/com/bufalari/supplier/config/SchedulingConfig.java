@@ -0,0 +1,17 @@
+package com.bufalari.supplier.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. periodic search index rebuild) and @Async methods. Both use the executors
+ * auto-configured by Spring Boot, which run on virtual threads when spring.threads.virtual.enabled is true.
+ * Habilita jobs em segundo plano com @Scheduled (ex.: reconstrução periódica do índice de busca) e métodos @Async.
+ * Ambos usam os executores do Spring Boot, que rodam em virtual threads quando spring.threads.virtual.enabled é true.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
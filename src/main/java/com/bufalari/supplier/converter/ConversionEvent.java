@@ -0,0 +1,45 @@
+package com.bufalari.supplier.converter;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for one supplier conversion. The default threshold keeps only conversions slower than 100 µs, which in
+ * practice are the ones that trigger lazy loading (a hidden query) or handle unusually large rows; lower it in the
+ * recording settings ({@code com.bufalari.supplier.Conversion#threshold=0 ms}) to see every call.
+ * Evento JFR para uma conversão de fornecedor. O limite padrão mantém apenas conversões acima de 100 µs, que na
+ * prática são as que disparam lazy loading (uma query escondida) ou tratam linhas muito grandes; reduza-o nas
+ * configurações da gravação para ver todas as chamadas.
+ */
+@Name("com.bufalari.supplier.Conversion")
+@Label("Supplier Conversion")
+@Category({"Supplier Service", "Conversion"})
+@Description("Conversion of one supplier between entity, DTO and CSV")
+@StackTrace(false)
+@Threshold("100 us")
+class ConversionEvent extends Event {
+
+    @Label("Converter")
+    String converter;
+
+    @Label("Operation")
+    String operation;
+
+    /**
+     * Ends the event and commits it if it passes the threshold; fields are only filled in that case.
+     * Encerra o evento e o grava se passar do limite; os campos só são preenchidos nesse caso.
+     */
+    void finish(String converter, String operation) {
+        end();
+        if (shouldCommit()) {
+            this.converter = converter;
+            this.operation = operation;
+            commit();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.UUID; // Importar UUID se não estiver presente
 
 /**
@@ -16,6 +17,8 @@ import java.util.UUID; // Importar UUID se não estiver presente
 @RequiredArgsConstructor
 public class SupplierConverter {
 
+    private static final String CONVERTER = "SupplierConverter";
+
     private final AddressConverter addressConverter;
 
     /**
@@ -26,7 +29,9 @@ public class SupplierConverter {
         if (entity == null) {
             return null;
         }
-        return SupplierDTO.builder()
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        SupplierDTO dto = SupplierDTO.builder()
                 .id(entity.getId()) // ID é UUID
                 .name(entity.getName())
                 .tradeName(entity.getTradeName())
@@ -41,6 +46,8 @@ public class SupplierConverter {
                 .bankAccount(entity.getBankAccount())
                 .documentReferences(entity.getDocumentReferences() != null ? new ArrayList<>(entity.getDocumentReferences()) : new ArrayList<>())
                 .build();
+        event.finish(CONVERTER, "entityToDTO");
+        return dto;
     }
 
     /**
@@ -51,6 +58,8 @@ public class SupplierConverter {
         if (dto == null) {
             return null;
         }
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
         SupplierEntity entity = SupplierEntity.builder()
                 // ID é UUID, não definir aqui para criação, ou usar o ID do DTO para atualização
                 .name(dto.getName())
@@ -64,13 +73,14 @@ public class SupplierConverter {
                 .bankName(dto.getBankName())
                 .bankAgency(dto.getBankAgency())
                 .bankAccount(dto.getBankAccount())
-                .documentReferences(dto.getDocumentReferences() != null ? new ArrayList<>(dto.getDocumentReferences()) : new ArrayList<>())
+                .documentReferences(dto.getDocumentReferences() != null ? new LinkedHashSet<>(dto.getDocumentReferences()) : new LinkedHashSet<>())
                 .build();
         
         // Se o DTO tem um ID (para atualização), defina-o na entidade
         if (dto.getId() != null) {
             entity.setId(dto.getId());
         }
+        event.finish(CONVERTER, "dtoToEntity");
         return entity;
     }
 }
\ No newline at end of file
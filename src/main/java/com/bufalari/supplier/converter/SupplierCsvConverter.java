@@ -0,0 +1,224 @@
+package com.bufalari.supplier.converter;
+
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Converts SupplierDTO to and from RFC 4180 CSV lines.
+ * Converte SupplierDTO de/para linhas CSV (RFC 4180).
+ */
+@Component
+public class SupplierCsvConverter {
+
+    /** Column order used for export. / Ordem das colunas usada na exportação. */
+    public static final List<String> COLUMNS = List.of(
+            "id", "name", "tradeName", "businessIdentificationNumber",
+            "street", "number", "complement", "neighbourhood", "city", "province", "postalCode", "country",
+            "primaryContactName", "primaryContactPhone", "primaryContactEmail", "category",
+            "bankName", "bankAgency", "bankAccount", "documentReferences");
+
+    /** Separator used inside the documentReferences column. / Separador usado na coluna documentReferences. */
+    public static final String DOCUMENT_REFERENCE_SEPARATOR = "|";
+
+    private static final String CONVERTER = "SupplierCsvConverter";
+
+    /**
+     * First characters that make a spreadsheet evaluate a cell as a formula (CSV injection); such cells are exported
+     * with a leading apostrophe, which the import removes again.
+     * Primeiros caracteres que fazem uma planilha avaliar a célula como fórmula (CSV injection); essas células são
+     * exportadas com um apóstrofo na frente, que a importação remove.
+     */
+    private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+    private static final char FORMULA_ESCAPE = '\'';
+
+    /**
+     * Returns the header line (without line terminator).
+     * Retorna a linha de cabeçalho (sem terminador de linha).
+     */
+    public String header() {
+        return String.join(",", COLUMNS);
+    }
+
+    /**
+     * Converts a SupplierDTO to a CSV line (without line terminator). Cells that a spreadsheet would read as a formula
+     * (starting with =, +, -, @, tab or CR) are prefixed with an apostrophe.
+     * Converte um SupplierDTO para uma linha CSV (sem terminador de linha). Células que uma planilha leria como
+     * fórmula (começando com =, +, -, @, tab ou CR) recebem um apóstrofo na frente.
+     */
+    public String toCsvLine(SupplierDTO dto) {
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        AddressDTO address = dto.getAddress() != null ? dto.getAddress() : new AddressDTO();
+        String[] values = {
+                dto.getId() != null ? dto.getId().toString() : null,
+                dto.getName(),
+                dto.getTradeName(),
+                dto.getBusinessIdentificationNumber(),
+                address.getStreet(),
+                address.getNumber(),
+                address.getComplement(),
+                address.getNeighbourhood(),
+                address.getCity(),
+                address.getProvince(),
+                address.getPostalCode(),
+                address.getCountry(),
+                dto.getPrimaryContactName(),
+                dto.getPrimaryContactPhone(),
+                dto.getPrimaryContactEmail(),
+                dto.getCategory(),
+                dto.getBankName(),
+                dto.getBankAgency(),
+                dto.getBankAccount(),
+                dto.getDocumentReferences() != null ? String.join(DOCUMENT_REFERENCE_SEPARATOR, dto.getDocumentReferences()) : null
+        };
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            append(line, values[i]);
+        }
+        String csvLine = line.toString();
+        event.finish(CONVERTER, "toCsvLine");
+        return csvLine;
+    }
+
+    private static void append(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_TRIGGERS.indexOf(value.charAt(0)) >= 0) {
+            value = FORMULA_ESCAPE + value; // Ex.: telefone "+1 555..." ou "=HYPERLINK(...)" vira texto na planilha
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * Reads the next RFC 4180 record (quoted fields may contain commas, quotes and line breaks).
+     * Lê o próximo registro RFC 4180 (campos entre aspas podem conter vírgulas, aspas e quebras de linha).
+     * @param reader Source positioned at the start of a record. / Fonte posicionada no início de um registro.
+     * @return The field values, or null at end of input. / Os valores dos campos, ou null no fim da entrada.
+     */
+    public List<String> readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(COLUMNS.size());
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted CSV field / Campo CSV entre aspas não terminado");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                // ignorado; o registro termina no \n (ou EOF)
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Builds a SupplierDTO from a record, using the header to locate columns. Unknown columns and the id column
+     * are ignored; blank values become null. The apostrophe the export puts before a formula is removed.
+     * Monta um SupplierDTO a partir de um registro, usando o cabeçalho para localizar as colunas. Colunas
+     * desconhecidas e a coluna id são ignoradas; valores vazios viram null. O apóstrofo posto pela exportação antes
+     * de uma fórmula é removido.
+     * @param header Column names as read from the first line. / Nomes das colunas lidos da primeira linha.
+     * @param record Field values of the row. / Valores dos campos da linha.
+     * @throws IllegalArgumentException if the record does not have one value per header column.
+     */
+    public SupplierDTO fromCsvRecord(List<String> header, List<String> record) {
+        if (record.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + record.size()
+                    + " / Esperadas " + header.size() + " colunas, encontradas " + record.size());
+        }
+        ConversionEvent event = new ConversionEvent();
+        event.begin();
+        Map<String, String> values = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            String value = unescapeFormula(record.get(i).trim());
+            values.put(header.get(i).trim(), value.isEmpty() ? null : value);
+        }
+        AddressDTO address = AddressDTO.builder()
+                .street(values.get("street"))
+                .number(values.get("number"))
+                .complement(values.get("complement"))
+                .neighbourhood(values.get("neighbourhood"))
+                .city(values.get("city"))
+                .province(values.get("province"))
+                .postalCode(values.get("postalCode"))
+                .country(values.get("country"))
+                .build();
+        String documentReferences = values.get("documentReferences");
+        SupplierDTO dto = SupplierDTO.builder()
+                .name(values.get("name"))
+                .tradeName(values.get("tradeName"))
+                .businessIdentificationNumber(values.get("businessIdentificationNumber"))
+                .address(address)
+                .primaryContactName(values.get("primaryContactName"))
+                .primaryContactPhone(values.get("primaryContactPhone"))
+                .primaryContactEmail(values.get("primaryContactEmail"))
+                .category(values.get("category"))
+                .bankName(values.get("bankName"))
+                .bankAgency(values.get("bankAgency"))
+                .bankAccount(values.get("bankAccount"))
+                .documentReferences(documentReferences == null ? new ArrayList<>()
+                        : new ArrayList<>(Arrays.asList(documentReferences.split(Pattern.quote(DOCUMENT_REFERENCE_SEPARATOR)))))
+                .build();
+        event.finish(CONVERTER, "fromCsvRecord");
+        return dto;
+    }
+
+    /** Undoes the formula escape of {@link #append}. / Desfaz o escape de fórmula de {@link #append}. */
+    private static String unescapeFormula(String value) {
+        return value.length() > 1 && value.charAt(0) == FORMULA_ESCAPE && FORMULA_TRIGGERS.indexOf(value.charAt(1)) >= 0
+                ? value.substring(1) : value;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bufalari.supplier.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DataSource that sends read-only transactions ({@code @Transactional(readOnly = true)}, including SUPPORTS methods
+ * run outside a transaction) to a replica chosen by {@link ReplicaMonitor}, and everything else to the primary:
+ * read-write transactions, work outside any transaction (Flyway, Hibernate bootstrap, health checks), reads inside a
+ * {@link ReadRouting#primary()} scope, and reads while no replica is available.
+ * <p>
+ * The physical connection is taken on the first statement rather than when the transaction begins, because the
+ * transaction manager opens the connection before it publishes the read-only flag. Replicas are asynchronous, so a
+ * read may miss a commit made up to {@code max-lag} earlier; see {@link ReadYourWritesFilter}.
+ * <p>
+ * DataSource que envia transações somente leitura (inclusive métodos SUPPORTS fora de transação) para uma réplica
+ * escolhida pelo {@link ReplicaMonitor} e todo o resto para o primário. A conexão física só é obtida no primeiro
+ * comando, pois o gerenciador de transações abre a conexão antes de publicar a flag de somente leitura. As réplicas
+ * são assíncronas: uma leitura pode não ver um commit feito até {@code max-lag} antes.
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaMonitor replicaMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        Map<Object, Object> targets = new HashMap<>(replicaMonitor.dataSources());
+        targets.put(PRIMARY, primary);
+        Map<String, Counter> connections = new HashMap<>();
+        targets.keySet().forEach(target -> connections.put((String) target, Counter.builder("supplier.datasource.connections")
+                .tag("target", (String) target)
+                .description("Connections handed out, by primary or replica")
+                .register(meterRegistry)));
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                String target = PRIMARY;
+                if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadRouting.isPrimaryRequired()) {
+                    String replica = replicaMonitor.select();
+                    if (replica != null) {
+                        target = replica;
+                    }
+                }
+                connections.get(target).increment();
+                return target;
+            }
+        };
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    @Override
+    public void close() {
+        if (primary instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
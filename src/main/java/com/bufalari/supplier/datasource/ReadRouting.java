@@ -0,0 +1,44 @@
+package com.bufalari.supplier.datasource;
+
+/**
+ * Read-your-writes escape hatch: read-only transactions started while a {@link #primary()} scope is open on the
+ * current thread read from the primary instead of a replica. Used by {@link ReadYourWritesFilter} for requests that
+ * must see their own writes and by reads whose correctness depends on seeing every commit (the change feed).
+ * Saída para ler as próprias escritas: transações somente leitura iniciadas com um escopo {@link #primary()} aberto na
+ * thread atual leem do primário em vez de uma réplica. Usado pelo {@link ReadYourWritesFilter} e por leituras que
+ * dependem de enxergar todo commit (feed de mudanças).
+ */
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Opens a primary-reads scope; close it (try-with-resources) to restore the previous routing. Scopes may nest.
+     * Abre um escopo de leitura no primário; feche-o (try-with-resources) para restaurar o roteamento anterior.
+     */
+    public static Scope primary() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY.remove();
+            }
+        };
+    }
+
+    /** True inside a {@link #primary()} scope. / Verdadeiro dentro de um escopo {@link #primary()}. */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    /** A primary-reads scope. / Um escopo de leitura no primário. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
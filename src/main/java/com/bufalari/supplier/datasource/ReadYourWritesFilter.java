@@ -0,0 +1,82 @@
+package com.bufalari.supplier.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Lets a client read its own writes while replicas catch up. A request is served with primary reads
+ * ({@link ReadRouting#primary()}) when it sends {@value #HEADER}: true (for callers that run on several instances
+ * or write through another service), or when the same user made a successful POST/PUT/PATCH/DELETE on this instance
+ * within {@code read-your-writes-window}. Runs after the Spring Security chain, so the user is known.
+ * Permite que um cliente leia as próprias escritas enquanto as réplicas alcançam o primário. A requisição lê do
+ * primário quando envia {@value #HEADER}: true, ou quando o mesmo usuário fez um POST/PUT/PATCH/DELETE bem-sucedido
+ * nesta instância dentro de {@code read-your-writes-window}. Roda depois da cadeia do Spring Security.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    /** Users with a recent write on this instance. / Usuários com escrita recente nesta instância. */
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    /**
+     * @param window  How long after a write the user reads from the primary. / Por quanto tempo após uma escrita o usuário lê do primário.
+     * @param enabled False when no replica is configured (every read already goes to the primary). / False sem réplicas configuradas.
+     */
+    public ReadYourWritesFilter(Duration window, boolean enabled) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String username = currentUsername();
+        boolean primary = Boolean.parseBoolean(request.getHeader(HEADER))
+                || (username != null && recentWriters.getIfPresent(username) != null);
+        if (primary) {
+            try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+                chain.doFilter(request, response);
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+        if (username != null && isWrite(request) && response.getStatus() < 400) {
+            recentWriters.put(username, Boolean.TRUE);
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method) && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
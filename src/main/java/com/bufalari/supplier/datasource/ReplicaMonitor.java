@@ -0,0 +1,162 @@
+package com.bufalari.supplier.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the health and replication lag of each read replica and picks the replica for a read-only transaction.
+ * Every {@code check-interval} each replica runs {@code lag-query} (replay lag in seconds) with a short timeout; a
+ * replica that fails, times out or lags more than {@code max-lag} is skipped until a later check passes. Replicas
+ * start as unavailable, so reads go to the primary until the first check. Eligible replicas take turns.
+ * Mantém a saúde e o atraso de replicação de cada réplica de leitura e escolhe a réplica de uma transação somente
+ * leitura. A cada {@code check-interval} cada réplica executa {@code lag-query} (atraso em segundos) com timeout
+ * curto; réplicas com falha, timeout ou atraso acima de {@code max-lag} são puladas até passarem numa checagem
+ * seguinte. Até a primeira checagem, as leituras vão para o primário. As réplicas elegíveis se revezam.
+ */
+public class ReplicaMonitor implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    /** State of one replica. / Estado de uma réplica. */
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean available;
+        volatile double lagSeconds = Double.NaN;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkTimeout;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param replicas     Replica pools by name, in configuration order. / Pools das réplicas por nome.
+     * @param lagQuery     Query returning the replay lag in seconds; blank only checks the connection. / Query que retorna o atraso em segundos; vazia só testa a conexão.
+     * @param maxLag       Replicas lagging more than this are not used. / Réplicas mais atrasadas que isto não são usadas.
+     * @param checkTimeout Query timeout of a check. / Timeout da query de uma checagem.
+     */
+    public ReplicaMonitor(Map<String, DataSource> replicas, String lagQuery, Duration maxLag, Duration checkTimeout, MeterRegistry meterRegistry) {
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.checkTimeout = checkTimeout;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder("supplier.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .description("Replication lag measured by the last check (NaN if it failed)")
+                    .register(meterRegistry);
+            Gauge.builder("supplier.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", name)
+                    .description("1 if the replica receives read-only transactions")
+                    .register(meterRegistry);
+        });
+    }
+
+    /** Replica pools by name. / Pools das réplicas por nome. */
+    public Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    /**
+     * Name of the replica for the next read-only transaction, or null when none is available (read from the primary).
+     * Nome da réplica para a próxima transação somente leitura, ou null se nenhuma estiver disponível (lê do primário).
+     */
+    public String select() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks every replica now. Runs on the scheduler and can be called directly (tests, operations).
+     * Checa todas as réplicas agora. Roda no agendador e pode ser chamado diretamente (testes, operação).
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${supplier.datasource.replicas.check-interval:PT5S}")
+    public void check() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try {
+                replica.lagSeconds = measureLag(replica.dataSource);
+                replica.available = replica.lagSeconds <= maxLag.toMillis() / 1000.0;
+                if (!replica.available && wasAvailable) {
+                    log.warn("Read replica {} lags {}s (max {}); reading from the other replicas or the primary.", replica.name, replica.lagSeconds, maxLag);
+                }
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                replica.available = false;
+                if (wasAvailable) {
+                    log.warn("Read replica {} failed its check, reading from the other replicas or the primary: {}", replica.name, e.getMessage());
+                }
+            }
+            if (replica.available && !wasAvailable) {
+                log.info("Read replica {} available (lag {}s).", replica.name, replica.lagSeconds);
+            }
+        }
+    }
+
+    private double measureLag(DataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            int timeoutSeconds = (int) Math.max(1, checkTimeout.toSeconds());
+            if (!StringUtils.hasText(lagQuery)) {
+                if (!connection.isValid(timeoutSeconds)) {
+                    throw new IllegalStateException("Connection is not valid");
+                }
+                return 0;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeoutSeconds);
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    // Sem linha ou NULL: réplica sem replay pendente
+                    return rs.next() ? rs.getDouble(1) : 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
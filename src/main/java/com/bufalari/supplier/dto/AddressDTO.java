@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class AddressDTO {
 
     @NotBlank(message = "Street cannot be blank / Rua não pode ser vazia")
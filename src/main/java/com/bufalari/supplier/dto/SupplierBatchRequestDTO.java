@@ -0,0 +1,33 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request for looking up many suppliers at once, by ID and/or business identification number.
+ * Requisição para buscar vários fornecedores de uma vez, por ID e/ou número de identificação de negócio.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierBatchRequestDTO {
+
+    /** Maximum number of keys per list. / Número máximo de chaves por lista. */
+    public static final int MAX_KEYS = 500;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " IDs per request / No máximo " + MAX_KEYS + " IDs por requisição")
+    @Schema(description = "Supplier IDs to fetch")
+    private List<UUID> ids;
+
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " business IDs per request / No máximo " + MAX_KEYS + " business IDs por requisição")
+    @Schema(description = "Business identification numbers to fetch", example = "[\"12.345.678/0001-99\"]")
+    private List<String> businessIdentificationNumbers;
+}
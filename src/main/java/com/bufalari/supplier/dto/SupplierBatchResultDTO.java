@@ -0,0 +1,30 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a batch supplier lookup.
+ * Resultado de uma busca de fornecedores em lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierBatchResultDTO {
+
+    @Schema(description = "Suppliers found (each at most once, even if matched by ID and business ID)")
+    private List<SupplierDTO> suppliers;
+
+    @Schema(description = "Requested IDs that do not exist")
+    private List<UUID> notFoundIds;
+
+    @Schema(description = "Requested business identification numbers that do not exist")
+    private List<String> notFoundBusinessIdentificationNumbers;
+}
@@ -0,0 +1,39 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the supplier change feed: the latest write to a supplier, or its deletion.
+ * Uma entrada do feed de mudanças de fornecedores: a última escrita de um fornecedor, ou sua exclusão.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierChangeDTO {
+
+    @Schema(description = "Position of the change in the feed; strictly increasing within a response", example = "1042")
+    private long sequence;
+
+    @Schema(description = "Whether the supplier was created/modified or deleted")
+    private SupplierChangeType type;
+
+    @Schema(description = "ID of the supplier")
+    private UUID supplierId;
+
+    @Schema(description = "Business Identification Number of the supplier (at deletion time for DELETED)", example = "12.345.678/0001-99")
+    private String businessIdentificationNumber;
+
+    @Schema(description = "When the change was made")
+    private LocalDateTime changedAt;
+
+    @Schema(description = "Current state of the supplier; null for DELETED")
+    private SupplierDTO supplier;
+}
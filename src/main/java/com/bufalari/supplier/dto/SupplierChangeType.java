@@ -0,0 +1,12 @@
+package com.bufalari.supplier.dto;
+
+/**
+ * Kind of entry in the supplier change feed.
+ * Tipo de entrada no feed de mudanças de fornecedores.
+ */
+public enum SupplierChangeType {
+    /** Supplier created or modified; the entry carries its current state. / Fornecedor criado ou alterado; a entrada traz o estado atual. */
+    UPSERTED,
+    /** Supplier deleted (tombstone). / Fornecedor excluído (tombstone). */
+    DELETED
+}
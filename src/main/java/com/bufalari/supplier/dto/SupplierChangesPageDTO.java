@@ -0,0 +1,32 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A bounded batch of the supplier change feed, ordered by sequence.
+ * Um lote limitado do feed de mudanças de fornecedores, ordenado por sequência.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierChangesPageDTO {
+
+    @Schema(description = "Changes after the given cursor, in sequence order. A supplier modified several times appears once, with its latest state")
+    private List<SupplierChangeDTO> changes;
+
+    @Schema(description = "Opaque cursor to pass as 'since' in the next call; always present, even when there are no changes")
+    private String nextCursor;
+
+    @Schema(description = "True if more changes are already available and the next call can be made immediately")
+    private boolean hasMore;
+
+    @Schema(description = "Page size that was applied", example = "500")
+    private int size;
+}
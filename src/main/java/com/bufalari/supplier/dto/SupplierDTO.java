@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +22,7 @@ import java.util.UUID; // <<<--- IMPORT UUID
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class SupplierDTO {
 
     @Schema(description = "Unique identifier of the supplier (UUID)", example = "d290f1ee-6c54-4b01-90e6-d701748f0851", accessMode = Schema.AccessMode.READ_ONLY)
@@ -38,6 +39,7 @@ public class SupplierDTO {
 
     @Size(max = 50, message = "{supplier.businessid.size}")
     @NotBlank(message = "{supplier.businessid.notblank}")
+    @Pattern(regexp = ".*[A-Za-z0-9].*", message = "{supplier.businessid.alphanumeric}") // Forma canônica não pode ser vazia
     @Schema(description = "Business Identification Number (e.g., CNPJ, EIN)", example = "12.345.678/0001-99")
     private String businessIdentificationNumber;
 
@@ -0,0 +1,24 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of suppliers sharing one value of a field (category, province or country).
+ * Número de fornecedores com um mesmo valor de um campo (categoria, província ou país).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierGroupCountDTO {
+
+    @Schema(description = "Field value; null groups the suppliers without one", example = "MATERIAL")
+    private String value;
+
+    @Schema(description = "Number of suppliers with this value", example = "42")
+    private long suppliers;
+}
@@ -0,0 +1,38 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary and per-row results of a bulk supplier import.
+ * Resumo e resultados por linha de uma importação em lote de fornecedores.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierImportResultDTO {
+
+    @Schema(description = "Number of rows read", example = "5000")
+    private int totalRows;
+
+    @Schema(description = "Rows inserted", example = "4980")
+    private int created;
+
+    @Schema(description = "Rows skipped because the Business ID already exists", example = "15")
+    private int duplicates;
+
+    @Schema(description = "Rows rejected by parsing or validation", example = "5")
+    private int validationErrors;
+
+    @Schema(description = "Valid rows whose chunk could not be written", example = "0")
+    private int failed;
+
+    @Schema(description = "Per-row results, in input order")
+    private List<SupplierImportRowResultDTO> rows;
+}
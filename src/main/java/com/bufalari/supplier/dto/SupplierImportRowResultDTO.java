@@ -0,0 +1,36 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of one input row of a bulk supplier import.
+ * Resultado de uma linha de entrada de uma importação em lote de fornecedores.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierImportRowResultDTO {
+
+    @Schema(description = "1-based position of the row in the input (CSV header excluded)", example = "1")
+    private int rowNumber;
+
+    @Schema(description = "Outcome of the row")
+    private SupplierImportStatus status;
+
+    @Schema(description = "Business Identification Number read from the row", example = "12.345.678/0001-99")
+    private String businessIdentificationNumber;
+
+    @Schema(description = "ID of the created supplier (only when status is CREATED)")
+    private UUID id;
+
+    @Schema(description = "Validation or failure messages (empty when the row was created)")
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.bufalari.supplier.dto;
+
+/**
+ * Outcome of a single row in a bulk supplier import.
+ * Resultado de uma linha numa importação em lote de fornecedores.
+ */
+public enum SupplierImportStatus {
+    /** Row inserted. / Linha inserida. */
+    CREATED,
+    /** Business ID already exists in the database or earlier in the same file. / Business ID já existe no banco ou antes no mesmo arquivo. */
+    DUPLICATE,
+    /** Row could not be parsed or failed bean validation. / Linha não pôde ser lida ou falhou na validação. */
+    VALIDATION_ERROR,
+    /** Row was valid but its chunk could not be written (e.g., concurrent insert). / Linha válida, mas seu bloco não pôde ser gravado. */
+    FAILED
+}
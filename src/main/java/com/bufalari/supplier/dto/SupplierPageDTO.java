@@ -0,0 +1,29 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A keyset-paginated slice of suppliers ordered by (name, id).
+ * Uma fatia de fornecedores paginada por keyset, ordenada por (name, id).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierPageDTO {
+
+    @Schema(description = "Suppliers in this page, ordered by name then ID")
+    private List<SupplierDTO> content;
+
+    @Schema(description = "Opaque token for the next page; null when this is the last page", example = "ZDI5MGYxZWUtNmM1NC00YjAxLTkwZTYtZDcwMTc0OGYwODUxQUJD")
+    private String nextPageToken;
+
+    @Schema(description = "Page size that was applied", example = "50")
+    private int size;
+}
@@ -0,0 +1,42 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Supplier counts for dashboards: totals per category, province and country, and suppliers added this month.
+ * Contagens de fornecedores para dashboards: totais por categoria, província e país, e fornecedores criados no mês.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierStatisticsDTO {
+
+    @Schema(description = "Total number of suppliers", example = "1250")
+    private long totalSuppliers;
+
+    @Schema(description = "Current month (server time zone)", example = "2026-10")
+    private String month;
+
+    @Schema(description = "Suppliers created in the current month", example = "37")
+    private long addedThisMonth;
+
+    @Schema(description = "Suppliers per category, largest group first")
+    private List<SupplierGroupCountDTO> byCategory;
+
+    @Schema(description = "Suppliers per address province/state, largest group first")
+    private List<SupplierGroupCountDTO> byProvince;
+
+    @Schema(description = "Suppliers per address country, largest group first")
+    private List<SupplierGroupCountDTO> byCountry;
+
+    @Schema(description = "When the counts were last reconciled against the database; writes since then are already included")
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,44 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Lightweight list-view projection of a supplier (no bank data, contacts or document references).
+ * Projeção leve de fornecedor para listagens (sem dados bancários, contatos ou referências de documentos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor // Usado pela projeção JPA (CriteriaBuilder.construct) - manter a ordem dos campos
+@Builder(toBuilder = true)
+public class SupplierSummaryDTO {
+
+    @Schema(description = "Unique identifier of the supplier (UUID)", example = "d290f1ee-6c54-4b01-90e6-d701748f0851")
+    private UUID id;
+
+    @Schema(description = "Legal name of the supplier", example = "Constructora ABC Ltda.")
+    private String name;
+
+    @Schema(description = "Trading name of the supplier", example = "ABC Construções")
+    private String tradeName;
+
+    @Schema(description = "Business Identification Number (e.g., CNPJ, EIN)", example = "12.345.678/0001-99")
+    private String businessIdentificationNumber;
+
+    @Schema(description = "Supplier category", example = "MATERIAL")
+    private String category;
+
+    @Schema(description = "Address city", example = "São Paulo")
+    private String city;
+
+    @Schema(description = "Address province/state", example = "SP")
+    private String province;
+
+    @Schema(description = "Address country", example = "Brasil")
+    private String country;
+}
@@ -0,0 +1,29 @@
+package com.bufalari.supplier.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A keyset-paginated slice of supplier summaries ordered by (name, id).
+ * Uma fatia de resumos de fornecedores paginada por keyset, ordenada por (name, id).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierSummaryPageDTO {
+
+    @Schema(description = "Supplier summaries in this page, ordered by name then ID")
+    private List<SupplierSummaryDTO> content;
+
+    @Schema(description = "Opaque token for the next page; null when this is the last page")
+    private String nextPageToken;
+
+    @Schema(description = "Page size that was applied", example = "50")
+    private int size;
+}
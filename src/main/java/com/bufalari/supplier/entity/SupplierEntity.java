@@ -1,13 +1,16 @@
 package com.bufalari.supplier.entity;
 
 import com.bufalari.supplier.auditing.AuditableBaseEntity;
+import com.bufalari.supplier.auditing.ChangeSequence;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 // import org.hibernate.annotations.GenericGenerator; // Não mais necessário para GenerationType.UUID
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Objects; // Importar para equals/hashCode
+import java.util.Set;
 import java.util.UUID;    // <<<--- IMPORT UUID
 
 /**
@@ -20,9 +23,13 @@ import java.util.UUID;    // <<<--- IMPORT UUID
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate // UPDATE contém apenas as colunas alteradas (menos escrita/WAL em edições parciais)
+// Schema e índices de fato criados pelas migrações Flyway (db/migration); as declarações abaixo apenas documentam
 @Table(name = "suppliers", indexes = { // Adicionar índices para campos buscados frequentemente
         @Index(name = "idx_supplier_name", columnList = "name"),
-        @Index(name = "idx_supplier_business_id", columnList = "businessIdentificationNumber", unique = true)
+        @Index(name = "idx_supplier_business_id", columnList = "businessIdentificationNumber", unique = true),
+        @Index(name = "idx_supplier_business_id_normalized", columnList = "business_id_normalized", unique = true), // Buscas e duplicidade
+        @Index(name = "idx_supplier_change_sequence", columnList = "change_sequence", unique = true) // Cursor do delta-sync
 })
 public class SupplierEntity extends AuditableBaseEntity {
 
@@ -52,6 +59,15 @@ public class SupplierEntity extends AuditableBaseEntity {
     @Column(unique = true, length = 50)
     private String businessIdentificationNumber;
 
+    /**
+     * Canonical form of businessIdentificationNumber (see BusinessIdentificationNumbers), set by SupplierService on
+     * every write. All lookups and duplicate checks by business ID go through its unique index.
+     * Forma canônica de businessIdentificationNumber (ver BusinessIdentificationNumbers), definida pelo SupplierService
+     * em toda escrita. Todas as buscas e verificações de duplicidade por business ID usam seu índice único.
+     */
+    @Column(name = "business_id_normalized", length = 50)
+    private String normalizedBusinessId;
+
     /**
      * Supplier's address details.
      * Detalhes do endereço do fornecedor.
@@ -109,17 +125,31 @@ public class SupplierEntity extends AuditableBaseEntity {
     private String bankAccount;
 
     /**
-     * List of references (e.g., IDs or URLs) to documents related to the supplier,
-     * stored in a separate document management service.
-     * Lista de referências (ex: IDs ou URLs) para documentos relacionados ao fornecedor,
-     * armazenados em um serviço de gerenciamento de documentos separado.
+     * Set of references (e.g., IDs or URLs) to documents related to the supplier,
+     * stored in a separate document management service. A set (not a bag) so Hibernate can insert or delete
+     * single rows; with a List every change deleted and re-inserted the whole collection.
+     * Conjunto de referências (ex: IDs ou URLs) para documentos relacionados ao fornecedor,
+     * armazenados em um serviço de gerenciamento de documentos separado. Um Set (e não bag) permite ao Hibernate
+     * inserir ou remover linhas individuais; com List toda alteração apagava e reinseria a coleção inteira.
      */
     @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 500) // Inicializa até 500 coleções numa só query (= SupplierService.MAX_PAGE_SIZE), evitando N+1 em listagens
     @CollectionTable(name = "supplier_document_references",
                      joinColumns = @JoinColumn(name = "supplier_id", foreignKey = @ForeignKey(name = "fk_suppdocref_supplier"))) // Adicionar FK
     @Column(name = "document_reference", length = 500) // Aumentar tamanho se for URL
+    @OrderBy // Ordem estável (alfabética) ao carregar
     @Builder.Default
-    private List<String> documentReferences = new ArrayList<>();
+    private Set<String> documentReferences = new LinkedHashSet<>();
+
+    /**
+     * Position of the last write to this supplier in the change sequence shared with SupplierTombstoneEntity;
+     * assigned at commit of every INSERT and UPDATE and used as the cursor of GET /supplier-service/changes.
+     * Posição da última escrita deste fornecedor na sequência de mudanças compartilhada com SupplierTombstoneEntity;
+     * atribuída no commit de todo INSERT e UPDATE e usada como cursor de GET /supplier-service/changes.
+     */
+    @ChangeSequence
+    @Column(name = "change_sequence") // Nulo dentro da transação que grava e em linhas antigas até o backfill de SupplierChangeService
+    private Long changeSequence;
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,79 @@
+package com.bufalari.supplier.entity;
+
+import com.bufalari.supplier.auditing.ChangeSequence;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a deleted supplier, kept so delta-sync consumers (GET /supplier-service/changes) learn about deletes.
+ * Its change sequence comes from the same sequence as SupplierEntity.changeSequence, so writes and deletes share
+ * one commit order.
+ * Registro de um fornecedor excluído, mantido para que consumidores do delta-sync saibam das exclusões.
+ * Sua posição vem da mesma sequência de SupplierEntity.changeSequence, então escritas e exclusões têm uma só ordem
+ * de commit.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "supplier_tombstones", indexes = {
+        @Index(name = "idx_supplier_tombstone_change_sequence", columnList = "change_sequence", unique = true), // Cursor do delta-sync
+        @Index(name = "idx_supplier_tombstone_deleted_at", columnList = "deleted_at") // Expurgo por retenção
+})
+public class SupplierTombstoneEntity implements Persistable<UUID> {
+
+    /**
+     * ID of the deleted supplier.
+     * ID do fornecedor excluído.
+     */
+    @Id
+    @Column(name = "supplier_id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID supplierId;
+
+    /**
+     * Position of the delete in the change sequence, assigned at commit.
+     * Posição da exclusão na sequência de mudanças, atribuída no commit.
+     */
+    @ChangeSequence
+    @Column(name = "change_sequence")
+    private Long changeSequence;
+
+    /**
+     * Business identification number the supplier had, for consumers keyed by it.
+     * Número de identificação de negócio que o fornecedor tinha, para consumidores que o usam como chave.
+     */
+    @Column(name = "business_identification_number", updatable = false, length = 50)
+    private String businessIdentificationNumber;
+
+    @CreatedDate
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    @CreatedBy
+    @Column(name = "deleted_by", updatable = false)
+    private String deletedBy;
+
+    @Override
+    public UUID getId() {
+        return supplierId;
+    }
+
+    /**
+     * Tombstones are only ever inserted, so save() persists without looking the ID up first.
+     * Tombstones só são inseridos, então save() persiste sem consultar o ID antes.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bufalari.supplier.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a delta-sync cursor is older than the tombstone retention, so deletes made since then
+ * may already have been purged and the client must resynchronise from scratch.
+ * Maps to HTTP 410 Gone.
+ * Exceção lançada quando um cursor de delta-sync é mais antigo que a retenção de tombstones, de modo que exclusões
+ * feitas desde então podem já ter sido expurgadas e o cliente precisa sincronizar do zero.
+ * Mapeia para HTTP 410 Gone.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.bufalari.supplier.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an uploaded document exceeds the configured maximum size.
+ * Maps to HTTP 413 Payload Too Large.
+ * Exceção lançada quando um documento enviado excede o tamanho máximo configurado.
+ * Mapeia para HTTP 413 Payload Too Large.
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class DocumentTooLargeException extends RuntimeException {
+    public DocumentTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.bufalari.supplier.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a downstream service cannot be called: its circuit breaker is open, its bulkhead is full,
+ * or the call failed or timed out. Maps to HTTP 503 Service Unavailable.
+ * Exceção lançada quando um serviço externo não pode ser chamado: circuit breaker aberto, bulkhead cheio,
+ * ou a chamada falhou ou excedeu o timeout. Mapeia para HTTP 503 Service Unavailable.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ExternalServiceUnavailableException extends RuntimeException {
+
+    private final String service;
+
+    public ExternalServiceUnavailableException(String service, Throwable cause) {
+        super(service + " is unavailable / " + service + " está indisponível: " + cause, cause);
+        this.service = service;
+    }
+
+    /** Name of the unavailable service. / Nome do serviço indisponível. */
+    public String getService() {
+        return service;
+    }
+}
@@ -6,10 +6,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -64,6 +66,39 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI(), "Verify the resource identifier.");
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex, HttpServletRequest request) {
+        log.warn("Precondition failed: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return buildErrorResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request.getRequestURI(), "Reload the resource and retry with its current ETag.");
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeCursorExpiredException(ChangeCursorExpiredException ex, HttpServletRequest request) {
+        log.warn("Change cursor expired: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return buildErrorResponse(HttpStatus.GONE, ex.getMessage(), request.getRequestURI(), "Resynchronise by calling the endpoint again without a cursor.");
+    }
+
+    @ExceptionHandler({DocumentTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(Exception ex, HttpServletRequest request) {
+        log.warn("Upload too large: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return buildErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage(), request.getRequestURI(), "See supplier.documents.max-size.");
+    }
+
+    @ExceptionHandler(ExternalServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleExternalServiceUnavailableException(ExternalServiceUnavailableException ex, HttpServletRequest request) {
+        log.warn("Downstream service unavailable: {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI(), "Retry later; " + ex.getService() + " is not answering.");
+    }
+
+    /**
+     * Hands @PreAuthorize denials back to Spring Security, which answers 401 or 403, instead of the generic 500 below.
+     * Devolve as negações do @PreAuthorize ao Spring Security, que responde 401 ou 403, em vez do 500 genérico abaixo.
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public void handleAccessDeniedException(AccessDeniedException ex) {
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, HttpServletRequest request) {
         String message = "An unexpected internal error occurred. / Ocorreu um erro interno inesperado.";
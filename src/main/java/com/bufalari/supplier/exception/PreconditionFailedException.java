@@ -0,0 +1,17 @@
+package com.bufalari.supplier.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a conditional request (If-Match) does not match the current resource version.
+ * Maps to HTTP 412 Precondition Failed.
+ * Exceção lançada quando uma requisição condicional (If-Match) não corresponde à versão atual do recurso.
+ * Mapeia para HTTP 412 Precondition Failed.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bufalari.supplier.observability;
+
+/**
+ * Innermost service method running on the current thread, set by {@link ServiceMethodTimingAspect} and read by
+ * {@link SlowQueryLog} to say which business operation issued a slow statement.
+ * Método de serviço mais interno em execução na thread atual, definido pelo {@link ServiceMethodTimingAspect} e lido
+ * pelo {@link SlowQueryLog} para indicar qual operação de negócio emitiu um comando lento.
+ */
+final class CallingServiceMethod {
+
+    /** Reported when no service method is on the stack (e.g. Spring Data repository called directly). / Sem método de serviço na pilha. */
+    static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CallingServiceMethod() {
+    }
+
+    /**
+     * Sets the current method and returns the previous one, to be passed to {@link #restore(String)}.
+     * Define o método atual e retorna o anterior, a ser passado para {@link #restore(String)}.
+     */
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove(); // Não deixa valor residual em threads de pool
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+}
@@ -0,0 +1,79 @@
+package com.bufalari.supplier.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code @Service} beans in the service package as {@value #METRIC_NAME}
+ * (tags class, method, exception), the same tags as Micrometer's {@code @Timed}. Runs outside the transaction
+ * advice, so the time includes commit, and marks the method as the caller for {@link SlowQueryLog}.
+ * Percentiles and histograms are configured under management.metrics.distribution.
+ * Cronometra todo método público dos beans {@code @Service} do pacote de serviços como {@value #METRIC_NAME}
+ * (tags class, method, exception). Roda por fora do advice de transação, então o tempo inclui o commit, e marca o
+ * método como chamador para o {@link SlowQueryLog}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Por fora do @Transactional: mede o commit e atribui os SQLs do flush ao método
+public class ServiceMethodTimingAspect {
+
+    /** Metric name. / Nome da métrica. */
+    public static final String METRIC_NAME = "supplier.service.method";
+
+    private static final String NO_EXCEPTION = "none";
+
+    /** Name and success timer per method, resolved once. / Nome e timer de sucesso por método, resolvidos uma vez. */
+    private record TimedMethod(String className, String methodName, String caller, Timer success) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, TimedMethod> timedMethods = new ConcurrentHashMap<>();
+
+    public ServiceMethodTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.bufalari.supplier.service..*) && @within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        TimedMethod timed = timedMethods.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::timedMethod);
+        String previousCaller = CallingServiceMethod.enter(timed.caller());
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timed.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(timed.className(), timed.methodName(), e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            CallingServiceMethod.restore(previousCaller);
+        }
+    }
+
+    private TimedMethod timedMethod(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        return new TimedMethod(className, method.getName(), className + "." + method.getName(),
+                timer(className, method.getName(), NO_EXCEPTION));
+    }
+
+    private Timer timer(String className, String methodName, String exception) {
+        return Timer.builder(METRIC_NAME)
+                .description("Latency of supplier service methods, including transaction commit")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
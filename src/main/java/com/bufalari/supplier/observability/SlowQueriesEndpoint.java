@@ -0,0 +1,31 @@
+package com.bufalari.supplier.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint /actuator/slowqueries listing the most recent slow JDBC statements.
+ * Endpoint do Actuator /actuator/slowqueries que lista os comandos JDBC lentos mais recentes.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    /** Endpoint payload. / Conteúdo do endpoint. */
+    public record SlowQueriesReport(long thresholdMillis, List<SlowQueryLog.SlowQuery> queries) {
+    }
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public SlowQueriesReport slowQueries() {
+        return new SlowQueriesReport(slowQueryLog.thresholdMillis(), slowQueryLog.recent());
+    }
+}
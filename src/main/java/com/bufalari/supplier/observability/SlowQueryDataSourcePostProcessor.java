@@ -0,0 +1,48 @@
+package com.bufalari.supplier.observability;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a datasource-proxy that reports every statement to {@link SlowQueryLog}.
+ * The proxy delegates {@code unwrap}, so Hikari metrics and health checks still see the pool.
+ * Envolve o DataSource da aplicação num datasource-proxy que reporta cada comando ao {@link SlowQueryLog}.
+ * O proxy delega {@code unwrap}, então as métricas e o health check do Hikari continuam enxergando o pool.
+ * <p>
+ * {@code supplier.observability.slow-query.enabled} is read when the DataSource is created rather than through a
+ * {@code @Conditional}, which Spring AOT would evaluate once at build time (fast-startup image).
+ * {@code supplier.observability.slow-query.enabled} é lido quando o DataSource é criado, e não por um
+ * {@code @Conditional}, que o Spring AOT avaliaria uma única vez no build (imagem fast-startup).
+ */
+@Component
+public class SlowQueryDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final Environment environment;
+    // Resolvido só quando o DataSource é criado, para não inicializar o MeterRegistry cedo demais
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public SlowQueryDataSourcePostProcessor(Environment environment, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.environment = environment;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && isEnabled()) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(slowQueryLog.getObject())
+                    .build();
+        }
+        return bean;
+    }
+
+    private boolean isEnabled() {
+        return environment.getProperty("supplier.observability.slow-query.enabled", Boolean.class, true);
+    }
+}
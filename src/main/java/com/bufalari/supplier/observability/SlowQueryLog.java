@@ -0,0 +1,115 @@
+package com.bufalari.supplier.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Logs JDBC statements slower than {@code supplier.observability.slow-query.threshold} with their SQL, number of bind
+ * parameters and the service method that issued them ({@link CallingServiceMethod}). Bind values are never recorded.
+ * The most recent entries are kept for /actuator/slowqueries and each one increments
+ * {@code supplier.db.slow.queries} tagged by caller. Timing covers statement execution, not result set iteration.
+ * Registra comandos JDBC mais lentos que {@code supplier.observability.slow-query.threshold} com o SQL, o número de
+ * parâmetros e o método de serviço que os emitiu. Valores dos parâmetros nunca são gravados. As entradas mais
+ * recentes ficam disponíveis em /actuator/slowqueries e cada uma incrementa {@code supplier.db.slow.queries}.
+ */
+@Component
+public class SlowQueryLog implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    /**
+     * One slow statement (or JDBC batch).
+     * Um comando lento (ou lote JDBC).
+     */
+    public record SlowQuery(Instant at, long elapsedMillis, String sql, int bindCount, int batchSize,
+                            String caller, boolean success) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdMillis;
+    private final int recentSize;
+    private final Deque<SlowQuery> recent; // guardado por "lock"; só é tocado no caminho lento
+    /** A Lock, not a monitor, so virtual threads are not pinned. / Lock e não monitor, para não fixar virtual threads. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SlowQueryLog(MeterRegistry meterRegistry,
+                        @Value("${supplier.observability.slow-query.threshold:250ms}") Duration threshold,
+                        @Value("${supplier.observability.slow-query.recent-size:100}") int recentSize) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdMillis = threshold.toMillis();
+        this.recentSize = recentSize;
+        this.recent = new ArrayDeque<>(recentSize);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // Nada a fazer: o proxy mede o tempo
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).distinct().collect(Collectors.joining("; "));
+        int bindCount = queryInfoList.stream()
+                .flatMap(query -> query.getParametersList().stream())
+                .mapToInt(List::size)
+                .sum();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), execInfo.getElapsedTime(), sql, bindCount,
+                execInfo.isBatch() ? execInfo.getBatchSize() : 1, CallingServiceMethod.current(), execInfo.isSuccess());
+        log.warn("Slow query: {} ms, {} binds, batch {}, caller {}, success {}: {}", slowQuery.elapsedMillis(),
+                slowQuery.bindCount(), slowQuery.batchSize(), slowQuery.caller(), slowQuery.success(), slowQuery.sql());
+        Counter.builder("supplier.db.slow.queries")
+                .description("JDBC statements slower than supplier.observability.slow-query.threshold")
+                .tag("caller", slowQuery.caller())
+                .register(meterRegistry)
+                .increment();
+        lock.lock();
+        try {
+            if (recent.size() == recentSize) {
+                recent.removeFirst();
+            }
+            recent.addLast(slowQuery);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The most recent slow statements, newest first.
+     * Os comandos lentos mais recentes, do mais novo para o mais antigo.
+     */
+    public List<SlowQuery> recent() {
+        List<SlowQuery> newestFirst;
+        lock.lock();
+        try {
+            newestFirst = new ArrayList<>(recent);
+        } finally {
+            lock.unlock();
+        }
+        Collections.reverse(newestFirst);
+        return newestFirst;
+    }
+
+    public long thresholdMillis() {
+        return thresholdMillis;
+    }
+}
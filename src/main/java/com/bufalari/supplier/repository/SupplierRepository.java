@@ -1,34 +1,119 @@
 package com.bufalari.supplier.repository;
 
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
 import com.bufalari.supplier.entity.SupplierEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID; // <<<--- IMPORT UUID
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for Supplier entities.
  * Repositório Spring Data JPA para entidades Supplier.
  */
 @Repository
-public interface SupplierRepository extends JpaRepository<SupplierEntity, UUID> { // <<<--- ALTERADO PARA UUID
+public interface SupplierRepository extends JpaRepository<SupplierEntity, UUID>, // <<<--- ALTERADO PARA UUID
+        JpaSpecificationExecutor<SupplierEntity>, // Filtros + keyset (ver SupplierSpecifications)
+        SupplierRepositoryCustom {
 
     /**
-     * Finds a supplier by its unique business identification number.
-     * Encontra um fornecedor pelo seu número de identificação de negócio único.
-     * @param businessIdentificationNumber The business ID number. / O número de ID de negócio.
+     * Finds a supplier by ID, fetching its document references in the same query.
+     * Encontra um fornecedor pelo ID, buscando suas referências de documentos na mesma query.
+     * @param id The supplier ID. / O ID do fornecedor.
      * @return An Optional containing the supplier if found. / Um Optional contendo o fornecedor se encontrado.
      */
-    Optional<SupplierEntity> findByBusinessIdentificationNumber(String businessIdentificationNumber);
+    @Override
+    @EntityGraph(attributePaths = "documentReferences")
+    Optional<SupplierEntity> findById(UUID id);
 
     /**
-     * Checks if a supplier exists with the given business identification number.
-     * Verifica se existe um fornecedor com o número de identificação de negócio fornecido.
-     * @param businessIdentificationNumber The business ID number. / O número de ID de negócio.
+     * Finds all suppliers with the given IDs in one query, fetching their document references in the same round trip.
+     * Encontra todos os fornecedores com os IDs informados numa query, trazendo as referências de documentos na mesma ida ao banco.
+     * @param ids The supplier IDs. / Os IDs dos fornecedores.
+     * @return The suppliers found. / Os fornecedores encontrados.
+     */
+    @EntityGraph(attributePaths = "documentReferences")
+    List<SupplierEntity> findAllWithDocumentsByIdIn(Collection<UUID> ids);
+
+    /**
+     * Finds all suppliers with the given normalized business IDs in one query (idx_supplier_business_id_normalized),
+     * with document references.
+     * Encontra todos os fornecedores com os business IDs normalizados informados numa query, com referências de documentos.
+     * @param normalizedBusinessIds Business IDs in BusinessIdentificationNumbers.normalize form. / Business IDs normalizados.
+     * @return The suppliers found. / Os fornecedores encontrados.
+     */
+    @EntityGraph(attributePaths = "documentReferences")
+    List<SupplierEntity> findAllWithDocumentsByNormalizedBusinessIdIn(Collection<String> normalizedBusinessIds);
+
+    /**
+     * Reads only the last modification timestamp of a supplier (primary key probe), used as a cheap version check.
+     * Lê apenas o timestamp da última modificação de um fornecedor (busca por PK), usado como verificação de versão barata.
+     * @param id The supplier ID. / O ID do fornecedor.
+     * @return The lastModifiedAt, or empty if the supplier does not exist. / O lastModifiedAt, ou vazio se o fornecedor não existir.
+     */
+    @Query("SELECT s.lastModifiedAt FROM SupplierEntity s WHERE s.id = :id")
+    Optional<LocalDateTime> findLastModifiedAtById(@Param("id") UUID id);
+
+    /**
+     * Suppliers written after a position of the change sequence, in sequence order (range scan on
+     * idx_supplier_change_sequence). Document references are initialised in one batch query when first accessed.
+     * Fornecedores gravados após uma posição da sequência de mudanças, em ordem de sequência (varredura de intervalo
+     * em idx_supplier_change_sequence). As referências de documentos são inicializadas numa query em lote no primeiro acesso.
+     * @param changeSequence Exclusive lower bound. / Limite inferior exclusivo.
+     * @param limit          Maximum number of rows. / Número máximo de linhas.
+     */
+    List<SupplierEntity> findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(long changeSequence, Limit limit);
+
+    /**
+     * Finds a supplier by ID and locks its row until the transaction ends (SELECT ... FOR UPDATE).
+     * Encontra um fornecedor pelo ID e bloqueia sua linha até o fim da transação (SELECT ... FOR UPDATE).
+     * @param id The supplier ID. / O ID do fornecedor.
+     * @return An Optional containing the locked supplier if found. / Um Optional contendo o fornecedor bloqueado se encontrado.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SupplierEntity s WHERE s.id = :id")
+    Optional<SupplierEntity> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Finds a supplier by its normalized business ID (single probe of idx_supplier_business_id_normalized).
+     * Encontra um fornecedor pelo seu business ID normalizado (uma busca em idx_supplier_business_id_normalized).
+     * @param normalizedBusinessId Business ID in BusinessIdentificationNumbers.normalize form. / Business ID normalizado.
+     * @return An Optional containing the supplier if found. / Um Optional contendo o fornecedor se encontrado.
+     */
+    Optional<SupplierEntity> findByNormalizedBusinessId(String normalizedBusinessId);
+
+    /**
+     * Checks if a supplier exists with the given normalized business ID.
+     * Verifica se existe um fornecedor com o business ID normalizado fornecido.
+     * @param normalizedBusinessId Business ID in BusinessIdentificationNumbers.normalize form. / Business ID normalizado.
      * @return true if exists, false otherwise. / true se existe, false caso contrário.
      */
-    boolean existsByBusinessIdentificationNumber(String businessIdentificationNumber);
+    boolean existsByNormalizedBusinessId(String normalizedBusinessId);
+
+    /**
+     * Returns which of the given normalized business IDs already exist, in a single IN query.
+     * Retorna quais dos business IDs normalizados informados já existem, numa única query IN.
+     * @param normalizedBusinessIds Candidate normalized business IDs. / Business IDs normalizados candidatos.
+     * @return The subset that is already registered. / O subconjunto já cadastrado.
+     */
+    @Query("SELECT s.normalizedBusinessId FROM SupplierEntity s WHERE s.normalizedBusinessId IN :ids")
+    Set<String> findExistingNormalizedBusinessIds(@Param("ids") Collection<String> normalizedBusinessIds);
 
     /**
      * Checks if a supplier exists with the given name (case-insensitive check might be useful).
@@ -37,4 +122,73 @@ public interface SupplierRepository extends JpaRepository<SupplierEntity, UUID>
      * @return true if exists, false otherwise. / true se existe, false caso contrário.
      */
     boolean existsByNameIgnoreCase(String name);
-}
\ No newline at end of file
+
+    /**
+     * Streams every supplier ordered by (name, id) using a server-side cursor. The JDBC driver holds at most
+     * {@value #EXPORT_FETCH_SIZE} rows at a time and entities are loaded read-only (no dirty-check snapshots).
+     * Must be consumed inside a transaction and closed (try-with-resources); callers should detach each
+     * entity once converted so the persistence context does not grow.
+     * Faz stream de todos os fornecedores ordenados por (name, id) usando cursor no servidor. O driver JDBC mantém
+     * no máximo {@value #EXPORT_FETCH_SIZE} linhas por vez e as entidades são carregadas somente-leitura.
+     * Deve ser consumido dentro de uma transação e fechado (try-with-resources); quem chama deve fazer detach
+     * de cada entidade após convertê-la para que o contexto de persistência não cresça.
+     * @return A lazily populated stream of suppliers. / Um stream de fornecedores populado sob demanda.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT s FROM SupplierEntity s ORDER BY s.name, s.id")
+    Stream<SupplierEntity> streamAllForExport();
+
+    /**
+     * Streams the summary columns of every supplier (no document references), used to build the search index.
+     * Must be consumed inside a transaction and closed.
+     * Faz stream das colunas de resumo de todos os fornecedores (sem referências de documentos), usado para construir
+     * o índice de busca. Deve ser consumido dentro de uma transação e fechado.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.bufalari.supplier.dto.SupplierSummaryDTO(s.id, s.name, s.tradeName, s.businessIdentificationNumber, "
+            + "s.category, s.address.city, s.address.province, s.address.country) FROM SupplierEntity s")
+    Stream<SupplierSummaryDTO> streamAllSummaries();
+
+    /**
+     * Supplier count per (category, province, country) combination, and how many of them were created at or after
+     * {@code since}. One grouped scan, so all figures come from the same snapshot; used to reconcile SupplierStatistics.
+     * Número de fornecedores por combinação (categoria, província, país) e quantos foram criados a partir de
+     * {@code since}. Uma única varredura agrupada, então todos os números vêm do mesmo snapshot.
+     */
+    @Query("SELECT s.category AS category, s.address.province AS province, s.address.country AS country, "
+            + "COUNT(s) AS suppliers, SUM(CASE WHEN s.createdAt >= :since THEN 1 ELSE 0 END) AS addedSince "
+            + "FROM SupplierEntity s GROUP BY s.category, s.address.province, s.address.country")
+    List<SupplierGroupCount> countGroups(@Param("since") LocalDateTime since);
+
+    /** Row of {@link #countGroups(LocalDateTime)}. / Linha de {@link #countGroups(LocalDateTime)}. */
+    interface SupplierGroupCount {
+        String getCategory();
+
+        String getProvince();
+
+        String getCountry();
+
+        Long getSuppliers();
+
+        Long getAddedSince();
+    }
+
+    /**
+     * Highest change sequence among the suppliers, or null if there are none. Sequences are assigned in commit
+     * order, so every write numbered at or below it is visible in the same snapshot.
+     * Maior sequência de mudança entre os fornecedores, ou null se não houver. As sequências seguem a ordem de
+     * commit, então toda escrita numerada até ela está visível no mesmo snapshot.
+     */
+    @Query("SELECT MAX(s.changeSequence) FROM SupplierEntity s")
+    Long findMaxChangeSequence();
+
+    /** JDBC fetch size used by {@link #streamAllForExport()}. / Fetch size JDBC usado pelo export. */
+    int EXPORT_FETCH_SIZE = 500;
+}
@@ -0,0 +1,23 @@
+package com.bufalari.supplier.repository;
+
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom query fragment for SupplierRepository (implemented in SupplierRepositoryImpl).
+ * Fragmento de consultas customizadas do SupplierRepository (implementado em SupplierRepositoryImpl).
+ */
+public interface SupplierRepositoryCustom {
+
+    /**
+     * Selects only the summary columns of the suppliers matching the specification, ordered by (name, id).
+     * Seleciona apenas as colunas de resumo dos fornecedores que atendem à specification, ordenados por (name, id).
+     * @param spec  Filter (see SupplierSpecifications). / Filtro (ver SupplierSpecifications).
+     * @param limit Maximum number of rows. / Número máximo de linhas.
+     * @return The matching summaries. / Os resumos encontrados.
+     */
+    List<SupplierSummaryDTO> findSummaries(Specification<SupplierEntity> spec, int limit);
+}
@@ -0,0 +1,45 @@
+package com.bufalari.supplier.repository;
+
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Implementation of SupplierRepositoryCustom using the Criteria API.
+ * Implementação de SupplierRepositoryCustom usando a Criteria API.
+ */
+class SupplierRepositoryImpl implements SupplierRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SupplierSummaryDTO> findSummaries(Specification<SupplierEntity> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SupplierSummaryDTO> query = cb.createQuery(SupplierSummaryDTO.class);
+        Root<SupplierEntity> root = query.from(SupplierEntity.class);
+        Path<Object> address = root.get("address");
+        query.select(cb.construct(SupplierSummaryDTO.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("tradeName"),
+                root.get("businessIdentificationNumber"),
+                root.get("category"),
+                address.get("city"),
+                address.get("province"),
+                address.get("country")));
+        if (spec != null) {
+            query.where(spec.toPredicate(root, query, cb));
+        }
+        query.orderBy(cb.asc(root.get("name")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bufalari.supplier.repository;
+
+import com.bufalari.supplier.entity.SupplierEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA Specifications used for filtered, keyset-paginated supplier listings.
+ * Specifications JPA usadas para listagens de fornecedores filtradas e paginadas por keyset.
+ */
+public final class SupplierSpecifications {
+
+    /** Keyset ordering: (name, id). Backed by idx_supplier_name. / Ordenação keyset: (name, id). */
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private SupplierSpecifications() {
+    }
+
+    /**
+     * Builds the listing filter. Null or blank arguments are ignored.
+     * Monta o filtro da listagem. Argumentos nulos ou vazios são ignorados.
+     *
+     * @param category   Exact category. / Categoria exata.
+     * @param city       Exact address city. / Cidade exata do endereço.
+     * @param province   Exact address province/state. / Província/estado exato do endereço.
+     * @param namePrefix Case-sensitive prefix of the legal name (LIKE 'x%', served by idx_supplier_name_pattern on PostgreSQL). / Prefixo do nome.
+     * @param afterName  Name of the last row of the previous page (keyset). / Nome da última linha da página anterior.
+     * @param afterId    ID of the last row of the previous page (keyset). / ID da última linha da página anterior.
+     */
+    public static Specification<SupplierEntity> listing(String category, String city, String province,
+                                                        String namePrefix, String afterName, UUID afterId) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (hasText(category)) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (hasText(city)) {
+                predicates.add(cb.equal(root.get("address").get("city"), city));
+            }
+            if (hasText(province)) {
+                predicates.add(cb.equal(root.get("address").get("province"), province));
+            }
+            if (hasText(namePrefix)) {
+                predicates.add(cb.like(root.get("name"), escapeLike(namePrefix) + "%", LIKE_ESCAPE));
+            }
+            if (afterName != null && afterId != null) {
+                // (name, id) > (:afterName, :afterId)
+                predicates.add(cb.or(
+                        cb.greaterThan(root.get("name"), afterName),
+                        cb.and(cb.equal(root.get("name"), afterName), cb.greaterThan(root.get("id"), afterId))
+                ));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,45 @@
+package com.bufalari.supplier.repository;
+
+import com.bufalari.supplier.entity.SupplierTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for supplier tombstones (deleted suppliers).
+ * Repositório Spring Data JPA para tombstones de fornecedores (fornecedores excluídos).
+ */
+@Repository
+public interface SupplierTombstoneRepository extends JpaRepository<SupplierTombstoneEntity, UUID> {
+
+    /**
+     * Tombstones after a position of the change sequence, in sequence order (unique index range scan).
+     * Tombstones após uma posição da sequência de mudanças, em ordem de sequência (varredura de intervalo no índice único).
+     * @param changeSequence Exclusive lower bound. / Limite inferior exclusivo.
+     * @param limit          Maximum number of rows. / Número máximo de linhas.
+     */
+    List<SupplierTombstoneEntity> findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(long changeSequence, Limit limit);
+
+    /**
+     * Highest change sequence among the tombstones, or null if there are none.
+     * Maior sequência de mudança entre os tombstones, ou null se não houver.
+     */
+    @Query("SELECT MAX(t.changeSequence) FROM SupplierTombstoneEntity t")
+    Long findMaxChangeSequence();
+
+    /**
+     * Deletes tombstones older than the given instant in a single statement.
+     * Exclui tombstones anteriores ao instante informado num único comando.
+     * @return Number of tombstones removed. / Número de tombstones removidos.
+     */
+    @Modifying
+    @Query("DELETE FROM SupplierTombstoneEntity t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,6 +3,12 @@ package com.bufalari.supplier.security;
 
 import com.bufalari.supplier.client.AuthServiceClient;
 import com.bufalari.supplier.dto.UserDetailsDTO;
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,42 +16,113 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * Serviço para carregar detalhes do usuário do serviço de autenticação.
+ * Resultados são mantidos num cache local limitado por tamanho e TTL, para que o auth-service não seja
+ * chamado a cada requisição; alterações de roles passam a valer em até {@code security.user-details.cache.ttl}.
  * Service to load user details from the authentication service.
+ * Results are kept in a local cache bounded by size and TTL, so auth-service is not called on every
+ * request; role changes take effect within {@code security.user-details.cache.ttl}.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AuthServiceClient authServiceClient;
+    private final Cache<String, UserDetails> userDetailsCache;
+    private final ConcurrentMap<String, CompletableFuture<UserDetails>> loadsInFlight = new ConcurrentHashMap<>();
 
-    public CustomUserDetailsService(AuthServiceClient authServiceClient) {
+    public CustomUserDetailsService(AuthServiceClient authServiceClient,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${security.user-details.cache.ttl:PT5M}") Duration cacheTtl,
+                                    @Value("${security.user-details.cache.max-size:10000}") long cacheMaxSize) {
         this.authServiceClient = authServiceClient;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "userDetails");
     }
 
     /**
-     * Carrega os detalhes do usuário pelo nome de usuário.
-     * Loads user details by username.
+     * Carrega os detalhes do usuário pelo nome de usuário (do cache, ou do auth-service em caso de miss).
+     * Falhas não são cacheadas.
+     * Loads user details by username (from the cache, or from auth-service on a miss). Failures are not cached.
+     *
+     * @throws ExternalServiceUnavailableException se o auth-service estiver indisponível. / if auth-service is unavailable.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        // Não usa Cache.get(key, loader): o loader roda dentro de ConcurrentHashMap.compute, que segura um monitor
+        // durante a chamada HTTP e prende (pin) a carrier thread quando a requisição roda em virtual thread.
+        // Requisições simultâneas para o mesmo usuário aguardam a mesma chamada em andamento.
+        CompletableFuture<UserDetails> load = new CompletableFuture<>();
+        CompletableFuture<UserDetails> inFlight = loadsInFlight.putIfAbsent(username, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            UserDetails user = fetchUser(username);
+            userDetailsCache.put(username, user);
+            load.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadsInFlight.remove(username, load);
+        }
+    }
+
+    private static UserDetails await(CompletableFuture<UserDetails> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove um usuário do cache (ex.: após alteração de roles).
+     * Evicts a user from the cache (e.g., after a role change).
+     */
+    public void evict(String username) {
+        userDetailsCache.invalidate(username);
+    }
+
+    private UserDetails fetchUser(String username) {
         try {
             UserDetailsDTO userDetailsDTO = authServiceClient.getUserByUsername(username);
             if (userDetailsDTO == null) {
                 throw new UsernameNotFoundException("User not found: " + username);
             }
 
+            // Senha vazia: a autenticação é pelo JWT, e o hash não deve ficar em memória no cache
             return new User(
                     userDetailsDTO.getUsername(),
-                    userDetailsDTO.getPassword(),
+                    "",
                     userDetailsDTO.getRoles().stream()
                             .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
                             .collect(Collectors.toList())
             );
+        } catch (ExternalServiceUnavailableException e) {
+            throw e; // auth-service indisponível não é "usuário não encontrado"; o filtro decide o que fazer
         } catch (Exception e) {
             throw new UsernameNotFoundException("Failed to load user: " + username, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.bufalari.supplier.security;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the authentication work of {@link JwtAuthenticationFilter} for one request (token parsing,
+ * user lookup, auth-service call on a cache miss), not the rest of the filter chain. Recorded only while a flight
+ * recording is running, e.g. {@code jcmd <pid> JFR.start}.
+ * Evento JFR que cobre o trabalho de autenticação do {@link JwtAuthenticationFilter} numa requisição (parse do token,
+ * busca do usuário, chamada ao auth-service num cache miss), sem o resto da cadeia de filtros. Gravado apenas
+ * enquanto uma gravação JFR estiver ativa.
+ */
+@Name("com.bufalari.supplier.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"Supplier Service", "Security"})
+@Description("Authentication work done by the JWT filter for one request")
+@StackTrace(false)
+class JwtAuthenticationEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Authorization Mode")
+    String mode;
+
+    @Label("Outcome")
+    @Description("no-token, invalid-token, authenticated, rejected, claims-fallback or auth-service-unavailable")
+    String outcome;
+}
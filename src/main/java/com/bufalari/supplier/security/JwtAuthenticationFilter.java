@@ -1,7 +1,18 @@
 package com.bufalari.supplier.security;
 
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -12,6 +23,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filtro para autenticação JWT.
@@ -20,12 +32,46 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    /** Modo em que as authorities vêm do auth-service (padrão). / Authorities are loaded from auth-service (default). */
+    public static final String MODE_AUTH_SERVICE = "auth-service";
+    /** Modo stateless: authorities vêm da claim de roles do token. / Stateless: authorities come from the token's roles claim. */
+    public static final String MODE_CLAIMS = "claims";
+
+    /** Retry-After sent with the 503 when auth-service is unavailable. / Retry-After enviado com o 503. */
+    private static final int AUTH_SERVICE_RETRY_AFTER_SECONDS = 5;
+    private static final String AUTH_SERVICE_UNAVAILABLE_BODY = "{\"status\":503,\"error\":\"Service Unavailable\","
+            + "\"message\":\"auth-service is unavailable / auth-service está indisponível\"}";
+
+    /** Outcomes recorded in JwtAuthenticationEvent. / Resultados gravados no JwtAuthenticationEvent. */
+    private static final String OUTCOME_NO_TOKEN = "no-token";
+    private static final String OUTCOME_INVALID_TOKEN = "invalid-token";
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_REJECTED = "rejected";
+    private static final String OUTCOME_CLAIMS_FALLBACK = "claims-fallback";
+    private static final String OUTCOME_AUTH_SERVICE_UNAVAILABLE = "auth-service-unavailable";
+
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final boolean claimsMode;
+    private final boolean claimsFallback;
 
-    public JwtAuthenticationFilter(CustomUserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(CustomUserDetailsService userDetailsService, JwtUtil jwtUtil,
+                                   @Value("${security.jwt.authorization-mode:" + MODE_AUTH_SERVICE + "}") String authorizationMode,
+                                   @Value("${security.jwt.claims-fallback-enabled:false}") boolean claimsFallback) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.claimsFallback = claimsFallback;
+        if (MODE_CLAIMS.equalsIgnoreCase(authorizationMode)) {
+            this.claimsMode = true;
+        } else if (MODE_AUTH_SERVICE.equalsIgnoreCase(authorizationMode)) {
+            this.claimsMode = false;
+        } else {
+            throw new IllegalStateException("Unknown security.jwt.authorization-mode '" + authorizationMode
+                    + "' (expected " + MODE_AUTH_SERVICE + " or " + MODE_CLAIMS + ")");
+        }
+        log.info("JWT authorization mode: {}", claimsMode ? MODE_CLAIMS : MODE_AUTH_SERVICE);
     }
 
     /**
@@ -35,25 +81,81 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
-        final String authorizationHeader = request.getHeader("Authorization");
-
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        String outcome = authenticate(request, response);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = request.getRequestURI();
+            event.mode = claimsMode ? MODE_CLAIMS : MODE_AUTH_SERVICE;
+            event.outcome = outcome;
+            event.commit();
         }
+        if (OUTCOME_AUTH_SERVICE_UNAVAILABLE.equals(outcome)) {
+            return; // 503 já escrito em authenticate
+        }
+        chain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+    /**
+     * Authenticates the request from its bearer token, if any. When auth-service is unavailable and the token's
+     * roles cannot be used, writes the 503 response itself.
+     * Autentica a requisição pelo token bearer, se houver. Se o auth-service estiver indisponível e as roles do token
+     * não puderem ser usadas, escreve a resposta 503.
+     *
+     * @return The outcome, as recorded in {@link JwtAuthenticationEvent}. / O resultado, como gravado no evento JFR.
+     */
+    private String authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        final String authorizationHeader = request.getHeader("Authorization");
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return OUTCOME_NO_TOKEN;
+        }
+        String jwt = authorizationHeader.substring(7);
+        Claims claims = null;
+        try {
+            // Um único parse por requisição (e nenhum se o token já estiver no cache)
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Token inválido/expirado: segue sem autenticação (o Spring Security responde 401/403)
+            log.debug("Rejected JWT on {}: {}", request.getRequestURI(), e.getMessage());
+        }
+        String username = claims != null ? claims.getSubject() : null;
+        if (username == null) {
+            return OUTCOME_INVALID_TOKEN;
+        }
+        String outcome = OUTCOME_AUTHENTICATED;
+        // Modo claims: token já verificado é a fonte das roles, sem chamada Feign ao auth-service
+        UserDetails userDetails;
+        if (claimsMode) {
+            userDetails = new User(username, "", jwtUtil.extractAuthorities(claims));
+        } else {
+            try {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            } catch (ExternalServiceUnavailableException e) {
+                // auth-service fora (circuito aberto, bulkhead cheio, timeout): usa as roles assinadas do token
+                // se permitido e presentes; senão responde 503 imediatamente em vez de segurar a thread
+                List<GrantedAuthority> tokenAuthorities = claimsFallback ? jwtUtil.extractAuthorities(claims) : List.of();
+                if (tokenAuthorities.isEmpty()) {
+                    log.warn("Rejecting request to {}: {}", request.getRequestURI(), e.getMessage());
+                    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(AUTH_SERVICE_RETRY_AFTER_SECONDS));
+                    response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.getWriter().write(AUTH_SERVICE_UNAVAILABLE_BODY);
+                    return OUTCOME_AUTH_SERVICE_UNAVAILABLE;
+                }
+                log.debug("auth-service unavailable; using the token's roles claim for '{}'", username);
+                userDetails = new User(username, "", tokenAuthorities);
+                outcome = OUTCOME_CLAIMS_FALLBACK;
             }
         }
-        chain.doFilter(request, response);
+        if (!jwtUtil.validateClaims(claims, userDetails)) {
+            return OUTCOME_REJECTED;
+        }
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return outcome;
     }
-}
\ No newline at end of file
+}
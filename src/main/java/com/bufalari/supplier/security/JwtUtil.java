@@ -1,18 +1,34 @@
 package com.bufalari.supplier.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 // HashMap, Map, Function imports are needed if generating tokens here
 import java.util.function.Function;
 
@@ -30,8 +46,35 @@ public class JwtUtil {
     @Value("${security.jwt.token.secret-key}")
     private String configuredSecretKey;
 
+    // Tamanho máximo do cache de claims já verificadas / Maximum size of the verified-claims cache
+    @Value("${security.jwt.cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    // Tempo máximo de um token no cache, mesmo que o exp seja maior / Upper bound for caching a token, even if exp is later
+    @Value("${security.jwt.cache.max-ttl:PT15M}")
+    private Duration claimsCacheMaxTtl;
+
+    private final MeterRegistry meterRegistry;
+
+    // Nome da claim com as roles (usada no modo de autorização por claims) / Name of the claim holding the roles
+    @Value("${security.jwt.roles-claim:roles}")
+    private String rolesClaim;
+
     private SecretKey secretKey;
 
+    /** Built once; JwtParser is immutable and thread-safe. / Construído uma vez; JwtParser é imutável e thread-safe. */
+    private JwtParser jwtParser;
+
+    /**
+     * Verified claims keyed by the SHA-256 of the token; each entry expires at the token's exp.
+     * Claims verificadas indexadas pelo SHA-256 do token; cada entrada expira no exp do token.
+     */
+    private Cache<String, Claims> claimsCache;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Initializes the SecretKey after properties injection.
      * Inicializa a SecretKey após a injeção das propriedades.
@@ -44,11 +87,51 @@ public class JwtUtil {
         }
         try {
             this.secretKey = Keys.hmacShaKeyFor(configuredSecretKey.getBytes(StandardCharsets.UTF_8));
+            this.jwtParser = Jwts.parserBuilder().setSigningKey(this.secretKey).build();
             log.info("JWT Secret Key initialized successfully for Supplier Service."); // Adjusted log message
         } catch (Exception e) {
             log.error("Error initializing JWT Secret Key from configured value.", e);
             throw new RuntimeException("Failed to initialize JWT Secret Key", e);
         }
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ClaimsExpiry(claimsCacheMaxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwtClaims");
+    }
+
+    /**
+     * Expires each cached token at its exp claim (capped by the configured max TTL).
+     * Expira cada token do cache no seu exp (limitado pelo TTL máximo configurado).
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        private final long maxTtlNanos;
+
+        private ClaimsExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return maxTtlNanos;
+            }
+            long untilExp = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExp, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
     // ... (Restante da classe JwtUtil permanece igual - extractUsername, extractExpiration, etc.)
@@ -74,21 +157,31 @@ public class JwtUtil {
      * Extrai uma claim específica do token usando uma função resolvedora de claims.
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Returns the verified claims of the token, parsing and verifying the signature only on the first call for a
+     * given token. Use this once per request and read the subject/expiration from the result.
+     * Retorna as claims verificadas do token, fazendo o parse e a verificação da assinatura apenas na primeira
+     * chamada para um dado token. Use uma vez por requisição e leia subject/expiração do resultado.
+     * @throws JwtException if the token is invalid or expired. / se o token for inválido ou expirado.
+     */
+    public Claims parseClaims(String token) throws JwtException {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+        return claimsCache.get(tokenHash(token), hash -> extractAllClaims(token));
+    }
+
     /**
      * Parses the token and extracts all claims. Handles potential exceptions.
      * Faz o parse do token e extrai todas as claims. Trata exceções potenciais.
      */
     private Claims extractAllClaims(String token) throws JwtException {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(this.secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             log.warn("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -108,18 +201,42 @@ public class JwtUtil {
     }
 
     /**
-     * Checks if the token is expired.
-     * Verifica se o token está expirado.
+     * Cache key for a token: SHA-256, so raw tokens are not kept as map keys.
+     * Chave de cache de um token: SHA-256, para que tokens brutos não fiquem como chaves do mapa.
      */
-    private Boolean isTokenExpired(String token) {
+    private static String tokenHash(String token) {
         try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        } catch (JwtException e) {
-            log.warn("Could not determine expiration due to other JWT exception: {}", e.getMessage());
-            return true;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Builds Spring authorities from the roles claim of verified claims. Accepts a JSON array or a
+     * comma-separated string; the ROLE_ prefix is added when missing.
+     * Monta as authorities do Spring a partir da claim de roles de claims verificadas. Aceita um array JSON
+     * ou uma string separada por vírgulas; o prefixo ROLE_ é adicionado quando ausente.
+     */
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        Object raw = claims.get(rolesClaim);
+        Collection<?> roles;
+        if (raw instanceof Collection<?> collection) {
+            roles = collection;
+        } else if (raw instanceof String value && !value.isBlank()) {
+            roles = Arrays.asList(value.split(","));
+        } else {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (Object role : roles) {
+            String name = String.valueOf(role).trim();
+            if (!name.isEmpty()) {
+                authorities.add(new SimpleGrantedAuthority(name.startsWith("ROLE_") ? name : "ROLE_" + name));
+            }
         }
+        return authorities;
     }
 
     /**
@@ -128,15 +245,25 @@ public class JwtUtil {
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            if (userDetails == null) {
-                log.warn("UserDetails object provided for validation is null for token subject: {}", username);
-                return false;
-            }
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (JwtException e) {
+            return validateClaims(parseClaims(token), userDetails);
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates already-verified claims against UserDetails (username match and expiration), without re-parsing.
+     * Valida claims já verificadas em relação ao UserDetails (nome de usuário e expiração), sem novo parse.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        if (userDetails == null) {
+            log.warn("UserDetails object provided for validation is null for token subject: {}", username);
             return false;
         }
+        Date expiration = claims.getExpiration();
+        return username != null && username.equals(userDetails.getUsername())
+                && (expiration == null || expiration.after(new Date()));
     }
 
     // Token Generation methods removed as this service only validates
@@ -51,6 +51,8 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable) // Disable CSRF
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS
             .authorizeHttpRequests(authorize -> authorize
+                // SQL de queries lentas revela o schema / Slow query SQL reveals the schema
+                .requestMatchers("/actuator/slowqueries").hasRole("ADMIN")
                 .requestMatchers(PUBLIC_MATCHERS).permitAll() // Public endpoints / Endpoints públicos
                 // Define specific auth rules for supplier endpoints / Define regras de auth específicas para endpoints de fornecedor
                 .requestMatchers(HttpMethod.GET, "/api/suppliers/**").authenticated() // Allow any authenticated user to read / Permite qualquer usuário autenticado ler
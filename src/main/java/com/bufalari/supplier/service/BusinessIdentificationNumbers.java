@@ -0,0 +1,38 @@
+package com.bufalari.supplier.service;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of business identification numbers, stored in suppliers.business_id_normalized (unique index) so
+ * that "12.345.678/0001-99" and "12345678000199" are the same supplier. Only ASCII letters and digits are kept and
+ * letters are upper-cased: CNPJs become digits-only, while Canadian BNs keep their program identifier
+ * ("123456789 RT 0001" -> "123456789RT0001"), which distinguishes accounts of the same business.
+ * Existing rows are filled with this same method by {@link SupplierBusinessIdBackfill}.
+ * Forma canônica dos números de identificação de negócio, gravada em suppliers.business_id_normalized (índice único)
+ * para que "12.345.678/0001-99" e "12345678000199" sejam o mesmo fornecedor. Só letras ASCII e dígitos são mantidos,
+ * com letras em maiúsculas: CNPJs ficam só com dígitos e BNs canadenses mantêm o identificador de programa.
+ * As linhas existentes são preenchidas com este mesmo método por {@link SupplierBusinessIdBackfill}.
+ */
+public final class BusinessIdentificationNumbers {
+
+    private BusinessIdentificationNumbers() {
+    }
+
+    /**
+     * Normalizes a business ID; returns null when it has no letter or digit.
+     * Normaliza um business ID; retorna null quando não há letra nem dígito.
+     */
+    public static String normalize(String businessIdentificationNumber) {
+        if (businessIdentificationNumber == null) {
+            return null;
+        }
+        StringBuilder normalized = new StringBuilder(businessIdentificationNumber.length());
+        for (int i = 0; i < businessIdentificationNumber.length(); i++) {
+            char c = businessIdentificationNumber.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.isEmpty() ? null : normalized.toString().toUpperCase(Locale.ROOT);
+    }
+}
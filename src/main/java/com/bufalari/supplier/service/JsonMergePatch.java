@@ -0,0 +1,51 @@
+package com.bufalari.supplier.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * JSON Merge Patch (RFC 7396): object members in the patch replace or, when null, remove the target's members;
+ * nested objects are merged recursively; any other value (including arrays) replaces the target value.
+ * JSON Merge Patch (RFC 7396): membros do patch substituem ou, quando null, removem os do alvo; objetos aninhados
+ * são mesclados recursivamente; qualquer outro valor (inclusive arrays) substitui o valor do alvo.
+ */
+public final class JsonMergePatch {
+
+    /** Media type of a merge patch document. / Tipo de mídia de um documento merge patch. */
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private JsonMergePatch() {
+    }
+
+    /**
+     * Applies {@code patch} to {@code target} in place.
+     * Aplica {@code patch} em {@code target}, alterando-o.
+     * @throws IllegalArgumentException if the patch is not a JSON object. / se o patch não for um objeto JSON.
+     */
+    static void apply(ObjectNode target, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object / Merge patch deve ser um objeto JSON");
+        }
+        merge(target, patch);
+    }
+
+    private static void merge(ObjectNode target, JsonNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isNull()) {
+                target.remove(field.getKey());
+            } else if (value.isObject()) {
+                JsonNode existing = target.get(field.getKey());
+                ObjectNode nested = existing != null && existing.isObject() ? (ObjectNode) existing : target.putObject(field.getKey());
+                merge(nested, value);
+            } else {
+                target.set(field.getKey(), value);
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.converter.SupplierCsvConverter;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierImportResultDTO;
+import com.bufalari.supplier.dto.SupplierImportRowResultDTO;
+import com.bufalari.supplier.dto.SupplierImportStatus;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of suppliers from a JSON array or CSV file.
+ * Input is read as a stream and processed in chunks of {@value #CHUNK_SIZE} rows: each chunk is validated,
+ * checked for duplicate business IDs with one IN query, and inserted in its own transaction using JDBC batching.
+ * Importação em lote de fornecedores a partir de um array JSON ou arquivo CSV.
+ * A entrada é lida como stream e processada em blocos de {@value #CHUNK_SIZE} linhas: cada bloco é validado,
+ * verificado quanto a Business IDs duplicados com uma query IN, e inserido em sua própria transação usando batch JDBC.
+ */
+@Service
+public class SupplierBulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierBulkImportService.class);
+
+    /** Rows per chunk; matches hibernate.jdbc.batch_size. / Linhas por bloco; igual a hibernate.jdbc.batch_size. */
+    public static final int CHUNK_SIZE = 500;
+
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final SupplierRepository supplierRepository;
+    private final SupplierConverter supplierConverter;
+    private final SupplierCsvConverter supplierCsvConverter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final SupplierSearchIndex supplierSearchIndex;
+    private final SupplierStatistics supplierStatistics;
+
+    public SupplierBulkImportService(SupplierRepository supplierRepository, SupplierConverter supplierConverter,
+                                     SupplierCsvConverter supplierCsvConverter, ObjectMapper objectMapper,
+                                     Validator validator, EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager, SupplierSearchIndex supplierSearchIndex,
+                                     SupplierStatistics supplierStatistics) {
+        this.supplierRepository = supplierRepository;
+        this.supplierConverter = supplierConverter;
+        this.supplierCsvConverter = supplierCsvConverter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.supplierSearchIndex = supplierSearchIndex;
+        this.supplierStatistics = supplierStatistics;
+    }
+
+    /** A parsed input row, or the reason it could not be parsed. / Uma linha lida, ou o motivo de não ter sido lida. */
+    private record ImportRow(int rowNumber, SupplierDTO supplier, String parseError) {
+    }
+
+    /** Result decided for an input row. / Resultado decidido para uma linha de entrada. */
+    private record RowOutcome(ImportRow row, SupplierImportStatus status, UUID id, List<String> errors) {
+    }
+
+    /**
+     * Imports suppliers from a JSON array of SupplierDTO objects. An element that cannot be mapped is reported as
+     * VALIDATION_ERROR; malformed JSON ends the import at that element, returning the results of the rows before it.
+     * Importa fornecedores de um array JSON de objetos SupplierDTO. Um elemento que não pode ser mapeado é informado
+     * como VALIDATION_ERROR; JSON malformado encerra a importação nesse elemento, devolvendo o resultado das linhas anteriores.
+     * @throws IllegalArgumentException if the body does not start a JSON array. / se o corpo não iniciar um array JSON.
+     */
+    public SupplierImportResultDTO importJson(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of suppliers / Esperado um array JSON de fornecedores");
+            }
+            ImportResultBuilder result = new ImportResultBuilder();
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                return result.build(); // array vazio
+            }
+            MappingIterator<SupplierDTO> suppliers = objectMapper.readerFor(SupplierDTO.class).readValues(parser);
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            int rowNumber = 0;
+            boolean readable = true;
+            while (readable) {
+                ImportRow row;
+                try {
+                    if (!suppliers.hasNextValue()) {
+                        break;
+                    }
+                    row = new ImportRow(rowNumber + 1, suppliers.nextValue(), null);
+                } catch (StreamReadException e) {
+                    // JSON malformado: o restante do corpo não pode ser lido. Blocos anteriores já foram gravados,
+                    // então a linha é informada como erro e o resultado até aqui é devolvido
+                    row = new ImportRow(rowNumber + 1, null, "Malformed JSON, remaining input was not read / JSON malformado, "
+                            + "o restante da entrada não foi lido: " + e.getOriginalMessage());
+                    readable = false;
+                } catch (JsonProcessingException e) {
+                    // Erro de mapeamento (tipo inválido etc.): o MappingIterator pula o restante do elemento e continua
+                    row = new ImportRow(rowNumber + 1, null, "Invalid supplier / Fornecedor inválido: " + e.getOriginalMessage());
+                }
+                rowNumber++;
+                chunk.add(row);
+                flushIfFull(chunk, result);
+            }
+            processChunk(chunk, result);
+            return result.build();
+        }
+    }
+
+    /**
+     * Imports suppliers from a UTF-8 CSV file whose first line names the columns (see SupplierCsvConverter.COLUMNS).
+     * Importa fornecedores de um arquivo CSV UTF-8 cuja primeira linha nomeia as colunas (ver SupplierCsvConverter.COLUMNS).
+     * @throws IllegalArgumentException if the header is missing. / se o cabeçalho estiver ausente.
+     */
+    public SupplierImportResultDTO importCsv(InputStream body) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = supplierCsvConverter.readRecord(reader);
+        if (header == null || header.isEmpty()) {
+            throw new IllegalArgumentException("CSV header line is missing / Linha de cabeçalho do CSV ausente");
+        }
+        if (!header.get(0).isEmpty() && header.get(0).charAt(0) == UTF8_BOM) {
+            header.set(0, header.get(0).substring(1)); // BOM gerado pelo Excel
+        }
+        ImportResultBuilder result = new ImportResultBuilder();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        int rowNumber = 0;
+        List<String> record;
+        while ((record = supplierCsvConverter.readRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue; // linha em branco
+            }
+            rowNumber++;
+            try {
+                chunk.add(new ImportRow(rowNumber, supplierCsvConverter.fromCsvRecord(header, record), null));
+            } catch (IllegalArgumentException e) {
+                chunk.add(new ImportRow(rowNumber, null, e.getMessage()));
+            }
+            flushIfFull(chunk, result);
+        }
+        processChunk(chunk, result);
+        return result.build();
+    }
+
+    private void flushIfFull(List<ImportRow> chunk, ImportResultBuilder result) {
+        if (chunk.size() >= CHUNK_SIZE) {
+            processChunk(chunk, result);
+        }
+    }
+
+    /**
+     * Validates, de-duplicates and inserts one chunk, then empties it.
+     * Valida, remove duplicados e insere um bloco, e depois o esvazia.
+     */
+    private void processChunk(List<ImportRow> chunk, ImportResultBuilder result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.parseError() != null) {
+                result.add(new RowOutcome(row, SupplierImportStatus.VALIDATION_ERROR, null, List.of(row.parseError())));
+                continue;
+            }
+            row.supplier().setId(null); // IDs são sempre gerados na importação
+            Set<ConstraintViolation<SupplierDTO>> violations = validator.validate(row.supplier());
+            if (!violations.isEmpty()) {
+                List<String> errors = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.toList());
+                result.add(new RowOutcome(row, SupplierImportStatus.VALIDATION_ERROR, null, errors));
+                continue;
+            }
+            valid.add(row);
+        }
+
+        if (!valid.isEmpty()) {
+            try {
+                List<RowOutcome> outcomes = transactionTemplate.execute(status -> insertChunk(valid, result));
+                outcomes.forEach(result::add); // Só registra após o commit do bloco
+            } catch (RuntimeException e) {
+                log.error("Bulk import chunk starting at row {} failed: {}", valid.get(0).rowNumber(), e.getMessage(), e);
+                List<String> errors = List.of("Chunk could not be written / Bloco não pôde ser gravado: " + e.getClass().getSimpleName());
+                valid.forEach(row -> result.add(new RowOutcome(row, SupplierImportStatus.FAILED, null, errors)));
+            }
+        }
+        chunk.clear();
+    }
+
+    private List<RowOutcome> insertChunk(List<ImportRow> rows, ImportResultBuilder result) {
+        // Duplicidade pela forma canônica do Business ID, contra o banco, as linhas já aceitas e o próprio bloco
+        Set<String> chunkIds = rows.stream()
+                .map(row -> BusinessIdentificationNumbers.normalize(row.supplier().getBusinessIdentificationNumber()))
+                .collect(Collectors.toSet());
+        Set<String> existing = supplierRepository.findExistingNormalizedBusinessIds(chunkIds);
+
+        List<RowOutcome> outcomes = new ArrayList<>(rows.size());
+        List<ImportRow> toInsert = new ArrayList<>(rows.size());
+        List<SupplierEntity> entities = new ArrayList<>(rows.size());
+        Set<String> acceptedInChunk = new HashSet<>();
+        for (ImportRow row : rows) {
+            String businessId = row.supplier().getBusinessIdentificationNumber();
+            String normalizedBusinessId = BusinessIdentificationNumbers.normalize(businessId);
+            if (existing.contains(normalizedBusinessId) || result.isAccepted(normalizedBusinessId) || !acceptedInChunk.add(normalizedBusinessId)) {
+                outcomes.add(new RowOutcome(row, SupplierImportStatus.DUPLICATE, null,
+                        List.of("Supplier with Business ID '" + businessId + "' already exists.")));
+                continue;
+            }
+            toInsert.add(row);
+            SupplierEntity entity = supplierConverter.dtoToEntity(row.supplier());
+            entity.setNormalizedBusinessId(normalizedBusinessId);
+            entities.add(entity);
+        }
+
+        // IDs UUID são gerados em memória, então o flush agrupa os INSERTs em lotes JDBC
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+        entities.forEach(supplierSearchIndex::index); // aplicado após o commit do bloco
+        entities.forEach(supplierStatistics::created);
+        entityManager.clear();
+        for (int i = 0; i < toInsert.size(); i++) {
+            outcomes.add(new RowOutcome(toInsert.get(i), SupplierImportStatus.CREATED, entities.get(i).getId(), List.of()));
+        }
+        log.debug("Bulk import chunk inserted {} suppliers ({} rows in chunk).", entities.size(), rows.size());
+        return outcomes;
+    }
+
+    /**
+     * Accumulates per-row results and the set of (normalized) business IDs already accepted in this import.
+     * Acumula os resultados por linha e o conjunto de Business IDs (normalizados) já aceitos nesta importação.
+     */
+    private static final class ImportResultBuilder {
+
+        private final List<SupplierImportRowResultDTO> rows = new ArrayList<>();
+        private final Set<String> acceptedBusinessIds = new HashSet<>();
+        private int created;
+        private int duplicates;
+        private int validationErrors;
+        private int failed;
+
+        boolean isAccepted(String normalizedBusinessId) {
+            return acceptedBusinessIds.contains(normalizedBusinessId);
+        }
+
+        void add(RowOutcome outcome) {
+            ImportRow row = outcome.row();
+            String businessId = row.supplier() != null ? row.supplier().getBusinessIdentificationNumber() : null;
+            rows.add(SupplierImportRowResultDTO.builder()
+                    .rowNumber(row.rowNumber())
+                    .status(outcome.status())
+                    .businessIdentificationNumber(businessId)
+                    .id(outcome.id())
+                    .errors(outcome.errors())
+                    .build());
+            switch (outcome.status()) {
+                case CREATED -> {
+                    created++;
+                    acceptedBusinessIds.add(BusinessIdentificationNumbers.normalize(businessId));
+                }
+                case DUPLICATE -> duplicates++;
+                case VALIDATION_ERROR -> validationErrors++;
+                case FAILED -> failed++;
+            }
+        }
+
+        SupplierImportResultDTO build() {
+            rows.sort((a, b) -> Integer.compare(a.getRowNumber(), b.getRowNumber()));
+            return SupplierImportResultDTO.builder()
+                    .totalRows(rows.size())
+                    .created(created)
+                    .duplicates(duplicates)
+                    .validationErrors(validationErrors)
+                    .failed(failed)
+                    .rows(rows)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bufalari.supplier.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills suppliers.business_id_normalized for rows written before the column existed (migration V4), in batches of
+ * {@code supplier.schema.business-id-backfill-batch-size} rows, one short transaction each, so no single statement
+ * locks or rewrites the whole table. Runs once the application is ready; after the first run it finds nothing.
+ * Values come from {@link BusinessIdentificationNumbers#normalize}, the same code used on every write. A row whose
+ * normalized ID already belongs to another supplier is left NULL and logged, and the other rows are still filled.
+ * <p>
+ * Preenche suppliers.business_id_normalized nas linhas gravadas antes da coluna existir (migração V4), em lotes de
+ * {@code supplier.schema.business-id-backfill-batch-size} linhas, cada um numa transação curta, para que nenhum
+ * comando trave ou reescreva a tabela inteira. Roda quando a aplicação está pronta; após a primeira vez não encontra
+ * nada. Os valores vêm de {@link BusinessIdentificationNumbers#normalize}, o mesmo código das escritas. Uma linha cujo
+ * ID normalizado já pertence a outro fornecedor fica NULL e é logada; as demais são preenchidas.
+ */
+@Service
+public class SupplierBusinessIdBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierBusinessIdBackfill.class);
+
+    private static final String PENDING = "SELECT id, business_identification_number FROM suppliers"
+            + " WHERE business_id_normalized IS NULL AND business_identification_number IS NOT NULL";
+    private static final String ASSIGN = "UPDATE suppliers SET business_id_normalized = ?1"
+            + " WHERE id = ?2 AND business_id_normalized IS NULL";
+
+    /** One row to fill. / Uma linha a preencher. */
+    private record Pending(UUID id, String normalizedBusinessId) {
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+
+    public SupplierBusinessIdBackfill(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                      @Value("${supplier.schema.business-id-backfill-batch-size:1000}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Fills every pending row, batch by batch.
+     * Preenche todas as linhas pendentes, lote a lote.
+     *
+     * @return Rows filled. / Linhas preenchidas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int filled = 0;
+        int conflicts = 0;
+        UUID after = null;
+        while (true) {
+            List<Pending> batch = nextBatch(after);
+            if (batch.isEmpty()) {
+                break;
+            }
+            after = batch.get(batch.size() - 1).id(); // Keyset: linhas sem letra nem dígito continuam NULL e não voltam
+            List<Pending> assignable = batch.stream().filter(pending -> pending.normalizedBusinessId() != null).toList();
+            try {
+                filled += transaction.execute(status -> assign(assignable));
+            } catch (PersistenceException e) {
+                // Algum ID normalizado já existe: refaz o lote linha a linha para preencher as demais
+                for (Pending pending : assignable) {
+                    try {
+                        filled += transaction.execute(status -> assign(List.of(pending)));
+                    } catch (PersistenceException conflict) { // Comando nativo: a exceção do Hibernate não é traduzida pelo Spring
+                        conflicts++;
+                        log.error("Supplier {} keeps a NULL business_id_normalized: '{}' already belongs to another supplier.",
+                                pending.id(), pending.normalizedBusinessId());
+                    }
+                }
+            }
+        }
+        if (filled > 0 || conflicts > 0) {
+            log.info("Backfilled business_id_normalized of {} suppliers ({} left NULL by duplicates).", filled, conflicts);
+        }
+        return filled;
+    }
+
+    private List<Pending> nextBatch(UUID after) {
+        return transaction.execute(status -> {
+            NativeQuery<?> query = entityManager.createNativeQuery(after == null ? PENDING + " ORDER BY id" : PENDING + " AND id > ?1 ORDER BY id")
+                    .unwrap(NativeQuery.class)
+                    .addScalar("id", UUID.class) // Sem o tipo, o H2 devolve o UUID como byte[]
+                    .addScalar("business_identification_number", String.class)
+                    .setMaxResults(batchSize);
+            if (after != null) {
+                query.setParameter(1, after);
+            }
+            List<Pending> batch = new ArrayList<>(batchSize);
+            for (Object row : query.getResultList()) {
+                Object[] columns = (Object[]) row;
+                batch.add(new Pending((UUID) columns[0], BusinessIdentificationNumbers.normalize((String) columns[1])));
+            }
+            return batch;
+        });
+    }
+
+    private int assign(List<Pending> batch) {
+        int updated = 0;
+        for (Pending pending : batch) {
+            updated += entityManager.createNativeQuery(ASSIGN)
+                    .setParameter(1, pending.normalizedBusinessId())
+                    .setParameter(2, pending.id())
+                    .executeUpdate();
+        }
+        return updated;
+    }
+}
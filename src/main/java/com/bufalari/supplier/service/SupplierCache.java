@@ -0,0 +1,179 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.datasource.ReadRouting;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process, size-bounded read-through cache of SupplierDTO by ID.
+ * <p>
+ * Consistency policy:
+ * <ul>
+ *   <li>Writes on this instance evict the entry immediately and again after commit.</li>
+ *   <li>Writes on other instances are detected by revalidation: an entry older than {@code revalidate-after} is
+ *       served only if {@code last_modified_at} in the database still matches (a single-column primary key probe);
+ *       otherwise it is reloaded. Staleness across instances is therefore bounded by {@code revalidate-after}.</li>
+ *   <li>Entries not read for {@code ttl} expire, bounding memory held by cold suppliers.</li>
+ *   <li>Entries are loaded and revalidated only from the primary, never from a read replica, so replica lag cannot
+ *       be stored in the cache shared by every request. Inside a {@link ReadRouting#primary()} scope (read-your-writes)
+ *       the cache is bypassed altogether.</li>
+ * </ul>
+ * Cache local, limitado por tamanho, de SupplierDTO por ID (read-through).
+ * Escritas nesta instância removem a entrada imediatamente e de novo após o commit; escritas em outras instâncias
+ * são detectadas por revalidação contra {@code last_modified_at}, limitando a defasagem a {@code revalidate-after}.
+ * Entradas só são carregadas e revalidadas a partir do primário, nunca de uma réplica; dentro de um escopo
+ * {@link ReadRouting#primary()} o cache é ignorado.
+ */
+@Component
+public class SupplierCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierCache.class);
+
+    /** Cached DTO plus the version it was built from. / DTO em cache mais a versão de origem. */
+    private record CachedSupplier(SupplierDTO supplier, LocalDateTime lastModifiedAt, long validatedAtNanos) {
+    }
+
+    private final SupplierRepository supplierRepository;
+    private final Cache<UUID, CachedSupplier> cache;
+    private final long revalidateAfterNanos;
+    private final Counter revalidatedUnchanged;
+    private final Counter revalidatedChanged;
+
+    public SupplierCache(SupplierRepository supplierRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${supplier.cache.max-size:10000}") long maxSize,
+                         @Value("${supplier.cache.ttl:PT10M}") Duration ttl,
+                         @Value("${supplier.cache.revalidate-after:PT5S}") Duration revalidateAfter) {
+        this.supplierRepository = supplierRepository;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "suppliers");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "suppliers")
+                .description("Fraction of supplier lookups served from the local cache")
+                .register(meterRegistry);
+        this.revalidatedUnchanged = Counter.builder("cache.revalidations").tag("cache", "suppliers").tag("result", "unchanged")
+                .description("Cache entries confirmed against last_modified_at").register(meterRegistry);
+        this.revalidatedChanged = Counter.builder("cache.revalidations").tag("cache", "suppliers").tag("result", "changed")
+                .description("Cache entries found stale (changed or deleted elsewhere)").register(meterRegistry);
+    }
+
+    /**
+     * Returns the supplier from the cache, revalidating or loading it when needed.
+     * Retorna o fornecedor do cache, revalidando ou carregando quando necessário.
+     *
+     * @param id     Supplier ID. / ID do fornecedor.
+     * @param loader Loads the supplier and its version from the database on a miss. / Carrega o fornecedor e sua versão do banco num miss.
+     * @return A copy of the cached supplier with its version, or empty if it does not exist. / Uma cópia do fornecedor em cache com sua versão, ou vazio se não existir.
+     */
+    public Optional<VersionedSupplier> get(UUID id, Function<UUID, Optional<VersionedSupplier>> loader) {
+        if (ReadRouting.isPrimaryRequired()) {
+            return loader.apply(id); // Leitura das próprias escritas: nem serve nem guarda entradas
+        }
+        CachedSupplier cached = cache.getIfPresent(id);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.validatedAtNanos() < revalidateAfterNanos) {
+            return Optional.of(new VersionedSupplier(copy(cached.supplier()), cached.lastModifiedAt()));
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A conexão da transação já pode estar numa réplica (ou ver escritas ainda não commitadas): carrega sem guardar
+            return loader.apply(id);
+        }
+        // Sem transação a conexão é obtida no primeiro comando, então o escopo garante que ele vá ao primário
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            if (cached != null) {
+                Optional<LocalDateTime> current = supplierRepository.findLastModifiedAtById(id);
+                if (current.isPresent() && Objects.equals(current.get(), cached.lastModifiedAt())) {
+                    revalidatedUnchanged.increment();
+                    cache.put(id, new CachedSupplier(cached.supplier(), cached.lastModifiedAt(), now));
+                    return Optional.of(new VersionedSupplier(copy(cached.supplier()), cached.lastModifiedAt()));
+                }
+                revalidatedChanged.increment();
+                log.debug("Cached supplier {} is stale (version {} -> {}), reloading.", id, cached.lastModifiedAt(), current.orElse(null));
+                cache.invalidate(id);
+            }
+            Optional<VersionedSupplier> loaded = loader.apply(id);
+            loaded.ifPresent(v -> cache.put(id, new CachedSupplier(copy(v.supplier()), v.lastModifiedAt(), System.nanoTime())));
+            return loaded;
+        }
+    }
+
+    /**
+     * Returns the version of a supplier if the cache holds an entry that does not need revalidation yet,
+     * without touching the database or copying the DTO. Does not count as a cache hit.
+     * Retorna a versão de um fornecedor se o cache tiver uma entrada que ainda não precisa de revalidação,
+     * sem acessar o banco nem copiar o DTO. Não conta como hit. Vazio dentro de um escopo {@link ReadRouting#primary()}.
+     */
+    public Optional<LocalDateTime> peekFreshVersion(UUID id) {
+        if (ReadRouting.isPrimaryRequired()) {
+            return Optional.empty();
+        }
+        CachedSupplier cached = cache.policy().getIfPresentQuietly(id);
+        if (cached != null && System.nanoTime() - cached.validatedAtNanos() < revalidateAfterNanos) {
+            return Optional.of(cached.lastModifiedAt());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Evicts a supplier now and, when called inside a transaction, again after it commits, so a concurrent
+     * read cannot re-populate the cache with the pre-commit state.
+     * Remove um fornecedor agora e, se chamado dentro de uma transação, de novo após o commit, para que uma
+     * leitura concorrente não repopule o cache com o estado anterior ao commit.
+     */
+    public void evict(UUID id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /** Removes every entry. / Remove todas as entradas. */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /** Cached DTOs are never handed out directly, so callers may modify what they receive. / DTOs em cache nunca são expostos diretamente. */
+    private static SupplierDTO copy(SupplierDTO source) {
+        return source.toBuilder()
+                .address(source.getAddress() != null ? source.getAddress().toBuilder().build() : null)
+                .documentReferences(source.getDocumentReferences() != null ? new ArrayList<>(source.getDocumentReferences()) : new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * A supplier together with the lastModifiedAt it was read at.
+     * Um fornecedor junto com o lastModifiedAt em que foi lido.
+     */
+    public record VersionedSupplier(SupplierDTO supplier, LocalDateTime lastModifiedAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.bufalari.supplier.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in the supplier change feed plus the time it was handed out, exchanged with clients as an opaque token.
+ * The issue time lets the server reject cursors older than the tombstone retention instead of silently
+ * skipping deletes that were already purged.
+ * Posição no feed de mudanças de fornecedores mais o instante em que foi entregue, trocada com clientes como token
+ * opaco. O instante permite recusar cursores mais antigos que a retenção de tombstones em vez de pular em silêncio
+ * exclusões já expurgadas.
+ */
+record SupplierChangeCursor(long sequence, Instant issuedAt) {
+
+    /**
+     * Encodes this cursor as a URL-safe token.
+     * Codifica este cursor como um token seguro para URL.
+     */
+    String encode() {
+        String raw = sequence + ":" + issuedAt.getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * Decodifica um token produzido por {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed. / se o token for inválido.
+     */
+    static SupplierChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            long sequence = Long.parseLong(raw.substring(0, separator));
+            if (sequence < 0) {
+                throw new IllegalArgumentException("negative sequence");
+            }
+            return new SupplierChangeCursor(sequence, Instant.ofEpochSecond(Long.parseLong(raw.substring(separator + 1))));
+        } catch (IllegalArgumentException e) { // inclui NumberFormatException
+            throw new IllegalArgumentException("Invalid change cursor / Cursor de mudanças inválido", e);
+        }
+    }
+}
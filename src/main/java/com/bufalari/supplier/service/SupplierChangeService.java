@@ -0,0 +1,193 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.auditing.ChangeSequenceGenerator;
+import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.datasource.ReadRouting;
+import com.bufalari.supplier.dto.SupplierChangeDTO;
+import com.bufalari.supplier.dto.SupplierChangeType;
+import com.bufalari.supplier.dto.SupplierChangesPageDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.entity.SupplierTombstoneEntity;
+import com.bufalari.supplier.exception.ChangeCursorExpiredException;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.repository.SupplierTombstoneRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental supplier change feed for downstream replicas (accounts-payable, BI warehouse).
+ * <p>
+ * Every supplier INSERT/UPDATE takes the next value of a database sequence ({@code change_sequence}) and every delete
+ * leaves a tombstone numbered from the same sequence. A client keeps the cursor of the last batch and asks for what
+ * comes after it, so each call is an index range scan whose cost depends on the number of changes, not on the
+ * catalogue size. A supplier written several times appears once, with its latest state.
+ * <p>
+ * Values are assigned in commit order (see {@link ChangeSequenceGenerator}): once a value is visible, every lower
+ * value is visible too, so a batch can hand out everything it reads and the cursor never skips a late commit. Both
+ * sources are read in one snapshot, and always from the primary, even with read replicas configured.
+ * <p>
+ * Feed incremental de mudanças de fornecedores para réplicas (contas a pagar, BI). Toda escrita recebe o próximo
+ * valor de uma sequência e toda exclusão deixa um tombstone numerado pela mesma sequência; o cliente guarda o cursor
+ * do último lote e pede o que vem depois, numa varredura de índice proporcional ao número de mudanças. Os valores são
+ * atribuídos em ordem de commit: quando um valor está visível, todos os menores também estão, então o cursor nunca
+ * pula um commit tardio. As duas fontes são lidas num único snapshot, sempre do primário.
+ */
+@Service
+public class SupplierChangeService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierChangeService.class);
+
+    // Folga do expurgo sobre a retenção: maior que qualquer transação de escrita
+    private static final Duration PURGE_MARGIN = Duration.ofHours(1);
+
+    private final SupplierRepository supplierRepository;
+    private final SupplierTombstoneRepository supplierTombstoneRepository;
+    private final SupplierConverter supplierConverter;
+    private final EntityManager entityManager;
+    private final Duration tombstoneRetention;
+
+    public SupplierChangeService(SupplierRepository supplierRepository,
+                                 SupplierTombstoneRepository supplierTombstoneRepository,
+                                 SupplierConverter supplierConverter,
+                                 EntityManager entityManager,
+                                 @Value("${supplier.changes.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.supplierRepository = supplierRepository;
+        this.supplierTombstoneRepository = supplierTombstoneRepository;
+        this.supplierConverter = supplierConverter;
+        this.entityManager = entityManager;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Returns the changes after a cursor, in sequence order.
+     * Retorna as mudanças após um cursor, em ordem de sequência.
+     *
+     * @param since Cursor returned by the previous call, or null to start from the beginning (full initial sync). / Cursor da chamada anterior, ou null para começar do início.
+     * @param size  Requested batch size, clamped to [1, {@value SupplierService#MAX_PAGE_SIZE}]. / Tamanho do lote.
+     * @throws IllegalArgumentException     if the cursor is malformed. / se o cursor for inválido.
+     * @throws ChangeCursorExpiredException if the cursor is older than the tombstone retention. / se o cursor for mais antigo que a retenção.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ) // Fornecedores e tombstones no mesmo snapshot
+    public SupplierChangesPageDTO getChanges(String since, int size) {
+        // Sempre do primário: numa réplica atrasada, um commit antigo ainda não aplicado ficaria atrás do cursor
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            return changesAfter(since, size);
+        }
+    }
+
+    private SupplierChangesPageDTO changesAfter(String since, int size) {
+        int pageSize = Math.max(1, Math.min(size, SupplierService.MAX_PAGE_SIZE));
+        Instant now = Instant.now();
+        long after = 0;
+        if (since != null && !since.isBlank()) {
+            SupplierChangeCursor cursor = SupplierChangeCursor.decode(since);
+            if (cursor.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+                throw new ChangeCursorExpiredException("Change cursor issued at " + cursor.issuedAt() + " is older than the tombstone retention of "
+                        + tombstoneRetention + ". / Cursor mais antigo que a retenção de tombstones.");
+            }
+            after = cursor.sequence();
+        }
+        log.debug("Fetching supplier changes: after={}, size={}", after, pageSize);
+
+        // Uma linha a mais de cada fonte: as pageSize + 1 primeiras da intercalação estão sempre entre elas
+        List<SupplierEntity> suppliers = supplierRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(after, Limit.of(pageSize + 1));
+        List<SupplierTombstoneEntity> tombstones = supplierTombstoneRepository.findByChangeSequenceGreaterThanOrderByChangeSequenceAsc(after, Limit.of(pageSize + 1));
+
+        List<SupplierChangeDTO> changes = new ArrayList<>(Math.min(pageSize, suppliers.size() + tombstones.size()));
+        boolean hasMore = false;
+        int s = 0;
+        int t = 0;
+        while (s < suppliers.size() || t < tombstones.size()) {
+            boolean nextIsSupplier = t == tombstones.size()
+                    || (s < suppliers.size() && suppliers.get(s).getChangeSequence() < tombstones.get(t).getChangeSequence());
+            if (changes.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            SupplierChangeDTO change = nextIsSupplier ? upserted(suppliers.get(s++)) : deleted(tombstones.get(t++));
+            changes.add(change);
+            after = change.getSequence();
+        }
+        // documentReferences dos fornecedores do lote foram inicializadas numa única query (@BatchSize)
+        return SupplierChangesPageDTO.builder()
+                .changes(changes)
+                .nextCursor(new SupplierChangeCursor(after, now).encode())
+                .hasMore(hasMore)
+                .size(pageSize)
+                .build();
+    }
+
+    private SupplierChangeDTO upserted(SupplierEntity supplier) {
+        return SupplierChangeDTO.builder()
+                .sequence(supplier.getChangeSequence())
+                .type(SupplierChangeType.UPSERTED)
+                .supplierId(supplier.getId())
+                .businessIdentificationNumber(supplier.getBusinessIdentificationNumber())
+                .changedAt(supplier.getLastModifiedAt())
+                .supplier(supplierConverter.entityToDTO(supplier))
+                .build();
+    }
+
+    private static SupplierChangeDTO deleted(SupplierTombstoneEntity tombstone) {
+        return SupplierChangeDTO.builder()
+                .sequence(tombstone.getChangeSequence())
+                .type(SupplierChangeType.DELETED)
+                .supplierId(tombstone.getSupplierId())
+                .businessIdentificationNumber(tombstone.getBusinessIdentificationNumber())
+                .changedAt(tombstone.getDeletedAt())
+                .build();
+    }
+
+    /**
+     * Removes tombstones past the retention. deleted_at is taken before commit, so the extra margin keeps every
+     * tombstone a still-valid cursor can reach even if its transaction ran long.
+     * Remove tombstones além da retenção. deleted_at é obtido antes do commit, então a margem extra preserva todo
+     * tombstone que um cursor ainda válido pode alcançar, mesmo que sua transação tenha demorado.
+     */
+    @Scheduled(initialDelayString = "${supplier.changes.purge-interval:PT1H}", fixedDelayString = "${supplier.changes.purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpiredTombstones() {
+        int purged = supplierTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention).minus(PURGE_MARGIN));
+        if (purged > 0) {
+            log.info("Purged {} supplier tombstones older than {}.", purged, tombstoneRetention);
+        }
+        return purged;
+    }
+
+    /**
+     * Gives a change sequence to suppliers written before the column existed, so the first full sync includes them.
+     * Takes the numbering lock like any writer, so the values stay in commit order. After the first run this is an
+     * index probe that updates nothing.
+     * Atribui sequência a fornecedores gravados antes da coluna existir, para que a primeira sincronização completa
+     * os inclua. Obtém a trava de numeração como qualquer escrita, mantendo a ordem de commit. Após a primeira
+     * execução é uma busca no índice que não altera nada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillChangeSequence() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        entityManager.createNativeQuery(ChangeSequenceGenerator.LOCK_STATEMENT).getResultList();
+        int updated = entityManager.createNativeQuery("UPDATE suppliers SET change_sequence = "
+                + ChangeSequenceGenerator.nextValueExpression(dialect) + " WHERE change_sequence IS NULL").executeUpdate();
+        if (updated > 0) {
+            log.info("Assigned a change sequence to {} existing suppliers.", updated);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.DocumentTooLargeException;
+import com.bufalari.supplier.exception.ResourceNotFoundException;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.storage.DocumentContent;
+import com.bufalari.supplier.storage.DocumentStorage;
+import com.bufalari.supplier.storage.StoredDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.UUID;
+
+/**
+ * Supplier documents: streams uploads into the {@link DocumentStorage} and records them in the supplier's
+ * documentReferences as {@code sha256-<hex>}.
+ * <p>
+ * Deliberately not transactional: an upload of a few hundred MB must not hold a database connection while the
+ * bytes arrive. Only the final reference insert runs in a (short) transaction.
+ * <p>
+ * Documentos de fornecedores: grava uploads em streaming no {@link DocumentStorage} e os registra nas
+ * documentReferences do fornecedor como {@code sha256-<hex>}. Propositalmente não transacional: um upload de
+ * centenas de MB não pode segurar uma conexão do banco enquanto os bytes chegam; só a inserção final da referência
+ * roda numa transação (curta).
+ */
+@Service
+public class SupplierDocumentService {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierDocumentService.class);
+
+    /** Prefix of references to stored documents. / Prefixo das referências a documentos armazenados. */
+    public static final String REFERENCE_PREFIX = "sha256-";
+
+    private final SupplierRepository supplierRepository;
+    private final SupplierService supplierService;
+    private final DocumentStorage documentStorage;
+    private final long maxSizeBytes;
+
+    public SupplierDocumentService(SupplierRepository supplierRepository,
+                                   SupplierService supplierService,
+                                   DocumentStorage documentStorage,
+                                   @Value("${supplier.documents.max-size:250MB}") DataSize maxSize) {
+        this.supplierRepository = supplierRepository;
+        this.supplierService = supplierService;
+        this.documentStorage = documentStorage;
+        this.maxSizeBytes = maxSize.toBytes();
+    }
+
+    /**
+     * A document uploaded for a supplier. / Um documento enviado para um fornecedor.
+     */
+    public record UploadedDocument(String documentReference, StoredDocument stored) {
+    }
+
+    /**
+     * Stores a document for a supplier and adds its reference.
+     * Armazena um documento para um fornecedor e adiciona sua referência.
+     *
+     * @param supplierId    Supplier ID. / ID do fornecedor.
+     * @param content       The document bytes; read to the end, not closed. / Os bytes do documento; lidos até o fim, não fechados.
+     * @param contentLength Declared length, or -1 if unknown; used to reject oversized uploads before reading. / Tamanho declarado, ou -1 se desconhecido.
+     * @throws ResourceNotFoundException  if the supplier does not exist (checked before any byte is read). / se o fornecedor não existir.
+     * @throws DocumentTooLargeException  if the document exceeds {@code supplier.documents.max-size}. / se o documento exceder o máximo.
+     * @throws IllegalArgumentException   if the document is empty (checked before anything is stored). / se o documento for vazio.
+     */
+    public UploadedDocument upload(UUID supplierId, InputStream content, long contentLength) throws IOException {
+        if (!supplierRepository.existsById(supplierId)) {
+            throw new ResourceNotFoundException("Supplier not found with ID: " + supplierId);
+        }
+        if (contentLength > maxSizeBytes) {
+            throw new DocumentTooLargeException("Document exceeds the maximum size of " + maxSizeBytes + " bytes. / Documento excede o tamanho máximo de " + maxSizeBytes + " bytes.");
+        }
+        // Vazio é rejeitado antes de gravar: com tamanho desconhecido (chunked), espia o primeiro byte
+        PushbackInputStream body = new PushbackInputStream(content, 1);
+        int first = contentLength == 0 ? -1 : body.read();
+        if (first < 0) {
+            throw new IllegalArgumentException("File cannot be empty / Arquivo não pode ser vazio");
+        }
+        body.unread(first);
+        StoredDocument stored = documentStorage.store(body, maxSizeBytes);
+        String documentReference = REFERENCE_PREFIX + stored.contentHash();
+        supplierService.addDocumentReference(supplierId, documentReference);
+        log.info("Uploaded document {} ({} bytes{}) for supplier {}", documentReference, stored.size(),
+                stored.deduplicated() ? ", deduplicated" : "", supplierId);
+        return new UploadedDocument(documentReference, stored);
+    }
+
+    /**
+     * Opens a supplier document for download. The reference must belong to the supplier and point to stored content.
+     * Abre um documento de fornecedor para download. A referência deve pertencer ao fornecedor e apontar para conteúdo armazenado.
+     *
+     * @return The open content; the caller closes it. / O conteúdo aberto; quem chama deve fechá-lo.
+     * @throws ResourceNotFoundException if the supplier, the reference or the content does not exist. / se o fornecedor, a referência ou o conteúdo não existir.
+     */
+    public DocumentContent openContent(UUID supplierId, String documentReference) throws IOException {
+        SupplierDTO supplier = supplierService.getSupplierById(supplierId);
+        if (supplier.getDocumentReferences() == null || !supplier.getDocumentReferences().contains(documentReference)) {
+            throw new ResourceNotFoundException("Document '" + documentReference + "' not found for supplier ID: " + supplierId);
+        }
+        return documentStorage.open(contentHash(documentReference))
+                .orElseThrow(() -> new ResourceNotFoundException("Content of document '" + documentReference + "' is not stored (legacy reference?)."));
+    }
+
+    /**
+     * The content hash (SHA-256 hex) a reference points to; for other references, the reference itself
+     * (which no stored document matches).
+     * O hash do conteúdo (SHA-256 hex) ao qual uma referência aponta; para outras referências, a própria referência.
+     */
+    public static String contentHash(String documentReference) {
+        return documentReference.startsWith(REFERENCE_PREFIX) ? documentReference.substring(REFERENCE_PREFIX.length()) : documentReference;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bufalari.supplier.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position (name, id) of the last supplier returned in a page, exchanged with clients as an opaque token.
+ * Posição keyset (name, id) do último fornecedor retornado numa página, trocada com clientes como token opaco.
+ */
+record SupplierPageCursor(String name, UUID id) {
+
+    private static final int UUID_LENGTH = 36;
+
+    /**
+     * Encodes this cursor as a URL-safe token.
+     * Codifica este cursor como um token seguro para URL.
+     */
+    String encode() {
+        String raw = id + name; // UUID tem tamanho fixo, o nome vem logo depois
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * Decodifica um token produzido por {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed. / se o token for inválido.
+     */
+    static SupplierPageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.length() < UUID_LENGTH) {
+                throw new IllegalArgumentException("token too short");
+            }
+            return new SupplierPageCursor(raw.substring(UUID_LENGTH), UUID.fromString(raw.substring(0, UUID_LENGTH)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token / Token de página inválido", e);
+        }
+    }
+}
@@ -0,0 +1,588 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.entity.AddressEmbeddable;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over supplier name, trade name and business identification number.
+ * <p>
+ * Text is folded to lower case without accents ("São João" and "sao joao" are the same key). Every word is indexed
+ * by its trigrams plus two padded prefix grams, so one- and two-letter queries match word prefixes and longer
+ * queries match anywhere in a word. Business IDs are also indexed with punctuation removed, so "12.345" and "12345"
+ * both find "12.345.678/0001-99". Queries that enough names start with are answered from a sorted name map in
+ * O(log n + limit); other queries intersect the posting lists of their grams and rank the verified candidates.
+ * No database access happens on the search path.
+ * <p>
+ * The index is built at startup, kept current by {@link SupplierService} and the bulk import after each commit, and
+ * rebuilt periodically so writes made by other instances are picked up.
+ * <p>
+ * Índice em memória para busca incremental (typeahead) por nome, nome fantasia e Business ID do fornecedor.
+ * O texto é normalizado para minúsculas sem acentos; cada palavra é indexada por trigramas e prefixos, e Business
+ * IDs também sem pontuação. É construído na inicialização, atualizado após cada commit e reconstruído periodicamente.
+ */
+@Component
+public class SupplierSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierSearchIndex.class);
+
+    /** Maximum results per search. / Máximo de resultados por busca. */
+    public static final int MAX_LIMIT = 50;
+
+    /** Prefix that keeps business ID grams apart from name grams. / Prefixo que separa gramas de Business ID dos de nome. */
+    private static final char BUSINESS_ID_NAMESPACE = '#';
+
+    /** Best first: higher score, then name, then ID. / Melhor primeiro: maior score, depois nome, depois ID. */
+    private static final Comparator<Scored> RANKING = (a, b) -> {
+        int byScore = Integer.compare(b.score(), a.score());
+        if (byScore != 0) {
+            return byScore;
+        }
+        int byName = a.doc().nameKey().compareTo(b.doc().nameKey());
+        return byName != 0 ? byName : a.doc().summary().getId().compareTo(b.doc().summary().getId());
+    };
+
+    /** Separates a key from the ID in the sorted maps. / Separa a chave do ID nos mapas ordenados. */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    /** An indexed supplier with its folded keys. / Um fornecedor indexado com suas chaves normalizadas. */
+    private record Doc(SupplierSummaryDTO summary, String nameKey, String tradeNameKey, String businessIdKey) {
+    }
+
+    private record Scored(Doc doc, int score) {
+    }
+
+    /** Growable list of document slots. / Lista expansível de slots de documentos. */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+
+    /** Mutable index state, guarded by {@link #lock}. / Estado mutável do índice, protegido por {@link #lock}. */
+    private static final class State {
+        final List<Doc> docs = new ArrayList<>();
+        final Map<UUID, Integer> slotById = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+        /** nameKey + separator + id, alphabetical: name prefix queries are a range scan. */
+        final TreeMap<String, Integer> byName = new TreeMap<>();
+        /** tradeNameKey + separator + id, for exact trade name matches. */
+        final TreeMap<String, Integer> byTradeName = new TreeMap<>();
+        int dead;
+
+        void put(Doc doc) {
+            remove(doc.summary().getId());
+            int slot = docs.size();
+            docs.add(doc);
+            slotById.put(doc.summary().getId(), slot);
+            byName.put(sortKey(doc.nameKey(), doc), slot);
+            byTradeName.put(sortKey(doc.tradeNameKey(), doc), slot);
+            Set<String> grams = new HashSet<>();
+            addWordGrams(doc.nameKey(), "", grams);
+            addWordGrams(doc.tradeNameKey(), "", grams);
+            addWordGrams(doc.businessIdKey(), String.valueOf(BUSINESS_ID_NAMESPACE), grams);
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+        }
+
+        void remove(UUID id) {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                Doc doc = docs.set(slot, null); // as listas de postings ignoram slots vazios até a próxima compactação
+                byName.remove(sortKey(doc.nameKey(), doc));
+                byTradeName.remove(sortKey(doc.tradeNameKey(), doc));
+                dead++;
+            }
+        }
+
+        int live() {
+            return slotById.size();
+        }
+
+        private static String sortKey(String key, Doc doc) {
+            return key + KEY_SEPARATOR + doc.summary().getId();
+        }
+    }
+
+    private final SupplierRepository supplierRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Guards {@link #changesDuringRebuild}; a Lock, not a monitor, so virtual threads are not pinned. */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Timer searchTimer;
+    private State state = new State();
+    /** Changes seen while a rebuild reads the database; replayed before the new state is published. */
+    private List<Runnable> changesDuringRebuild;
+
+    public SupplierSearchIndex(SupplierRepository supplierRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.supplierRepository = supplierRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.searchTimer = Timer.builder("supplier.search")
+                .description("Typeahead search latency (in-memory index)")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("supplier.search.index.size", this, SupplierSearchIndex::size)
+                .description("Suppliers in the typeahead index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the index when the application is ready, and again periodically to pick up writes from other instances.
+     * Constrói o índice quando a aplicação está pronta e periodicamente para capturar escritas de outras instâncias.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${supplier.search.rebuild-interval:PT15M}", fixedDelayString = "${supplier.search.rebuild-interval:PT15M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        rebuildLock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            rebuildLock.unlock();
+        }
+        State fresh = new State();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<SupplierSummaryDTO> summaries = supplierRepository.streamAllSummaries()) {
+                    summaries.forEach(summary -> fresh.put(toDoc(summary)));
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuildLock.lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                rebuildLock.unlock();
+            }
+            log.error("Supplier search index rebuild failed; keeping the current index: {}", e.getMessage(), e);
+            return;
+        }
+        lock.writeLock().lock();
+        rebuildLock.lock();
+        try {
+            State previous = state;
+            state = fresh;
+            changesDuringRebuild.forEach(Runnable::run);
+            changesDuringRebuild = null;
+            log.info("Supplier search index rebuilt with {} suppliers in {} ms (previously {}).",
+                    fresh.live(), (System.nanoTime() - start) / 1_000_000, previous.live());
+        } finally {
+            rebuildLock.unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) a supplier once the current transaction commits, or immediately outside a transaction.
+     * Indexa (ou reindexa) um fornecedor após o commit da transação atual, ou imediatamente fora de transação.
+     */
+    public void index(SupplierEntity entity) {
+        AddressEmbeddable address = entity.getAddress();
+        SupplierSummaryDTO summary = new SupplierSummaryDTO(entity.getId(), entity.getName(), entity.getTradeName(),
+                entity.getBusinessIdentificationNumber(), entity.getCategory(),
+                address != null ? address.getCity() : null,
+                address != null ? address.getProvince() : null,
+                address != null ? address.getCountry() : null);
+        Doc doc = toDoc(summary);
+        afterCommit(() -> state.put(doc));
+    }
+
+    /**
+     * Removes a supplier once the current transaction commits, or immediately outside a transaction.
+     * Remove um fornecedor após o commit da transação atual, ou imediatamente fora de transação.
+     */
+    public void remove(UUID id) {
+        afterCommit(() -> state.remove(id));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        rebuildLock.lock();
+        try {
+            change.run();
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+            compactIfNeeded();
+        } finally {
+            rebuildLock.unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Rebuilds posting lists in memory once removed slots outnumber live ones. / Compacta quando há mais slots removidos que vivos. */
+    private void compactIfNeeded() {
+        State current = state;
+        if (current.dead < 1024 || current.dead < current.live()) {
+            return;
+        }
+        State compacted = new State();
+        current.docs.forEach(doc -> {
+            if (doc != null) {
+                compacted.put(doc);
+            }
+        });
+        state = compacted;
+        log.debug("Supplier search index compacted: {} live, {} removed slots dropped.", compacted.live(), current.dead);
+    }
+
+    /** Number of indexed suppliers. / Número de fornecedores indexados. */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches suppliers whose name or trade name contains every word of the query (words of one or two letters
+     * must start a word), or whose business ID contains the query's letters and digits. Results are ranked: exact
+     * match, then prefix of the whole field, then all words as word prefixes, then substrings; name before trade
+     * name; ties in alphabetical order.
+     * Busca fornecedores cujo nome ou nome fantasia contém todas as palavras da consulta, ou cujo Business ID contém
+     * seus dígitos e letras, ordenados por relevância.
+     *
+     * @param query Free text typed by the user. / Texto digitado pelo usuário.
+     * @param limit Maximum number of results (1-{@value #MAX_LIMIT}). / Número máximo de resultados.
+     * @return Ranked summaries, best first. / Resumos ordenados, o melhor primeiro.
+     */
+    public List<SupplierSummaryDTO> search(String query, int limit) {
+        long start = System.nanoTime();
+        String folded = fold(query);
+        String compact = compactBusinessId(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        String[] words = folded.split(" ");
+        boolean businessIdQuery = compact.chars().anyMatch(Character::isDigit);
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        lock.readLock().lock();
+        try {
+            State current = state;
+            List<Scored> ranked = businessIdQuery ? null : namePrefixMatches(current, folded, max);
+            if (ranked == null) {
+                ranked = scan(current, folded, words, businessIdQuery ? compact : null, max);
+            }
+            List<SupplierSummaryDTO> results = new ArrayList<>(ranked.size());
+            ranked.forEach(s -> results.add(s.doc().summary().toBuilder().build()));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+            searchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Fast path: when at least {@code max} names start with the query, the top results are exactly the exact name
+     * matches, the exact trade name matches and then the name prefix matches in alphabetical order, because every
+     * other kind of match ranks lower. Returns null when there are not enough such matches.
+     * Caminho rápido: quando pelo menos {@code max} nomes começam com a consulta, os melhores resultados saem do mapa
+     * ordenado sem varrer candidatos. Retorna null quando não há correspondências suficientes.
+     */
+    private static List<Scored> namePrefixMatches(State current, String folded, int max) {
+        SortedMap<String, Integer> prefixRange = current.byName.subMap(folded, folded + Character.MAX_VALUE);
+        List<Scored> ranked = new ArrayList<>(max);
+        Set<Integer> taken = new HashSet<>();
+        Iterator<Integer> names = prefixRange.values().iterator();
+        Scored pending = null;
+        while (names.hasNext() && ranked.size() < max) {
+            Doc doc = current.docs.get(names.next());
+            if (!doc.nameKey().equals(folded)) {
+                pending = new Scored(doc, 85);
+                break;
+            }
+            ranked.add(new Scored(doc, 105));
+            taken.add(current.slotById.get(doc.summary().getId()));
+        }
+        List<Scored> tradeExact = new ArrayList<>();
+        for (int slot : current.byTradeName.subMap(folded + KEY_SEPARATOR, folded + (char) (KEY_SEPARATOR + 1)).values()) {
+            if (!taken.contains(slot)) {
+                tradeExact.add(new Scored(current.docs.get(slot), 100));
+                taken.add(slot);
+            }
+        }
+        tradeExact.sort(RANKING);
+        for (Scored scored : tradeExact) {
+            if (ranked.size() < max) {
+                ranked.add(scored);
+            }
+        }
+        if (pending != null && ranked.size() < max && !taken.contains(current.slotById.get(pending.doc().summary().getId()))) {
+            ranked.add(pending);
+        }
+        while (names.hasNext() && ranked.size() < max) {
+            int slot = names.next();
+            if (!taken.contains(slot)) {
+                ranked.add(new Scored(current.docs.get(slot), 85));
+            }
+        }
+        return ranked.size() < max ? null : ranked;
+    }
+
+    /** General path: intersect gram postings, verify and rank the candidates. / Caminho geral: intersecta, verifica e ordena. */
+    private static List<Scored> scan(State current, String folded, String[] words, String compact, int max) {
+        PriorityQueue<Scored> top = new PriorityQueue<>(max + 1, RANKING.reversed());
+        BitSet seen = new BitSet(current.docs.size());
+        int[] candidates = intersect(current, words, "");
+        for (int slot : candidates) {
+            Doc doc = current.docs.get(slot);
+            int score = doc != null ? scoreName(doc, folded, words) : 0;
+            if (score > 0) {
+                seen.set(slot);
+                offer(top, doc, score, max);
+            }
+        }
+        if (compact != null) {
+            for (int slot : intersect(current, new String[]{compact}, String.valueOf(BUSINESS_ID_NAMESPACE))) {
+                Doc doc = current.docs.get(slot);
+                if (doc != null && !seen.get(slot)) {
+                    offer(top, doc, scoreBusinessId(doc, compact), max);
+                }
+            }
+        }
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    private static void offer(PriorityQueue<Scored> top, Doc doc, int score, int max) {
+        if (score <= 0) {
+            return;
+        }
+        if (top.size() == max) {
+            Scored worst = top.peek();
+            if (score < worst.score() || (score == worst.score() && doc.nameKey().compareTo(worst.doc().nameKey()) > 0)) {
+                return; // não entra no top sem alocar
+            }
+        }
+        top.offer(new Scored(doc, score));
+        if (top.size() > max) {
+            top.poll(); // remove o pior
+        }
+    }
+
+    /** Slots present in the posting lists of every gram of the query words; empty if any gram is unknown. */
+    private static int[] intersect(State current, String[] words, String namespace) {
+        List<Postings> lists = new ArrayList<>();
+        for (String word : words) {
+            for (String gram : queryGrams(word, namespace)) {
+                Postings postings = current.postings.get(gram);
+                if (postings == null) {
+                    return new int[0];
+                }
+                lists.add(postings);
+            }
+        }
+        lists.sort(Comparator.comparingInt(p -> p.size));
+        // As listas estão ordenadas por slot (slots só crescem), então a interseção usa busca binária
+        Postings smallest = lists.get(0);
+        int[] result = Arrays.copyOf(smallest.slots, smallest.size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            Postings other = lists.get(l);
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                int at = Arrays.binarySearch(other.slots, from, other.size, result[i]);
+                if (at >= 0) {
+                    result[kept++] = result[i];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            size = kept;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static int scoreName(Doc doc, String folded, String[] words) {
+        int name = scoreField(doc.nameKey(), folded, words);
+        int tradeName = scoreField(doc.tradeNameKey(), folded, words);
+        if (name > 0 || tradeName > 0) {
+            return Math.max(name + 5, tradeName);
+        }
+        // Palavras divididas entre nome e nome fantasia
+        String both = doc.nameKey() + " " + doc.tradeNameKey();
+        return matchesAll(both, words) ? 10 : 0;
+    }
+
+    private static int scoreField(String key, String folded, String[] words) {
+        if (key.isEmpty()) {
+            return 0;
+        }
+        if (key.equals(folded)) {
+            return 100;
+        }
+        if (key.startsWith(folded)) {
+            return 80;
+        }
+        if (!matchesAll(key, words)) {
+            return 0;
+        }
+        for (String word : words) {
+            if (!startsWord(key, word)) {
+                return 40;
+            }
+        }
+        return 60;
+    }
+
+    private static int scoreBusinessId(Doc doc, String compact) {
+        String key = doc.businessIdKey();
+        if (key.equals(compact)) {
+            return 110;
+        }
+        if (key.startsWith(compact)) {
+            return 90;
+        }
+        return compact.length() >= 3 && key.contains(compact) ? 50 : 0;
+    }
+
+    private static boolean matchesAll(String key, String[] words) {
+        for (String word : words) {
+            if (word.length() < 3 ? !startsWord(key, word) : !key.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWord(String key, String word) {
+        int from = 0;
+        while (true) {
+            int at = key.indexOf(word, from);
+            if (at < 0) {
+                return false;
+            }
+            if (at == 0 || key.charAt(at - 1) == ' ') {
+                return true;
+            }
+            from = at + 1;
+        }
+    }
+
+    private static Doc toDoc(SupplierSummaryDTO summary) {
+        return new Doc(summary, fold(summary.getName()), fold(summary.getTradeName()),
+                compactBusinessId(summary.getBusinessIdentificationNumber()));
+    }
+
+    /** Indexed grams of every word: "  a", " ab" and all trigrams. / Gramas indexados de cada palavra. */
+    private static void addWordGrams(String key, String namespace, Set<String> grams) {
+        if (key.isEmpty()) {
+            return;
+        }
+        for (String word : key.split(" ")) {
+            String padded = "  " + word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(namespace + padded.substring(i, i + 3));
+            }
+        }
+    }
+
+    /** Grams a query word must have: its padded prefix when shorter than 3, otherwise its trigrams. */
+    private static List<String> queryGrams(String word, String namespace) {
+        if (word.length() < 3) {
+            String padded = "  " + word;
+            return List.of(namespace + padded.substring(padded.length() - 3));
+        }
+        List<String> grams = new ArrayList<>(word.length() - 2);
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            grams.add(namespace + word.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Folds text for matching: accents removed, lower case, anything but letters and digits becomes a single space.
+     * Normaliza texto para comparação: sem acentos, minúsculas, e o que não for letra ou dígito vira um espaço.
+     */
+    static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                folded.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                folded.append(' ');
+                space = true;
+            }
+        }
+        int end = folded.length();
+        return end > 0 && folded.charAt(end - 1) == ' ' ? folded.substring(0, end - 1) : folded.toString();
+    }
+
+    /** Business ID with only letters and digits, lower case. / Business ID só com letras e dígitos, em minúsculas. */
+    static String compactBusinessId(String businessId) {
+        return fold(businessId).replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,24 +3,53 @@ package com.bufalari.supplier.service;
 // import com.bufalari.supplier.client.AccountsPayableClient; // Descomentar quando for usar
 import com.bufalari.supplier.converter.AddressConverter;
 import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
 import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierPageDTO;
+import com.bufalari.supplier.dto.SupplierStatisticsDTO;
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.dto.SupplierSummaryPageDTO;
 import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.entity.SupplierTombstoneEntity;
 import com.bufalari.supplier.exception.OperationNotAllowedException;
+import com.bufalari.supplier.exception.PreconditionFailedException;
 import com.bufalari.supplier.exception.ResourceAlreadyExistsException;
 import com.bufalari.supplier.exception.ResourceNotFoundException;
 import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.repository.SupplierSpecifications;
+import com.bufalari.supplier.repository.SupplierTombstoneRepository;
 // import feign.FeignException; // Descomentar quando for usar AccountsPayableClient
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID; // <<<--- IMPORT UUID
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing Supplier entities.
@@ -35,9 +64,19 @@ public class SupplierService {
 
     private static final Logger log = LoggerFactory.getLogger(SupplierService.class);
 
+    /** Upper bound for a single listing page. / Limite superior para uma página de listagem. */
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final SupplierRepository supplierRepository;
+    private final SupplierTombstoneRepository supplierTombstoneRepository;
     private final SupplierConverter supplierConverter;
     private final AddressConverter addressConverter;
+    private final EntityManager entityManager;
+    private final SupplierCache supplierCache;
+    private final SupplierSearchIndex supplierSearchIndex;
+    private final SupplierStatistics supplierStatistics;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     // private final AccountsPayableClient accountsPayableClient; // Para verificação de dependências
 
     public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
@@ -46,24 +85,44 @@ public class SupplierService {
             log.warn("ID {} provided for new supplier creation will be ignored.", supplierDTO.getId());
             supplierDTO.setId(null); // Garantir que o ID seja gerado pelo banco/JPA
         }
-        if (supplierRepository.existsByBusinessIdentificationNumber(supplierDTO.getBusinessIdentificationNumber())) {
+        // Duplicidade pela forma canônica: "12.345.678/0001-99" e "12345678000199" são o mesmo fornecedor
+        String normalizedBusinessId = BusinessIdentificationNumbers.normalize(supplierDTO.getBusinessIdentificationNumber());
+        if (supplierRepository.existsByNormalizedBusinessId(normalizedBusinessId)) {
             String errorMessage = "Supplier with Business ID '" + supplierDTO.getBusinessIdentificationNumber() + "' already exists.";
             log.warn("Supplier creation failed: {}", errorMessage);
             throw new ResourceAlreadyExistsException(errorMessage);
         }
 
         SupplierEntity entity = supplierConverter.dtoToEntity(supplierDTO);
+        entity.setNormalizedBusinessId(normalizedBusinessId);
         // O conversor já lida com Address. ID será gerado.
         SupplierEntity savedEntity = supplierRepository.save(entity);
+        supplierSearchIndex.index(savedEntity);
+        supplierStatistics.created(savedEntity);
         log.info("Supplier created successfully with ID: {}", savedEntity.getId());
         return supplierConverter.entityToDTO(savedEntity);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Returns a supplier by ID through the local SupplierCache. Runs without its own transaction so that cache hits
+     * do not check out a database connection; misses load the supplier (with document references) in one query.
+     * Retorna um fornecedor pelo ID através do SupplierCache local. Roda sem transação própria para que hits no
+     * cache não obtenham conexão com o banco; misses carregam o fornecedor (com referências) numa única query.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public SupplierDTO getSupplierById(UUID id) { // <<<--- ID é UUID
+        return getVersionedSupplierById(id).supplier();
+    }
+
+    /**
+     * Same as {@link #getSupplierById(UUID)}, also returning the lastModifiedAt used for ETag/Last-Modified.
+     * Igual a {@link #getSupplierById(UUID)}, retornando também o lastModifiedAt usado para ETag/Last-Modified.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public SupplierCache.VersionedSupplier getVersionedSupplierById(UUID id) {
         log.debug("Fetching supplier by ID: {}", id);
-        return supplierRepository.findById(id)
-                .map(supplierConverter::entityToDTO)
+        return supplierCache.get(id, supplierId -> supplierRepository.findById(supplierId)
+                        .map(entity -> new SupplierCache.VersionedSupplier(supplierConverter.entityToDTO(entity), entity.getLastModifiedAt())))
                 .orElseThrow(() -> {
                     String errorMessage = "Supplier not found with ID: " + id;
                     log.warn("Supplier retrieval failed: {}", errorMessage);
@@ -71,31 +130,314 @@ public class SupplierService {
                 });
     }
 
+    /**
+     * Returns only the current lastModifiedAt of a supplier, from a fresh cache entry or a primary key probe.
+     * Used to answer conditional GETs without loading or converting the supplier.
+     * Retorna apenas o lastModifiedAt atual de um fornecedor, de uma entrada recente do cache ou de uma busca por PK.
+     * Usado para responder GETs condicionais sem carregar ou converter o fornecedor.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public LocalDateTime getSupplierVersion(UUID id) {
+        return supplierCache.peekFreshVersion(id)
+                .or(() -> supplierRepository.findLastModifiedAtById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + id));
+    }
+
+    /**
+     * Looks up many suppliers at once: one IN query per key type (IDs, business IDs), each fetching document
+     * references in the same round trip. Suppliers matched by both keys are returned once. Business IDs match
+     * whatever their punctuation; a business ID is reported as not found in the form it was requested.
+     * Busca vários fornecedores de uma vez: uma query IN por tipo de chave (IDs, business IDs), cada uma trazendo as
+     * referências de documentos na mesma ida ao banco. Fornecedores encontrados pelas duas chaves aparecem uma vez.
+     * Business IDs casam independentemente da pontuação; os não encontrados são informados como foram pedidos.
+     */
+    @Transactional(readOnly = true)
+    public SupplierBatchResultDTO getSuppliersBatch(SupplierBatchRequestDTO request) {
+        Set<UUID> ids = request.getIds() != null ? new LinkedHashSet<>(request.getIds()) : Set.of();
+        Set<String> businessIds = request.getBusinessIdentificationNumbers() != null
+                ? new LinkedHashSet<>(request.getBusinessIdentificationNumbers()) : Set.of();
+        log.debug("Fetching suppliers batch: {} IDs, {} business IDs", ids.size(), businessIds.size());
+
+        Map<UUID, SupplierEntity> found = new LinkedHashMap<>();
+        if (!ids.isEmpty()) {
+            supplierRepository.findAllWithDocumentsByIdIn(ids).forEach(e -> found.put(e.getId(), e));
+        }
+        Set<String> normalizedBusinessIds = businessIds.stream()
+                .map(BusinessIdentificationNumbers::normalize)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> foundBusinessIds = new HashSet<>();
+        if (!normalizedBusinessIds.isEmpty()) {
+            supplierRepository.findAllWithDocumentsByNormalizedBusinessIdIn(normalizedBusinessIds).forEach(e -> {
+                found.putIfAbsent(e.getId(), e);
+                foundBusinessIds.add(e.getNormalizedBusinessId());
+            });
+        }
+        return SupplierBatchResultDTO.builder()
+                .suppliers(found.values().stream().map(supplierConverter::entityToDTO).collect(Collectors.toList()))
+                .notFoundIds(ids.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList()))
+                .notFoundBusinessIdentificationNumbers(businessIds.stream()
+                        .filter(b -> !foundBusinessIds.contains(BusinessIdentificationNumbers.normalize(b)))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * Lists suppliers one keyset page at a time, ordered by (name, id), with optional filters.
+     * The cost of a page does not depend on how deep it is: the previous page's last (name, id) is
+     * turned into a range predicate instead of an OFFSET.
+     * Lista fornecedores uma página keyset por vez, ordenados por (name, id), com filtros opcionais.
+     * O custo de uma página não depende da profundidade: o último (name, id) da página anterior vira
+     * um predicado de intervalo em vez de um OFFSET.
+     *
+     * @param category   Optional exact category. / Categoria exata opcional.
+     * @param city       Optional exact address city. / Cidade opcional.
+     * @param province   Optional exact address province/state. / Província/estado opcional.
+     * @param namePrefix Optional prefix of the legal name. / Prefixo opcional do nome.
+     * @param pageToken  Token returned by the previous page, or null for the first page. / Token da página anterior.
+     * @param size       Requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}]. / Tamanho da página.
+     */
+    @Transactional(readOnly = true)
+    public SupplierPageDTO getAllSuppliers(String category, String city, String province,
+                                           String namePrefix, String pageToken, int size) {
+        return getAllSuppliers(category, city, province, namePrefix, pageToken, size, null).page();
+    }
+
+    /**
+     * A listing page together with its strong ETag; {@code page} is null when the client's ETag still matches.
+     * Uma página da listagem com seu ETag forte; {@code page} é null quando o ETag do cliente ainda corresponde.
+     */
+    public record SupplierPageResult(SupplierPageDTO page, String etag) {
+        public boolean notModified() {
+            return page == null;
+        }
+    }
+
+    /**
+     * Conditional variant of the listing: the ETag is computed from the (id, lastModifiedAt) of the page rows before
+     * any conversion, and when it matches {@code ifNoneMatch} the rows are neither converted nor have their document
+     * references loaded.
+     * Variante condicional da listagem: o ETag é calculado a partir de (id, lastModifiedAt) das linhas da página antes
+     * de qualquer conversão e, quando corresponde a {@code ifNoneMatch}, as linhas não são convertidas nem têm suas
+     * referências de documentos carregadas.
+     */
+    @Transactional(readOnly = true)
+    public SupplierPageResult getAllSuppliers(String category, String city, String province,
+                                              String namePrefix, String pageToken, int size, String ifNoneMatch) {
+        int pageSize = clampPageSize(size);
+        SupplierPageCursor after = decodePageToken(pageToken);
+        log.debug("Fetching suppliers page: size={}, category={}, city={}, province={}, namePrefix={}, after={}",
+                pageSize, category, city, province, namePrefix, after);
+
+        // Busca uma linha a mais para saber se existe próxima página sem COUNT(*)
+        List<SupplierEntity> rows = supplierRepository.findBy(
+                SupplierSpecifications.listing(category, city, province, namePrefix,
+                        after != null ? after.name() : null, after != null ? after.id() : null),
+                q -> q.sortBy(SupplierSpecifications.KEYSET_SORT).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SupplierEntity> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextPageToken = hasNext ? nextPageToken(page.get(page.size() - 1).getName(), page.get(page.size() - 1).getId()) : null;
+
+        SupplierVersions.ListETag listETag = new SupplierVersions.ListETag(String.valueOf(nextPageToken));
+        page.forEach(e -> listETag.add(e.getId(), e.getLastModifiedAt()));
+        String etag = listETag.build();
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return new SupplierPageResult(null, etag);
+        }
+
+        // documentReferences de toda a página são inicializadas numa única query (@BatchSize)
+        return new SupplierPageResult(SupplierPageDTO.builder()
+                .content(page.stream().map(supplierConverter::entityToDTO).collect(Collectors.toList()))
+                .nextPageToken(nextPageToken)
+                .size(pageSize)
+                .build(), etag);
+    }
+
+    /**
+     * Typeahead search over name, trade name and business ID, served from the in-memory SupplierSearchIndex.
+     * Busca incremental por nome, nome fantasia e Business ID, atendida pelo SupplierSearchIndex em memória.
+     *
+     * @param query Text typed by the user (accents and case are ignored). / Texto digitado (acentos e caixa ignorados).
+     * @param limit Maximum number of results. / Número máximo de resultados.
+     * @return Ranked supplier summaries. / Resumos de fornecedores ordenados por relevância.
+     */
+    public List<SupplierSummaryDTO> searchSuppliers(String query, int limit) {
+        log.debug("Searching suppliers: query='{}', limit={}", query, limit);
+        return supplierSearchIndex.search(query, limit);
+    }
+
+    /**
+     * Supplier counts per category, province and country and suppliers added this month, from the incrementally
+     * maintained SupplierStatistics; no database access.
+     * Contagens de fornecedores por categoria, província e país e fornecedores criados no mês, do SupplierStatistics
+     * mantido incrementalmente; sem acesso ao banco.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Não abre transação nem obtém conexão
+    public SupplierStatisticsDTO getStatistics() {
+        return supplierStatistics.snapshot();
+    }
+
+    /**
+     * Same listing as {@link #getAllSuppliers}, but selects only the summary columns in a single query;
+     * document references, contacts and bank data are never loaded.
+     * Mesma listagem de {@link #getAllSuppliers}, mas seleciona apenas as colunas de resumo numa única query;
+     * referências de documentos, contatos e dados bancários nunca são carregados.
+     */
+    @Transactional(readOnly = true)
+    public SupplierSummaryPageDTO getSupplierSummaries(String category, String city, String province,
+                                                       String namePrefix, String pageToken, int size) {
+        int pageSize = clampPageSize(size);
+        SupplierPageCursor after = decodePageToken(pageToken);
+        log.debug("Fetching supplier summaries page: size={}, category={}, city={}, province={}, namePrefix={}, after={}",
+                pageSize, category, city, province, namePrefix, after);
+
+        List<SupplierSummaryDTO> rows = supplierRepository.findSummaries(
+                SupplierSpecifications.listing(category, city, province, namePrefix,
+                        after != null ? after.name() : null, after != null ? after.id() : null),
+                pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SupplierSummaryDTO> page = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        return SupplierSummaryPageDTO.builder()
+                .content(page)
+                .nextPageToken(hasNext ? nextPageToken(page.get(page.size() - 1).getName(), page.get(page.size() - 1).getId()) : null)
+                .size(pageSize)
+                .build();
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static SupplierPageCursor decodePageToken(String pageToken) {
+        return (pageToken == null || pageToken.isBlank()) ? null : SupplierPageCursor.decode(pageToken);
+    }
+
+    private static String nextPageToken(String lastName, UUID lastId) {
+        return new SupplierPageCursor(lastName, lastId).encode();
+    }
+
+    /**
+     * Streams every supplier, ordered by (name, id), to the given sink without materialising the catalogue.
+     * Rows are converted in chunks of {@link SupplierRepository#EXPORT_FETCH_SIZE}: the document references of a
+     * chunk are initialised with one batch query and the persistence context is cleared before the next chunk,
+     * so heap use stays flat regardless of table size.
+     * Faz stream de todos os fornecedores, ordenados por (name, id), para o consumidor informado sem
+     * materializar o catálogo. As linhas são convertidas em blocos: as referências de documentos de um bloco
+     * são inicializadas com uma query em lote e o contexto de persistência é limpo antes do próximo bloco.
+     *
+     * @param sink Receives each supplier as soon as its chunk is read. / Recebe cada fornecedor assim que seu bloco é lido.
+     * @return Number of suppliers exported. / Número de fornecedores exportados.
+     */
     @Transactional(readOnly = true)
-    public List<SupplierDTO> getAllSuppliers() {
-        log.debug("Fetching all suppliers.");
-        List<SupplierEntity> suppliers = supplierRepository.findAll();
-        return suppliers.stream()
-                .map(supplierConverter::entityToDTO)
-                .collect(Collectors.toList());
+    public long exportSuppliers(Consumer<SupplierDTO> sink) {
+        log.info("Starting supplier export.");
+        long count = 0;
+        List<SupplierEntity> chunk = new ArrayList<>(SupplierRepository.EXPORT_FETCH_SIZE);
+        try (Stream<SupplierEntity> suppliers = supplierRepository.streamAllForExport()) {
+            Iterator<SupplierEntity> iterator = suppliers.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == SupplierRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    List<SupplierDTO> dtos = chunk.stream().map(supplierConverter::entityToDTO).collect(Collectors.toList());
+                    chunk.clear();
+                    entityManager.clear(); // Entidades já convertidas; libera o contexto de persistência
+                    dtos.forEach(sink);
+                    count += dtos.size();
+                }
+            }
+        }
+        log.info("Supplier export finished: {} suppliers.", count);
+        return count;
     }
 
     public SupplierDTO updateSupplier(UUID id, SupplierDTO supplierDTO) { // <<<--- ID é UUID
+        return updateSupplier(id, supplierDTO, null).supplier();
+    }
+
+    /**
+     * Updates a supplier, optionally only if its current ETag matches {@code ifMatch} (optimistic concurrency).
+     * With If-Match the row is locked (SELECT ... FOR UPDATE) so the check and the write are atomic.
+     * Atualiza um fornecedor, opcionalmente apenas se o ETag atual corresponder a {@code ifMatch} (concorrência otimista).
+     * Com If-Match a linha é bloqueada (SELECT ... FOR UPDATE) para que a verificação e a escrita sejam atômicas.
+     *
+     * @return The updated supplier and its new version. / O fornecedor atualizado e sua nova versão.
+     * @throws PreconditionFailedException if {@code ifMatch} does not match. / se {@code ifMatch} não corresponder.
+     */
+    public SupplierCache.VersionedSupplier updateSupplier(UUID id, SupplierDTO supplierDTO, String ifMatch) {
         log.info("Attempting to update supplier with ID: {}", id);
-        SupplierEntity existingSupplier = supplierRepository.findById(id)
+        return applyUpdate(loadForUpdate(id, ifMatch), supplierDTO);
+    }
+
+    /**
+     * Applies a JSON Merge Patch (RFC 7396) to a supplier: only members present in the patch change, null removes
+     * a value, and documentReferences, if present, is the new full set (applied as row inserts/deletes).
+     * The patched supplier is validated like a PUT body; columns that did not change are not written.
+     * Aplica um JSON Merge Patch (RFC 7396) a um fornecedor: só os membros presentes no patch mudam, null remove
+     * um valor, e documentReferences, se presente, é o novo conjunto completo (aplicado como inserts/deletes de linhas).
+     * O fornecedor resultante é validado como um corpo de PUT; colunas não alteradas não são escritas.
+     *
+     * @param mergePatch The patch document (a JSON object). / O documento de patch (um objeto JSON).
+     * @param ifMatch    Optional ETag precondition, as in {@link #updateSupplier(UUID, SupplierDTO, String)}. / Pré-condição ETag opcional.
+     * @throws jakarta.validation.ConstraintViolationException if the patched supplier is invalid. / se o resultado for inválido.
+     */
+    public SupplierCache.VersionedSupplier patchSupplier(UUID id, JsonNode mergePatch, String ifMatch) {
+        log.info("Attempting to patch supplier with ID: {}", id);
+        SupplierEntity existingSupplier = loadForUpdate(id, ifMatch);
+        ObjectNode document = objectMapper.valueToTree(supplierConverter.entityToDTO(existingSupplier));
+        JsonMergePatch.apply(document, mergePatch);
+        SupplierDTO patched;
+        try {
+            patched = objectMapper.treeToValue(document, SupplierDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid merge patch: " + e.getOriginalMessage());
+        }
+        patched.setId(id); // o ID não é alterável por patch
+        Set<ConstraintViolation<SupplierDTO>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return applyUpdate(existingSupplier, patched);
+    }
+
+    private SupplierEntity loadForUpdate(UUID id, String ifMatch) {
+        SupplierEntity existingSupplier = (ifMatch != null ? supplierRepository.findByIdForUpdate(id) : supplierRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + id));
+        if (ifMatch != null && !SupplierVersions.ifMatch(ifMatch, existingSupplier.getLastModifiedAt())) {
+            String errorMessage = "Supplier " + id + " was modified (current ETag " + SupplierVersions.etag(existingSupplier.getLastModifiedAt()) + ").";
+            log.warn("Supplier update rejected: {}", errorMessage);
+            throw new PreconditionFailedException(errorMessage);
+        }
+        return existingSupplier;
+    }
+
+    /**
+     * Copies the target state onto the managed entity. Unchanged values leave Hibernate's dirty check clean
+     * (and @DynamicUpdate keeps them out of the UPDATE); document references are diffed, not replaced.
+     * Copia o estado desejado para a entidade gerenciada. Valores iguais não sujam a entidade (e o @DynamicUpdate
+     * os mantém fora do UPDATE); referências de documentos são comparadas, não substituídas.
+     */
+    private SupplierCache.VersionedSupplier applyUpdate(SupplierEntity existingSupplier, SupplierDTO supplierDTO) {
+        UUID id = existingSupplier.getId();
+        SupplierDTO before = supplierConverter.entityToDTO(existingSupplier);
+        SupplierStatistics.Facts previousFacts = SupplierStatistics.Facts.of(existingSupplier);
 
-        // Valida se o Business ID está sendo alterado para um que já existe por outro fornecedor
+        // Valida se o Business ID está sendo alterado para um que já existe por outro fornecedor (pela forma canônica)
         String newBusinessId = supplierDTO.getBusinessIdentificationNumber();
         if (!Objects.equals(existingSupplier.getBusinessIdentificationNumber(), newBusinessId)) {
-            supplierRepository.findByBusinessIdentificationNumber(newBusinessId).ifPresent(otherSupplier -> {
-                if (!otherSupplier.getId().equals(existingSupplier.getId())) {
-                    String errorMessage = "Supplier with Business ID '" + newBusinessId + "' already exists (ID: " + otherSupplier.getId() + "). Cannot update.";
-                    log.warn("Supplier update failed: {}", errorMessage);
-                    throw new ResourceAlreadyExistsException(errorMessage);
-                }
-            });
+            String newNormalizedBusinessId = BusinessIdentificationNumbers.normalize(newBusinessId);
+            if (!Objects.equals(existingSupplier.getNormalizedBusinessId(), newNormalizedBusinessId)) {
+                supplierRepository.findByNormalizedBusinessId(newNormalizedBusinessId).ifPresent(otherSupplier -> {
+                    if (!otherSupplier.getId().equals(existingSupplier.getId())) {
+                        String errorMessage = "Supplier with Business ID '" + newBusinessId + "' already exists (ID: " + otherSupplier.getId() + "). Cannot update.";
+                        log.warn("Supplier update failed: {}", errorMessage);
+                        throw new ResourceAlreadyExistsException(errorMessage);
+                    }
+                });
+            }
             existingSupplier.setBusinessIdentificationNumber(newBusinessId);
+            existingSupplier.setNormalizedBusinessId(newNormalizedBusinessId);
         }
 
         existingSupplier.setName(supplierDTO.getName());
@@ -112,21 +454,66 @@ public class SupplierService {
         existingSupplier.setBankName(supplierDTO.getBankName());
         existingSupplier.setBankAgency(supplierDTO.getBankAgency());
         existingSupplier.setBankAccount(supplierDTO.getBankAccount());
-        // Garante que a lista de referências de documentos seja uma nova lista (ou vazia)
-        existingSupplier.setDocumentReferences(supplierDTO.getDocumentReferences() != null ? new ArrayList<>(supplierDTO.getDocumentReferences()) : new ArrayList<>());
+        boolean referencesChanged = syncDocumentReferences(existingSupplier.getDocumentReferences(), supplierDTO.getDocumentReferences());
+        boolean fieldsChanged = !withoutIdAndReferences(before).equals(withoutIdAndReferences(supplierDTO));
 
-        SupplierEntity updatedEntity = supplierRepository.save(existingSupplier);
+        if (!fieldsChanged && !referencesChanged) {
+            log.info("Supplier {} unchanged; nothing written.", id);
+            return new SupplierCache.VersionedSupplier(before, existingSupplier.getLastModifiedAt());
+        }
+        if (!fieldsChanged) {
+            markModified(existingSupplier);
+        }
+        // Flush agora para que o @LastModifiedDate seja aplicado e o novo ETag possa ser retornado
+        SupplierEntity updatedEntity = supplierRepository.saveAndFlush(existingSupplier);
+        supplierCache.evict(id);
+        supplierSearchIndex.index(updatedEntity);
+        supplierStatistics.updated(previousFacts, updatedEntity);
         log.info("Supplier updated successfully with ID: {}", id);
-        return supplierConverter.entityToDTO(updatedEntity);
+        return new SupplierCache.VersionedSupplier(supplierConverter.entityToDTO(updatedEntity), updatedEntity.getLastModifiedAt());
+    }
+
+    /**
+     * Brings the persistent set to {@code desired} by removing and adding single elements, so Hibernate issues one
+     * DELETE or INSERT per changed reference instead of recreating the collection.
+     * Ajusta o conjunto persistente para {@code desired} removendo e adicionando elementos individuais.
+     * @return true if anything changed. / true se algo mudou.
+     */
+    private static boolean syncDocumentReferences(Set<String> current, List<String> desired) {
+        Set<String> target = desired != null ? new LinkedHashSet<>(desired) : Set.of();
+        boolean changed = current.retainAll(target);
+        for (String reference : target) {
+            changed |= current.add(reference);
+        }
+        return changed;
+    }
+
+    /**
+     * Collection-only changes do not dirty the supplier row, so the auditing listener would not advance
+     * lastModifiedAt; the version (ETag/cache) must still move.
+     * Mudanças só na coleção não sujam a linha de suppliers; a versão (ETag/cache) precisa avançar mesmo assim.
+     */
+    private static void markModified(SupplierEntity supplier) {
+        supplier.setLastModifiedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
     }
 
+    private static SupplierDTO withoutIdAndReferences(SupplierDTO dto) {
+        return dto.toBuilder().id(null).documentReferences(null).build();
+    }
+
+    /**
+     * Deletes a supplier and records a tombstone in the same transaction, so delta-sync consumers
+     * (GET /supplier-service/changes) learn about the delete.
+     * Exclui um fornecedor e registra um tombstone na mesma transação, para que consumidores do delta-sync
+     * (GET /supplier-service/changes) saibam da exclusão.
+     */
     public void deleteSupplier(UUID id) { // <<<--- ID é UUID
         log.info("Attempting to delete supplier with ID: {}", id);
-        if (!supplierRepository.existsById(id)) {
-             String errorMessage = "Supplier not found with ID: " + id;
+        SupplierEntity supplier = supplierRepository.findById(id).orElseThrow(() -> {
+            String errorMessage = "Supplier not found with ID: " + id;
             log.warn("Supplier deletion failed: {}", errorMessage);
-            throw new ResourceNotFoundException(errorMessage);
-        }
+            return new ResourceNotFoundException(errorMessage);
+        });
 
         // --- Placeholder for Dependency Checks ---
         // boolean hasDependencies = checkForActiveDependencies(id); // Implement this check later
@@ -136,26 +523,62 @@ public class SupplierService {
         // }
         // --- End of Placeholder ---
 
-        supplierRepository.deleteById(id);
+        SupplierTombstoneEntity tombstone = supplierTombstoneRepository.save(SupplierTombstoneEntity.builder()
+                .supplierId(id)
+                .businessIdentificationNumber(supplier.getBusinessIdentificationNumber())
+                .build());
+        supplierRepository.delete(supplier);
+        supplierCache.evict(id);
+        supplierSearchIndex.remove(id);
+        supplierStatistics.deleted(supplier, tombstone);
         log.info("Supplier deleted successfully with ID: {}", id);
     }
 
-    // TODO: Implementar lógica de gerenciamento de documentos (upload, get, delete reference)
-    // Exemplo de addDocumentReference:
-    /*
-    public void addDocumentReference(UUID supplierId, String documentReference) {
+    /**
+     * Adds a document reference to a supplier, inserting a single row, and advances the supplier's version.
+     * Adiciona uma referência de documento a um fornecedor, inserindo uma única linha, e avança a versão do fornecedor.
+     *
+     * @return true if the reference was added, false if the supplier already had it. / true se foi adicionada, false se já existia.
+     */
+    public boolean addDocumentReference(UUID supplierId, String documentReference) {
         SupplierEntity supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + supplierId));
-        if (supplier.getDocumentReferences() == null) {
-            supplier.setDocumentReferences(new ArrayList<>());
+        if (!supplier.getDocumentReferences().add(documentReference)) {
+            log.debug("Supplier {} already references document '{}'", supplierId, documentReference);
+            return false;
         }
-        if (!supplier.getDocumentReferences().contains(documentReference)) {
-            supplier.getDocumentReferences().add(documentReference);
-            supplierRepository.save(supplier);
-            log.info("Added document reference '{}' to supplier ID {}", documentReference, supplierId);
+        SupplierStatistics.Facts previousFacts = SupplierStatistics.Facts.of(supplier);
+        markModified(supplier);
+        SupplierEntity updatedEntity = supplierRepository.saveAndFlush(supplier);
+        supplierCache.evict(supplierId);
+        supplierSearchIndex.index(updatedEntity);
+        supplierStatistics.updated(previousFacts, updatedEntity);
+        log.info("Added document reference '{}' to supplier ID {}", documentReference, supplierId);
+        return true;
+    }
+
+    /**
+     * Removes a document reference from a supplier, deleting a single row, and advances the supplier's version.
+     * Stored content is kept: it is addressed by hash and may be referenced by other suppliers.
+     * Remove uma referência de documento de um fornecedor, excluindo uma única linha, e avança a versão do fornecedor.
+     * O conteúdo armazenado é mantido: é endereçado por hash e pode ser referenciado por outros fornecedores.
+     *
+     * @throws ResourceNotFoundException if the supplier does not exist or does not have the reference. / se o fornecedor não existir ou não tiver a referência.
+     */
+    public void removeDocumentReference(UUID supplierId, String documentReference) {
+        SupplierEntity supplier = supplierRepository.findById(supplierId)
+                .orElseThrow(() -> new ResourceNotFoundException("Supplier not found with ID: " + supplierId));
+        SupplierStatistics.Facts previousFacts = SupplierStatistics.Facts.of(supplier);
+        if (!supplier.getDocumentReferences().remove(documentReference)) {
+            throw new ResourceNotFoundException("Document reference '" + documentReference + "' not found for supplier ID: " + supplierId);
         }
+        markModified(supplier);
+        SupplierEntity updatedEntity = supplierRepository.saveAndFlush(supplier);
+        supplierCache.evict(supplierId);
+        supplierSearchIndex.index(updatedEntity);
+        supplierStatistics.updated(previousFacts, updatedEntity);
+        log.info("Removed document reference '{}' from supplier ID {}", documentReference, supplierId);
     }
-    */
 
     // Exemplo para checar dependências (adaptar AccountsPayableClient se ele usar UUID para supplierId)
     /*
@@ -0,0 +1,316 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.datasource.ReadRouting;
+import com.bufalari.supplier.dto.SupplierGroupCountDTO;
+import com.bufalari.supplier.dto.SupplierStatisticsDTO;
+import com.bufalari.supplier.entity.AddressEmbeddable;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.entity.SupplierTombstoneEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.repository.SupplierTombstoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Supplier counts per category, province and country, and per creation month, kept in memory so the statistics
+ * endpoint costs O(number of groups) instead of a scan of the suppliers.
+ * <p>
+ * {@link SupplierService} and the bulk import report each create, update and delete after commit: an update
+ * moves the supplier from the groups of its previous values to those of its new ones, so category and address
+ * changes stay counted correctly. Writes made by other instances, and the rare concurrent update of one supplier
+ * applied out of order, are corrected by a periodic reconciliation: one grouped query on the primary replaces the
+ * counts. The same snapshot gives the highest change sequence it contains; since sequences follow commit order,
+ * a write at or below it is already in the result and is not applied again, even when its after-commit step runs
+ * during or after the query, while a write above it is replayed on the result.
+ * <p>
+ * Contagens de fornecedores por categoria, província, país e mês de criação, mantidas em memória para que o
+ * endpoint de estatísticas custe O(número de grupos) e não uma varredura dos fornecedores. Criações, atualizações
+ * e exclusões são aplicadas após o commit (uma atualização move o fornecedor dos grupos antigos para os novos), e
+ * uma reconciliação periódica com uma query agrupada no primário corrige escritas de outras instâncias. A maior
+ * sequência de mudança do mesmo snapshot separa as escritas que a query já contou (não aplicadas de novo) das que
+ * ela não viu (reaplicadas sobre o resultado).
+ */
+@Component
+public class SupplierStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(SupplierStatistics.class);
+
+    /** Highest count first, then by value (null last). / Maior contagem primeiro, depois pelo valor (null por último). */
+    private static final Comparator<SupplierGroupCountDTO> LARGEST_FIRST = Comparator
+            .comparingLong(SupplierGroupCountDTO::getSuppliers).reversed()
+            .thenComparing(SupplierGroupCountDTO::getValue, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * The fields of a supplier that the statistics group by.
+     * Os campos de um fornecedor pelos quais as estatísticas agrupam.
+     */
+    public record Facts(String category, String province, String country, YearMonth createdIn) {
+
+        public static Facts of(SupplierEntity supplier) {
+            AddressEmbeddable address = supplier.getAddress();
+            return new Facts(supplier.getCategory(),
+                    address != null ? address.getProvince() : null,
+                    address != null ? address.getCountry() : null,
+                    supplier.getCreatedAt() != null ? YearMonth.from(supplier.getCreatedAt()) : null);
+        }
+    }
+
+    /**
+     * A write to apply, with its change sequence (null if it has none, e.g. outside a transaction).
+     * Uma escrita a aplicar, com sua sequência de mudança (null se não tiver, ex.: fora de transação).
+     */
+    private record Change(Long sequence, Consumer<Counts> effect) {
+
+        /** Not seen by a snapshot whose highest sequence is {@code watermark}. / Não vista por um snapshot até {@code watermark}. */
+        boolean isAfter(long watermark) {
+            return sequence == null || sequence > watermark;
+        }
+    }
+
+    /** Counts, guarded by {@link #lock}. / Contagens, protegidas por {@link #lock}. */
+    private static final class Counts {
+        /** Creation months before this one are not tracked (never asked for again). / Meses anteriores não são mantidos. */
+        final YearMonth firstMonth;
+        final Map<String, Long> byCategory = new HashMap<>();
+        final Map<String, Long> byProvince = new HashMap<>();
+        final Map<String, Long> byCountry = new HashMap<>();
+        final Map<YearMonth, Long> addedByMonth = new HashMap<>();
+        long total;
+
+        Counts(YearMonth firstMonth) {
+            this.firstMonth = firstMonth;
+        }
+
+        void add(Facts facts, long delta) {
+            total += delta;
+            adjust(byCategory, facts.category(), delta);
+            adjust(byProvince, facts.province(), delta);
+            adjust(byCountry, facts.country(), delta);
+            if (facts.createdIn() != null && !facts.createdIn().isBefore(firstMonth)) {
+                adjust(addedByMonth, facts.createdIn(), delta);
+            }
+        }
+
+        void add(SupplierRepository.SupplierGroupCount group) {
+            long suppliers = group.getSuppliers();
+            total += suppliers;
+            adjust(byCategory, group.getCategory(), suppliers);
+            adjust(byProvince, group.getProvince(), suppliers);
+            adjust(byCountry, group.getCountry(), suppliers);
+            adjust(addedByMonth, firstMonth, group.getAddedSince() != null ? group.getAddedSince() : 0);
+        }
+
+        boolean sameAs(Counts other) {
+            return total == other.total && byCategory.equals(other.byCategory) && byProvince.equals(other.byProvince)
+                    && byCountry.equals(other.byCountry)
+                    && addedByMonth.getOrDefault(firstMonth, 0L).equals(other.addedByMonth.getOrDefault(firstMonth, 0L));
+        }
+
+        /** HashMap aceita chave null (fornecedores sem o campo); grupos que chegam a zero são removidos. */
+        private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+            if (delta != 0) {
+                counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+            }
+        }
+    }
+
+    private final SupplierRepository supplierRepository;
+    private final SupplierTombstoneRepository supplierTombstoneRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter drift;
+    /** A Lock, not a monitor, so virtual threads are not pinned. / Lock e não monitor, para não fixar virtual threads. */
+    private final ReentrantLock lock = new ReentrantLock();
+    private Counts counts = new Counts(YearMonth.now());
+    private LocalDateTime reconciledAt;
+    /** Highest change sequence included in {@link #counts} by the last reconciliation. */
+    private long reconciledThrough;
+    /** Changes applied while a reconciliation queries the database; replayed on its result if it did not see them. */
+    private List<Change> changesDuringReconciliation;
+
+    public SupplierStatistics(SupplierRepository supplierRepository, SupplierTombstoneRepository supplierTombstoneRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.supplierRepository = supplierRepository;
+        this.supplierTombstoneRepository = supplierTombstoneRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Contagens e maior sequência no mesmo snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.drift = Counter.builder("supplier.statistics.drift")
+                .description("Reconciliations that found the incremental counts different from the database")
+                .register(meterRegistry);
+    }
+
+    /** Counts a new supplier once the current transaction commits. / Conta um novo fornecedor após o commit. */
+    public void created(SupplierEntity supplier) {
+        Facts facts = Facts.of(supplier);
+        afterCommit(supplier::getChangeSequence, counts -> counts.add(facts, 1));
+    }
+
+    /**
+     * Moves a supplier from the groups of {@code before} to those of its current state once the transaction commits.
+     * Move um fornecedor dos grupos de {@code before} para os do estado atual após o commit.
+     *
+     * @param before Facts taken before the entity was modified. / Fatos obtidos antes de a entidade ser modificada.
+     */
+    public void updated(Facts before, SupplierEntity supplier) {
+        Facts after = Facts.of(supplier);
+        if (!before.equals(after)) {
+            afterCommit(supplier::getChangeSequence, counts -> {
+                counts.add(before, -1);
+                counts.add(after, 1);
+            });
+        }
+    }
+
+    /**
+     * Uncounts a supplier once the current transaction commits.
+     * Desconta um fornecedor após o commit.
+     *
+     * @param tombstone Tombstone written with the delete, which carries its change sequence. / Tombstone gravado com a exclusão.
+     */
+    public void deleted(SupplierEntity supplier, SupplierTombstoneEntity tombstone) {
+        Facts facts = Facts.of(supplier);
+        afterCommit(tombstone::getChangeSequence, counts -> counts.add(facts, -1));
+    }
+
+    /**
+     * Current statistics; O(number of groups). / Estatísticas atuais; O(número de grupos).
+     */
+    public SupplierStatisticsDTO snapshot() {
+        YearMonth month = YearMonth.now();
+        lock.lock();
+        try {
+            return SupplierStatisticsDTO.builder()
+                    .totalSuppliers(counts.total)
+                    .month(month.toString())
+                    .addedThisMonth(counts.addedByMonth.getOrDefault(month, 0L))
+                    .byCategory(groups(counts.byCategory))
+                    .byProvince(groups(counts.byProvince))
+                    .byCountry(groups(counts.byCountry))
+                    .reconciledAt(reconciledAt)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the counts with a grouped query on the primary (a replica could be behind the writes already counted),
+     * at startup and periodically.
+     * Substitui as contagens por uma query agrupada no primário (uma réplica poderia estar atrás das escritas já
+     * contadas), na inicialização e periodicamente.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${supplier.statistics.reconcile-interval:PT15M}", fixedDelayString = "${supplier.statistics.reconcile-interval:PT15M}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            changesDuringReconciliation = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+        YearMonth month = YearMonth.now();
+        Counts fresh = new Counts(month);
+        long watermark;
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            watermark = readOnlyTransaction.execute(status -> {
+                supplierRepository.countGroups(month.atDay(1).atStartOfDay()).forEach(fresh::add);
+                return Math.max(orZero(supplierRepository.findMaxChangeSequence()), orZero(supplierTombstoneRepository.findMaxChangeSequence()));
+            });
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                changesDuringReconciliation = null;
+            } finally {
+                lock.unlock();
+            }
+            log.error("Supplier statistics reconciliation failed; keeping the current counts: {}", e.getMessage(), e);
+            return;
+        }
+        lock.lock();
+        try {
+            // Só as escritas que a query não viu; as demais já estão nas contagens novas
+            for (Change change : changesDuringReconciliation) {
+                if (change.isAfter(watermark)) {
+                    change.effect().accept(fresh);
+                }
+            }
+            changesDuringReconciliation = null;
+            if (reconciledAt != null && !fresh.sameAs(counts)) {
+                drift.increment();
+                log.info("Supplier statistics corrected by reconciliation: {} suppliers counted, {} in the database.", counts.total, fresh.total);
+            }
+            counts = fresh;
+            reconciledThrough = watermark;
+            reconciledAt = LocalDateTime.now();
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Supplier statistics reconciled in {} ms.", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static List<SupplierGroupCountDTO> groups(Map<String, Long> counts) {
+        List<SupplierGroupCountDTO> groups = new ArrayList<>(counts.size());
+        counts.forEach((value, suppliers) -> groups.add(new SupplierGroupCountDTO(value, suppliers)));
+        groups.sort(LARGEST_FIRST);
+        return groups;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * @param sequence Read after commit, once the change sequence is assigned. / Lida após o commit, quando a sequência já foi atribuída.
+     */
+    private void afterCommit(Supplier<Long> sequence, Consumer<Counts> effect) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(new Change(sequence.get(), effect));
+                }
+            });
+        } else {
+            apply(new Change(null, effect));
+        }
+    }
+
+    private void apply(Change change) {
+        lock.lock();
+        try {
+            if (!change.isAfter(reconciledThrough)) {
+                return; // Commit anterior ao snapshot da última reconciliação: já contada
+            }
+            change.effect().accept(counts);
+            if (changesDuringReconciliation != null) {
+                changesDuringReconciliation.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bufalari.supplier.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * HTTP validators (ETag / Last-Modified) derived from AuditableBaseEntity.lastModifiedAt.
+ * Validadores HTTP (ETag / Last-Modified) derivados de AuditableBaseEntity.lastModifiedAt.
+ */
+public final class SupplierVersions {
+
+    private SupplierVersions() {
+    }
+
+    /**
+     * Strong ETag (quoted) for a single supplier version. Truncated to microseconds, the precision the database keeps.
+     * ETag forte (entre aspas) para uma versão de fornecedor. Truncado em microssegundos, a precisão mantida pelo banco.
+     */
+    public static String etag(LocalDateTime lastModifiedAt) {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(lastModifiedAt));
+        return "\"" + Long.toString(micros, 36) + "\"";
+    }
+
+    /**
+     * Converts a lastModifiedAt (stored in the JVM default zone by the auditing listener) to an Instant.
+     * Converte um lastModifiedAt (gravado no fuso padrão da JVM pelo listener de auditoria) para Instant.
+     */
+    public static Instant toInstant(LocalDateTime lastModifiedAt) {
+        return lastModifiedAt.truncatedTo(ChronoUnit.MICROS).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Incremental strong ETag over the (id, lastModifiedAt) pairs of a list, so the list's ETag changes when any
+     * row changes, is added or is removed.
+     * ETag forte incremental sobre os pares (id, lastModifiedAt) de uma lista; muda quando qualquer linha muda,
+     * entra ou sai.
+     */
+    public static final class ListETag {
+
+        private final MessageDigest digest;
+
+        public ListETag(String scope) {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public ListETag add(UUID id, LocalDateTime lastModifiedAt) {
+            digest.update(id.toString().getBytes(StandardCharsets.US_ASCII));
+            digest.update(etag(lastModifiedAt).getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+
+        public String build() {
+            byte[] hash = digest.digest();
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27) + "\"";
+        }
+    }
+
+    /**
+     * Evaluates an If-Match header against the current version with strong comparison: "*" or any listed ETag matches.
+     * Avalia um cabeçalho If-Match contra a versão atual (comparação forte): "*" ou qualquer ETag listado corresponde.
+     */
+    public static boolean ifMatch(String ifMatchHeader, LocalDateTime currentLastModifiedAt) {
+        String current = etag(currentLastModifiedAt);
+        for (String candidate : ifMatchHeader.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.bufalari.supplier.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * An open stored document, read by byte range without passing through heap buffers where the backend allows it.
+ * Um documento armazenado aberto, lido por faixa de bytes sem passar por buffers no heap quando o backend permite.
+ */
+public interface DocumentContent extends Closeable {
+
+    /** Size in bytes. / Tamanho em bytes. */
+    long size();
+
+    /**
+     * Writes {@code count} bytes starting at {@code position} to {@code target}.
+     * Grava {@code count} bytes a partir de {@code position} em {@code target}.
+     */
+    void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * The document as a regular local file, if it is one, so the servlet container can send it with sendfile.
+     * O documento como arquivo local comum, se for o caso, para que o container o envie com sendfile.
+     */
+    default Optional<Path> localFile() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,42 @@
+package com.bufalari.supplier.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for supplier documents. Documents are keyed by the SHA-256 of their bytes, so the same
+ * file uploaded twice (or for two suppliers) is stored once.
+ * Armazenamento endereçado por conteúdo para documentos de fornecedores. Documentos são identificados pelo SHA-256
+ * dos seus bytes, então o mesmo arquivo enviado duas vezes (ou para dois fornecedores) é armazenado uma única vez.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Streams {@code content} into the store, hashing it on the way. Memory use is bounded by the chunk size,
+     * not by the document size. The stream is read to the end but not closed.
+     * Grava {@code content} no armazenamento em streaming, calculando o hash no caminho. O uso de memória é limitado
+     * pelo tamanho do chunk, não pelo tamanho do documento. O stream é lido até o fim, mas não é fechado.
+     *
+     * @param content  The document bytes. / Os bytes do documento.
+     * @param maxBytes Upper bound on the document size. / Limite superior do tamanho do documento.
+     * @return The stored document. / O documento armazenado.
+     * @throws com.bufalari.supplier.exception.DocumentTooLargeException if more than {@code maxBytes} are read; nothing is stored. / se mais de {@code maxBytes} forem lidos; nada é armazenado.
+     * @throws IOException if reading the content or writing the store fails. / se a leitura ou a escrita falhar.
+     */
+    StoredDocument store(InputStream content, long maxBytes) throws IOException;
+
+    /**
+     * Whether a document with this content hash is stored.
+     * Indica se um documento com este hash de conteúdo está armazenado.
+     */
+    boolean exists(String contentHash);
+
+    /**
+     * Opens a stored document for reading. The caller closes it.
+     * Abre um documento armazenado para leitura. Quem chama deve fechá-lo.
+     *
+     * @return The content, or empty if no document has this hash. / O conteúdo, ou vazio se nenhum documento tiver este hash.
+     */
+    Optional<DocumentContent> open(String contentHash) throws IOException;
+}
@@ -0,0 +1,210 @@
+package com.bufalari.supplier.storage;
+
+import com.bufalari.supplier.exception.DocumentTooLargeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DocumentStorage} on the local filesystem (or a mounted volume).
+ * <p>
+ * Uploads are written to {@code <root>/.incoming} through a FileChannel in fixed-size chunks from one direct buffer,
+ * feeding the same chunks to a SHA-256 digest, then forced to disk and atomically renamed to
+ * {@code <root>/<first 2 hex chars>/<hash>}. If that file already exists the upload is a duplicate and is deleted.
+ * A failed or oversized upload never becomes visible under its hash.
+ * <p>
+ * {@link DocumentStorage} no sistema de arquivos local (ou volume montado). Uploads são gravados em
+ * {@code <root>/.incoming} via FileChannel em chunks de tamanho fixo de um único buffer direto, alimentando o digest
+ * SHA-256 com os mesmos chunks; depois são sincronizados em disco e renomeados atomicamente para
+ * {@code <root>/<2 primeiros hex>/<hash>}. Se esse arquivo já existir, o upload é duplicado e é removido.
+ */
+@Component
+@ConditionalOnProperty(prefix = "supplier.documents.storage", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalFileSystemDocumentStorage implements DocumentStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFileSystemDocumentStorage.class);
+
+    private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+    private final Path incoming;
+    private final int chunkSize;
+
+    public LocalFileSystemDocumentStorage(@Value("${supplier.documents.storage.local.root}") String root,
+                                          @Value("${supplier.documents.storage.chunk-size:64KB}") DataSize chunkSize) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve(".incoming");
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document storage directory " + incoming, e);
+        }
+        log.info("Local document storage at {} (chunk size {} bytes)", this.root, this.chunkSize);
+    }
+
+    @Override
+    public StoredDocument store(InputStream content, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        boolean kept = false;
+        try {
+            long size = 0;
+            // Um buffer direto por upload: o FileChannel grava dele sem cópia intermediária no heap
+            ByteBuffer buffer = ByteBuffer.allocateDirect(chunkSize);
+            ReadableByteChannel in = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                boolean eof = false;
+                while (!eof) {
+                    eof = fill(in, buffer);
+                    size += buffer.position();
+                    if (size > maxBytes) {
+                        throw new DocumentTooLargeException("Document exceeds the maximum size of " + maxBytes + " bytes. / Documento excede o tamanho máximo de " + maxBytes + " bytes.");
+                    }
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                out.force(true);
+            }
+
+            String contentHash = HEX.formatHex(digest.digest());
+            Path target = pathFor(contentHash);
+            if (Files.exists(target)) {
+                log.debug("Document {} already stored; discarding duplicate upload of {} bytes", contentHash, size);
+                return new StoredDocument(contentHash, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                moveAtomically(temp, target);
+                kept = true;
+            } catch (FileAlreadyExistsException e) {
+                // Upload concorrente do mesmo conteúdo venceu a corrida
+                return new StoredDocument(contentHash, size, true);
+            }
+            log.info("Stored document {} ({} bytes)", contentHash, size);
+            return new StoredDocument(contentHash, size, false);
+        } finally {
+            if (!kept) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(String contentHash) {
+        return CONTENT_HASH.matcher(contentHash).matches() && Files.isRegularFile(pathFor(contentHash));
+    }
+
+    @Override
+    public Optional<DocumentContent> open(String contentHash) throws IOException {
+        if (!CONTENT_HASH.matcher(contentHash).matches()) {
+            return Optional.empty(); // nunca resolve caminhos a partir de entrada arbitrária
+        }
+        Path file = pathFor(contentHash);
+        try {
+            return Optional.of(new LocalDocumentContent(file, FileChannel.open(file, StandardOpenOption.READ)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * FileChannel-backed content: {@link FileChannel#transferTo} lets the kernel copy file pages straight to the
+     * target (sendfile for sockets), with no user-space buffer when the target is a socket or file channel.
+     * Conteúdo sobre FileChannel: {@link FileChannel#transferTo} deixa o kernel copiar as páginas do arquivo direto
+     * para o destino (sendfile para sockets), sem buffer em espaço de usuário quando o destino é socket ou arquivo.
+     */
+    private record LocalDocumentContent(Path file, FileChannel channel) implements DocumentContent {
+
+        @Override
+        public long size() {
+            try {
+                return channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            long end = position + count;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0 && position >= channel.size()) {
+                    throw new EOFException("Document truncated at " + position + " bytes");
+                }
+                position += sent;
+            }
+        }
+
+        @Override
+        public Optional<Path> localFile() {
+            return Optional.of(file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** Reads until the buffer is full or the stream ends; returns true at end of stream. / Lê até encher o buffer ou o stream acabar. */
+    private static boolean fill(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path pathFor(String contentHash) {
+        return root.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
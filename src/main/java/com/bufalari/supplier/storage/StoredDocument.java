@@ -0,0 +1,10 @@
+package com.bufalari.supplier.storage;
+
+/**
+ * Result of storing a document: its SHA-256 content hash (lowercase hex), size in bytes, and whether identical
+ * content was already stored (in which case the upload was discarded).
+ * Resultado do armazenamento de um documento: hash SHA-256 do conteúdo (hex minúsculo), tamanho em bytes e se um
+ * conteúdo idêntico já estava armazenado (nesse caso o upload foi descartado).
+ */
+public record StoredDocument(String contentHash, long size, boolean deduplicated) {
+}
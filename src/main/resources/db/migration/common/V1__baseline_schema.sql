@@ -0,0 +1,42 @@
+-- Schema anterior às migrações versionadas, igual ao que o ddl-auto: update gerava a partir das entidades da época
+-- (suppliers e a coleção supplier_document_references, ainda sem chave primária). Bancos já criados pelo Hibernate
+-- não executam este script: o Flyway registra a versão 1 como baseline (spring.flyway.baseline-on-migrate) e aplica
+-- as migrações seguintes, que portanto não podem supor nada além deste schema.
+-- SQL comum a Postgres e H2 (testes); o que depende do banco fica em db/migration/{vendor}.
+
+CREATE TABLE IF NOT EXISTS suppliers (
+    id                             UUID         NOT NULL,
+    created_by                     VARCHAR(255),
+    created_at                     TIMESTAMP(6) NOT NULL,
+    last_modified_by               VARCHAR(255),
+    last_modified_at               TIMESTAMP(6) NOT NULL,
+    name                           VARCHAR(200) NOT NULL,
+    trade_name                     VARCHAR(200),
+    business_identification_number VARCHAR(50),
+    street                         VARCHAR(255),
+    number                         VARCHAR(50),
+    complement                     VARCHAR(100),
+    neighbourhood                  VARCHAR(100),
+    city                           VARCHAR(100),
+    province                       VARCHAR(100),
+    postal_code                    VARCHAR(20),
+    country                        VARCHAR(100),
+    primary_contact_name           VARCHAR(100),
+    primary_contact_phone          VARCHAR(30),
+    primary_contact_email          VARCHAR(100),
+    category                       VARCHAR(50),
+    bank_name                      VARCHAR(100),
+    bank_agency                    VARCHAR(20),
+    bank_account                   VARCHAR(30),
+    CONSTRAINT suppliers_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_supplier_name ON suppliers (name);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_business_id ON suppliers (business_identification_number);
+
+-- Coleção mapeada como bag (List): sem chave primária, duplicatas e NULL eram possíveis
+CREATE TABLE IF NOT EXISTS supplier_document_references (
+    supplier_id        UUID NOT NULL,
+    document_reference VARCHAR(500),
+    CONSTRAINT fk_suppdocref_supplier FOREIGN KEY (supplier_id) REFERENCES suppliers (id)
+);
@@ -0,0 +1,32 @@
+-- Equivalente H2 (testes) de postgresql/V2; a deduplicação usa _ROWID_ no lugar de ctid.
+
+DELETE FROM supplier_document_references WHERE document_reference IS NULL;
+DELETE FROM supplier_document_references a
+WHERE EXISTS (SELECT 1 FROM supplier_document_references b
+              WHERE b.supplier_id = a.supplier_id
+                AND b.document_reference = a.document_reference
+                AND b._ROWID_ < a._ROWID_);
+
+ALTER TABLE supplier_document_references ALTER COLUMN document_reference SET NOT NULL;
+ALTER TABLE supplier_document_references
+    ADD CONSTRAINT IF NOT EXISTS supplier_document_references_pkey PRIMARY KEY (supplier_id, document_reference);
+
+-- Sequência de mudanças do delta-sync (ChangeSequenceGenerator), um valor por vez
+CREATE SEQUENCE IF NOT EXISTS supplier_change_seq START WITH 1 INCREMENT BY 1;
+
+-- Nula nas linhas existentes até o backfill de SupplierChangeService na inicialização
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS change_sequence BIGINT;
+-- Coluna recém-criada (só NULLs) em bancos anteriores à série: construção imediata mesmo sem CONCURRENTLY
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_change_sequence ON suppliers (change_sequence);
+
+CREATE TABLE IF NOT EXISTS supplier_tombstones (
+    change_sequence                BIGINT       NOT NULL,
+    supplier_id                    UUID         NOT NULL,
+    business_identification_number VARCHAR(50),
+    deleted_at                     TIMESTAMP(6) NOT NULL,
+    deleted_by                     VARCHAR(255),
+    CONSTRAINT supplier_tombstones_pkey PRIMARY KEY (change_sequence)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_tombstone_supplier_id ON supplier_tombstones (supplier_id);
+CREATE INDEX IF NOT EXISTS idx_supplier_tombstone_deleted_at ON supplier_tombstones (deleted_at);
@@ -0,0 +1,8 @@
+-- Equivalente H2 (testes) de postgresql/V3: o H2 não tem CREATE INDEX CONCURRENTLY, índices de expressão nem
+-- operator classes, então idx_supplier_name_upper e idx_supplier_name_pattern não existem aqui (o LIKE 'x%' do H2
+-- já usa o idx_supplier_name).
+
+CREATE INDEX IF NOT EXISTS idx_supplier_category ON suppliers (category, name, id);
+CREATE INDEX IF NOT EXISTS idx_supplier_city ON suppliers (city, name, id);
+CREATE INDEX IF NOT EXISTS idx_supplier_province ON suppliers (province, name, id);
+CREATE INDEX IF NOT EXISTS idx_supplier_last_modified_at ON suppliers (last_modified_at);
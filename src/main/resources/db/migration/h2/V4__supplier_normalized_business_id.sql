@@ -0,0 +1,2 @@
+-- Equivalente H2 (testes) de postgresql/V4; o backfill é feito por SupplierBusinessIdBackfill.
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS business_id_normalized VARCHAR(50);
@@ -0,0 +1,2 @@
+-- Equivalente H2 (testes) de postgresql/V5.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_business_id_normalized ON suppliers (business_id_normalized);
@@ -0,0 +1,12 @@
+-- Equivalente H2 (testes) de postgresql/V6.
+CREATE TABLE IF NOT EXISTS supplier_change_lock (
+    id SMALLINT NOT NULL,
+    CONSTRAINT supplier_change_lock_pkey PRIMARY KEY (id)
+);
+MERGE INTO supplier_change_lock (id) KEY (id) VALUES (1);
+
+ALTER TABLE supplier_tombstones DROP CONSTRAINT supplier_tombstones_pkey;
+ALTER TABLE supplier_tombstones ALTER COLUMN change_sequence DROP NOT NULL;
+DROP INDEX IF EXISTS idx_supplier_tombstone_supplier_id;
+ALTER TABLE supplier_tombstones ADD CONSTRAINT supplier_tombstones_pkey PRIMARY KEY (supplier_id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_tombstone_change_sequence ON supplier_tombstones (change_sequence);
@@ -0,0 +1,44 @@
+-- Estruturas do delta-sync (sequência, suppliers.change_sequence, supplier_tombstones) e chave primária de
+-- supplier_document_references (coleção agora mapeada como Set). Escrita para qualquer banco a partir de V1: tanto
+-- os anteriores à série quanto os que rodaram versões intermediárias com ddl-auto: update (que cria tabelas e
+-- colunas, mas nunca adiciona chave primária a uma tabela existente); por isso IF NOT EXISTS em tudo.
+
+-- Referências NULL ou repetidas (possíveis com o bag) impediriam a chave primária: mantém uma linha por par
+DELETE FROM supplier_document_references WHERE document_reference IS NULL;
+DELETE FROM supplier_document_references a
+USING supplier_document_references b
+WHERE a.supplier_id = b.supplier_id
+  AND a.document_reference = b.document_reference
+  AND a.ctid > b.ctid;
+
+ALTER TABLE supplier_document_references ALTER COLUMN document_reference SET NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'supplier_document_references'::regclass AND contype = 'p') THEN
+        ALTER TABLE supplier_document_references
+            ADD CONSTRAINT supplier_document_references_pkey PRIMARY KEY (supplier_id, document_reference);
+    END IF;
+END
+$$;
+
+-- Sequência de mudanças do delta-sync (ChangeSequenceGenerator), um valor por vez
+CREATE SEQUENCE IF NOT EXISTS supplier_change_seq START WITH 1 INCREMENT BY 1;
+
+-- Nula nas linhas existentes até o backfill de SupplierChangeService na inicialização
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS change_sequence BIGINT;
+-- Coluna recém-criada (só NULLs) em bancos anteriores à série: construção imediata mesmo sem CONCURRENTLY
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_change_sequence ON suppliers (change_sequence);
+
+CREATE TABLE IF NOT EXISTS supplier_tombstones (
+    change_sequence                BIGINT       NOT NULL,
+    supplier_id                    UUID         NOT NULL,
+    business_identification_number VARCHAR(50),
+    deleted_at                     TIMESTAMP(6) NOT NULL,
+    deleted_by                     VARCHAR(255),
+    CONSTRAINT supplier_tombstones_pkey PRIMARY KEY (change_sequence)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_tombstone_supplier_id ON supplier_tombstones (supplier_id);
+CREATE INDEX IF NOT EXISTS idx_supplier_tombstone_deleted_at ON supplier_tombstones (deleted_at);
@@ -0,0 +1,20 @@
+-- Índices para os filtros da listagem (SupplierSpecifications), a busca por nome sem distinção de caixa e as
+-- consultas por data de modificação. CONCURRENTLY não bloqueia escritas em suppliers durante a construção; o
+-- Flyway executa estes comandos fora de transação (não podem ser misturados com DDL transacional neste arquivo).
+-- Se uma construção falhar, o índice fica INVALID: remova-o (DROP INDEX CONCURRENTLY) antes de repetir a migração,
+-- pois o IF NOT EXISTS o consideraria existente.
+
+-- Filtros por igualdade + ordem keyset (name, id): o filtro e a ordenação saem do mesmo índice
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_category ON suppliers (category, name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_city ON suppliers (city, name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_province ON suppliers (province, name, id);
+
+-- Filtro namePrefix (LIKE 'x%'): com collation diferente de C, o idx_supplier_name (ordem da collation) não serve
+-- para LIKE; text_pattern_ops compara byte a byte e serve. A ordenação por name continua no idx_supplier_name.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_name_pattern ON suppliers (name text_pattern_ops);
+
+-- existsByNameIgnoreCase: o Spring Data gera upper(name) = upper(?)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_name_upper ON suppliers (upper(name));
+
+-- Consultas por intervalo de modificação (fornecedores alterados/criados num período)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_last_modified_at ON suppliers (last_modified_at);
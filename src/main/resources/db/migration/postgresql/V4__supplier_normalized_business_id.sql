@@ -0,0 +1,4 @@
+-- Forma canônica do business ID (BusinessIdentificationNumbers.normalize): só letras ASCII e dígitos, letras em
+-- maiúsculas. As linhas existentes são preenchidas depois da inicialização, em lotes curtos, por
+-- SupplierBusinessIdBackfill: um único UPDATE aqui reescreveria a tabela inteira numa transação só.
+ALTER TABLE suppliers ADD COLUMN IF NOT EXISTS business_id_normalized VARCHAR(50);
@@ -0,0 +1,6 @@
+-- Índice único da forma canônica, construído sem bloquear escritas (fora de transação; ver V3).
+-- Construído antes do backfill (SupplierBusinessIdBackfill), que por isso não grava duplicatas: um fornecedor antigo
+-- com o mesmo business ID de outro, com pontuação diferente, fica com a coluna NULL e é logado. Encontre-os com
+--   SELECT id, business_identification_number FROM suppliers WHERE business_id_normalized IS NULL;
+-- resolva as duplicatas e reinicie o serviço para preenchê-los.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_business_id_normalized ON suppliers (business_id_normalized);
@@ -0,0 +1,14 @@
+-- Delta-sync em ordem de commit (ChangeSequenceGenerator): change_sequence é atribuída logo antes do commit, sob a
+-- trava da linha única de supplier_change_lock, que dura até o commit.
+CREATE TABLE IF NOT EXISTS supplier_change_lock (
+    id SMALLINT NOT NULL,
+    CONSTRAINT supplier_change_lock_pkey PRIMARY KEY (id)
+);
+INSERT INTO supplier_change_lock (id) VALUES (1) ON CONFLICT DO NOTHING;
+
+-- Tombstones passam a ter supplier_id como chave; change_sequence fica NULL até o commit que a atribui.
+-- Tabela pequena (só a retenção de exclusões): a troca de chave dentro da transação da migração é imediata.
+ALTER TABLE supplier_tombstones DROP CONSTRAINT supplier_tombstones_pkey;
+ALTER TABLE supplier_tombstones ALTER COLUMN change_sequence DROP NOT NULL;
+ALTER TABLE supplier_tombstones ADD CONSTRAINT supplier_tombstones_pkey PRIMARY KEY USING INDEX idx_supplier_tombstone_supplier_id;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_supplier_tombstone_change_sequence ON supplier_tombstones (change_sequence);
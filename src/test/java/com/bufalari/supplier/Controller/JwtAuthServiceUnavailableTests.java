@@ -0,0 +1,56 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.client.AuthServiceClient;
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import com.bufalari.supplier.security.TestTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that, in auth-service mode with the claims fallback off, a request whose user cannot be loaded because
+ * auth-service is down gets 503 with Retry-After, even when the token carries roles.
+ * Verifica que, no modo auth-service com o fallback de claims desligado, uma requisição cujo usuário não pode ser
+ * carregado por causa do auth-service fora recebe 503 com Retry-After, mesmo que o token traga roles.
+ */
+@SpringBootTest(properties = "security.jwt.claims-fallback-enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthServiceUnavailableTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void authServiceDown() {
+        when(authServiceClient.getUserByUsername(anyString()))
+                .thenThrow(new ExternalServiceUnavailableException("auth-service", new RuntimeException("connection refused")));
+    }
+
+    @Test
+    void requestIsRejectedWith503AndRetryAfter() throws Exception {
+        String token = TestTokens.token("ana", List.of("PURCHASING"), Duration.ofMinutes(5));
+
+        mockMvc.perform(get("/supplier-service/summaries").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+}
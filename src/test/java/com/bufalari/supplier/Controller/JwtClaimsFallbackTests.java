@@ -0,0 +1,79 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.client.AuthServiceClient;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import com.bufalari.supplier.security.TestTokens;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the claims fallback: with auth-service down, a token's signed roles authorize the request, and a token
+ * without roles still gets 503 with Retry-After.
+ * Verifica o fallback de claims: com o auth-service fora, as roles assinadas do token autorizam a requisição, e um
+ * token sem roles ainda recebe 503 com Retry-After.
+ */
+@SpringBootTest(properties = "security.jwt.claims-fallback-enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtClaimsFallbackTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @BeforeEach
+    void authServiceDown() {
+        when(authServiceClient.getUserByUsername(anyString()))
+                .thenThrow(new ExternalServiceUnavailableException("auth-service", new RuntimeException("connection refused")));
+    }
+
+    @Test
+    void tokenRolesAuthorizeTheRequest() throws Exception {
+        create(TestTokens.token("ana", List.of("PURCHASING"), Duration.ofMinutes(5)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void tokenWithoutRolesIsStillRejectedWith503() throws Exception {
+        create(TestTokens.token("bruno", null, Duration.ofMinutes(5)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+
+    private ResultActions create(String token) throws Exception {
+        return mockMvc.perform(post("/supplier-service")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(supplier())));
+    }
+
+    private static SupplierDTO supplier() {
+        return TestSuppliers.supplier("Fallback Supplier", "TOKENS").build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.SupplierServiceApplication;
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.client.AuthServiceClient;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.security.TestTokens;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies security.jwt.authorization-mode=claims with real bearer tokens: roles come from the token's claim and
+ * auth-service is never called, a token without the claim has no authorities, and an unknown mode fails at startup.
+ * Verifica security.jwt.authorization-mode=claims com tokens bearer reais: as roles vêm da claim do token e o
+ * auth-service nunca é chamado, um token sem a claim não tem authorities, e um modo desconhecido falha na inicialização.
+ */
+@SpringBootTest(properties = "security.jwt.authorization-mode=claims")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtClaimsModeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private AuthServiceClient authServiceClient;
+
+    @Test
+    void rolesComeFromTheTokenWithoutCallingAuthService() throws Exception {
+        create(TestTokens.token("ana", List.of("PURCHASING"), Duration.ofMinutes(5)))
+                .andExpect(status().isCreated());
+        verifyNoInteractions(authServiceClient);
+    }
+
+    @Test
+    void tokenWithoutRolesClaimHasNoAuthorities() throws Exception {
+        create(TestTokens.token("bruno", null, Duration.ofMinutes(5)))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(authServiceClient);
+    }
+
+    @Test
+    void unknownAuthorizationModeFailsAtStartup() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(SupplierServiceApplication.class).profiles("test");
+
+        // Argumentos de linha de comando têm precedência sobre o application.yml
+        Exception failure = assertThrows(Exception.class, () -> application.run(
+                "--security.jwt.authorization-mode=roles-from-somewhere",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:unknownmode;DB_CLOSE_DELAY=-1;MODE=PostgreSQL").close());
+
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(failure);
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertTrue(cause.getMessage().contains("roles-from-somewhere"), cause.getMessage());
+    }
+
+    private ResultActions create(String token) throws Exception {
+        return mockMvc.perform(post("/supplier-service")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(supplier())));
+    }
+
+    private static SupplierDTO supplier() {
+        return TestSuppliers.supplier("Claims Supplier", "TOKENS").build();
+    }
+}
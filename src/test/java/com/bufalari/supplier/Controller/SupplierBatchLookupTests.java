@@ -0,0 +1,125 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.service.SupplierService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the batch lookup endpoint: keys that do not exist are reported as requested, a supplier matched both by
+ * ID and by business ID is returned once, business IDs match regardless of punctuation, and more than
+ * {@value SupplierBatchRequestDTO#MAX_KEYS} keys in a list is a 400.
+ * Verifica o endpoint de busca em lote: chaves inexistentes são informadas como pedidas, um fornecedor encontrado
+ * por ID e por business ID volta uma vez, business IDs casam sem depender da pontuação, e mais de
+ * {@value SupplierBatchRequestDTO#MAX_KEYS} chaves numa lista é 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierBatchLookupTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void missingKeysAreReportedAsRequested() throws Exception {
+        SupplierDTO existing = supplierService.createSupplier(supplier("Batch Existing"));
+        UUID missingId = UUID.randomUUID();
+        String missingBusinessId = TestSuppliers.formatted(TestSuppliers.randomBusinessId());
+
+        SupplierBatchResultDTO result = lookup(SupplierBatchRequestDTO.builder()
+                .ids(List.of(existing.getId(), missingId))
+                .businessIdentificationNumbers(List.of(missingBusinessId))
+                .build());
+
+        assertEquals(List.of(existing.getId()), ids(result));
+        assertEquals(List.of(missingId), result.getNotFoundIds());
+        assertEquals(List.of(missingBusinessId), result.getNotFoundBusinessIdentificationNumbers(), "reported with its punctuation");
+    }
+
+    @Test
+    void supplierMatchedByIdAndBusinessIdIsReturnedOnce() throws Exception {
+        SupplierDTO both = supplierService.createSupplier(supplier("Batch Both"));
+        SupplierDTO byBusinessId = supplierService.createSupplier(supplier("Batch Business Id"));
+
+        SupplierBatchResultDTO result = lookup(SupplierBatchRequestDTO.builder()
+                .ids(List.of(both.getId(), both.getId()))
+                .businessIdentificationNumbers(List.of(both.getBusinessIdentificationNumber(), byBusinessId.getBusinessIdentificationNumber()))
+                .build());
+
+        assertEquals(List.of(both.getId(), byBusinessId.getId()), ids(result));
+        assertEquals(List.of(), result.getNotFoundIds());
+        assertEquals(List.of(), result.getNotFoundBusinessIdentificationNumbers());
+    }
+
+    @Test
+    void businessIdsMatchRegardlessOfPunctuation() throws Exception {
+        String digits = TestSuppliers.randomBusinessId();
+        SupplierDTO stored = supplierService.createSupplier(TestSuppliers.supplier("Batch Punctuation", "BATCH")
+                .businessIdentificationNumber(TestSuppliers.formatted(digits)).build());
+
+        SupplierBatchResultDTO result = lookup(SupplierBatchRequestDTO.builder()
+                .businessIdentificationNumbers(List.of(digits, " " + TestSuppliers.formatted(digits).replace('.', ' ') + " "))
+                .build());
+
+        assertEquals(List.of(stored.getId()), ids(result));
+        assertEquals(List.of(), result.getNotFoundBusinessIdentificationNumbers());
+    }
+
+    @Test
+    void moreThanMaxKeysIsBadRequest() throws Exception {
+        List<UUID> tooManyIds = Stream.generate(UUID::randomUUID).limit(SupplierBatchRequestDTO.MAX_KEYS + 1).toList();
+        List<String> tooManyBusinessIds = Collections.nCopies(SupplierBatchRequestDTO.MAX_KEYS + 1, "12345678000199");
+
+        perform(SupplierBatchRequestDTO.builder().ids(tooManyIds).build(), status().isBadRequest());
+        perform(SupplierBatchRequestDTO.builder().businessIdentificationNumbers(tooManyBusinessIds).build(), status().isBadRequest());
+        perform(SupplierBatchRequestDTO.builder().ids(tooManyIds.subList(0, SupplierBatchRequestDTO.MAX_KEYS)).build(), status().isOk());
+    }
+
+    private SupplierBatchResultDTO lookup(SupplierBatchRequestDTO request) throws Exception {
+        return objectMapper.readValue(perform(request, status().isOk()), SupplierBatchResultDTO.class);
+    }
+
+    private byte[] perform(SupplierBatchRequestDTO request, ResultMatcher expected) throws Exception {
+        return mockMvc.perform(post("/supplier-service/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(request))
+                        .with(user("reader")))
+                .andExpect(expected)
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<UUID> ids(SupplierBatchResultDTO result) {
+        return result.getSuppliers().stream().map(SupplierDTO::getId).toList();
+    }
+
+    private static SupplierDTO supplier(String name) {
+        return TestSuppliers.supplier(name, "BATCH").build();
+    }
+}
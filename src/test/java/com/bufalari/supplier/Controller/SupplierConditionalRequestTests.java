@@ -0,0 +1,146 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.service.JsonMergePatch;
+import com.bufalari.supplier.service.SupplierService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the HTTP validators of a single supplier: GET answers 304 to a current If-None-Match or If-Modified-Since
+ * and 200 once the supplier changed; PUT and PATCH answer 412 to a stale If-Match without writing, and succeed with
+ * the current ETag or "*".
+ * Verifica os validadores HTTP de um fornecedor: GET responde 304 a um If-None-Match ou If-Modified-Since atual e 200
+ * depois que o fornecedor mudou; PUT e PATCH respondem 412 a um If-Match desatualizado sem gravar, e funcionam com o
+ * ETag atual ou "*".
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierConditionalRequestTests {
+
+    private static final String BASE = "/supplier-service/";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getAnswersNotModifiedUntilTheSupplierChanges() throws Exception {
+        UUID id = supplierService.createSupplier(supplier("Conditional Get")).getId();
+        MockHttpServletResponse first = getSupplier(id, null).andExpect(status().isOk()).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(etag);
+        assertNotNull(lastModified);
+
+        getSupplier(id, etag)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get(BASE + id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified).with(user("reader")))
+                .andExpect(status().isNotModified());
+        getSupplier(id, "\"other\"").andExpect(status().isOk());
+
+        supplierService.patchSupplier(id, objectMapper.readTree("{\"tradeName\":\"Changed\"}"), null);
+
+        MockHttpServletResponse changed = getSupplier(id, etag).andExpect(status().isOk()).andReturn().getResponse();
+        assertNotEquals(etag, changed.getHeader(HttpHeaders.ETAG));
+        assertEquals("Changed", objectMapper.readValue(changed.getContentAsByteArray(), SupplierDTO.class).getTradeName());
+    }
+
+    @Test
+    void putWithAStaleIfMatchIsRejectedWithoutWriting() throws Exception {
+        SupplierDTO created = supplierService.createSupplier(supplier("Conditional Put"));
+        String staleEtag = etagOf(created.getId());
+        supplierService.patchSupplier(created.getId(), objectMapper.readTree("{\"tradeName\":\"Someone Else\"}"), null);
+        String currentEtag = etagOf(created.getId());
+
+        mockMvc.perform(put(BASE + created.getId())
+                        .header(HttpHeaders.IF_MATCH, staleEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(created.toBuilder().name("Lost Update").build()))
+                        .with(user("editor").roles("PURCHASING")))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Conditional Put", supplierService.getSupplierById(created.getId()).getName());
+        assertEquals(currentEtag, etagOf(created.getId()), "nothing was written");
+
+        MockHttpServletResponse updated = mockMvc.perform(put(BASE + created.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"other\", " + currentEtag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(created.toBuilder().name("Accepted Update").build()))
+                        .with(user("editor").roles("PURCHASING")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertNotEquals(currentEtag, updated.getHeader(HttpHeaders.ETAG));
+        assertEquals(updated.getHeader(HttpHeaders.ETAG), etagOf(created.getId()), "response ETag is the new current one");
+    }
+
+    @Test
+    void patchWithAStaleIfMatchIsRejectedAndWildcardMatches() throws Exception {
+        UUID id = supplierService.createSupplier(supplier("Conditional Patch")).getId();
+        String staleEtag = etagOf(id);
+        supplierService.patchSupplier(id, objectMapper.readTree("{\"tradeName\":\"Someone Else\"}"), null);
+
+        mockMvc.perform(patch(BASE + id)
+                        .header(HttpHeaders.IF_MATCH, staleEtag)
+                        .contentType(JsonMergePatch.MEDIA_TYPE)
+                        .content("{\"tradeName\":\"Lost Update\"}")
+                        .with(user("editor").roles("PURCHASING")))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Someone Else", supplierService.getSupplierById(id).getTradeName());
+
+        mockMvc.perform(patch(BASE + id)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(JsonMergePatch.MEDIA_TYPE)
+                        .content("{\"tradeName\":\"Accepted\"}")
+                        .with(user("editor").roles("PURCHASING")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+        assertEquals("Accepted", supplierService.getSupplierById(id).getTradeName());
+    }
+
+    private ResultActions getSupplier(UUID id, String ifNoneMatch) throws Exception {
+        var request = get(BASE + id).accept(MediaType.APPLICATION_JSON).with(user("reader"));
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private String etagOf(UUID id) throws Exception {
+        return getSupplier(id, null).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static SupplierDTO supplier(String name) {
+        return TestSuppliers.supplier(name, "CONDITIONAL").build();
+    }
+}
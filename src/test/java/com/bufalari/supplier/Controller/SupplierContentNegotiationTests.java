@@ -0,0 +1,159 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.config.BinaryFormatsConfig;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.service.SupplierService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies content negotiation: JSON for browsers, Accept: *&#47;* and no Accept at all; CBOR and Smile only when
+ * asked for by name, on reads, request bodies and the export; and the export format picked from Accept (including
+ * CSV) when no format parameter is given. Uses its own database so the export holds only its rows.
+ * Verifica a negociação de conteúdo: JSON para navegadores, Accept: *&#47;* e sem Accept; CBOR e Smile só quando pedidos
+ * pelo nome, em leituras, corpos de requisição e na exportação; e o formato da exportação escolhido pelo Accept
+ * (inclusive CSV) quando não há parâmetro format. Usa banco próprio.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:negotiation;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierContentNegotiationTests {
+
+    private static final String BROWSER_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8";
+    private static final MediaType SMILE = MediaType.parseMediaType(BinaryFormatsConfig.APPLICATION_SMILE_VALUE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    @Test
+    void browsersWildcardsAndNoAcceptGetJson() throws Exception {
+        UUID id = supplierService.createSupplier(supplier("Negotiation Json")).getId();
+
+        for (String accept : new String[] {BROWSER_ACCEPT, "*/*", null}) {
+            var request = get("/supplier-service/" + id).with(user("reader"));
+            if (accept != null) {
+                request.header(HttpHeaders.ACCEPT, accept);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andReturn().getResponse();
+            assertTrue(response.getHeaders(HttpHeaders.VARY).stream().anyMatch(vary -> vary.contains(HttpHeaders.ACCEPT)), "caches keep representations apart");
+            assertEquals("Negotiation Json", objectMapper.readValue(response.getContentAsByteArray(), SupplierDTO.class).getName(), "Accept " + accept);
+        }
+    }
+
+    @Test
+    void binaryFormatsAreServedWhenAskedForByName() throws Exception {
+        UUID id = supplierService.createSupplier(supplier("Negotiation Binary")).getId();
+
+        byte[] cbor = mockMvc.perform(get("/supplier-service/" + id).accept(MediaType.APPLICATION_CBOR).with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Negotiation Binary", cborHttpMessageConverter.getObjectMapper().readValue(cbor, SupplierDTO.class).getName());
+
+        byte[] smile = mockMvc.perform(get("/supplier-service/" + id).header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.5").with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Negotiation Binary", smileHttpMessageConverter.getObjectMapper().readValue(smile, SupplierDTO.class).getName());
+    }
+
+    @Test
+    void binaryRequestBodiesAreRead() throws Exception {
+        UUID id = supplierService.createSupplier(supplier("Negotiation Batch")).getId();
+        SupplierBatchRequestDTO batch = SupplierBatchRequestDTO.builder().ids(List.of(id)).build();
+
+        byte[] response = mockMvc.perform(post("/supplier-service/batch")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(cborHttpMessageConverter.getObjectMapper().writeValueAsBytes(batch))
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        SupplierBatchResultDTO result = cborHttpMessageConverter.getObjectMapper().readValue(response, SupplierBatchResultDTO.class);
+        assertEquals(List.of(id), result.getSuppliers().stream().map(SupplierDTO::getId).toList());
+    }
+
+    @Test
+    void exportFormatFollowsAcceptWhenNoFormatIsGiven() throws Exception {
+        supplierService.createSupplier(supplier("Negotiation Export A"));
+        supplierService.createSupplier(supplier("Negotiation Export B"));
+        long count = supplierRepository.count();
+
+        SupplierDTO[] cbor = cborHttpMessageConverter.getObjectMapper().readValue(export(MediaType.APPLICATION_CBOR_VALUE, MediaType.APPLICATION_CBOR)
+                .getContentAsByteArray(), SupplierDTO[].class);
+        assertEquals(count, cbor.length);
+        SupplierDTO[] smile = smileHttpMessageConverter.getObjectMapper().readValue(export(BinaryFormatsConfig.APPLICATION_SMILE_VALUE, SMILE)
+                .getContentAsByteArray(), SupplierDTO[].class);
+        assertEquals(count, smile.length);
+
+        String csv = export("text/csv", MediaType.parseMediaType(SupplierController.TEXT_CSV_VALUE)).getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(count + 1, csv.split("\r\n").length, "header plus one line per supplier");
+        for (String accept : new String[] {BROWSER_ACCEPT, "*/*"}) {
+            String ndjson = export(accept, MediaType.parseMediaType(SupplierController.APPLICATION_NDJSON_VALUE)).getContentAsString(StandardCharsets.UTF_8);
+            assertEquals(count, ndjson.split("\n").length, "Accept " + accept);
+        }
+
+        MockHttpServletResponse explicit = mockMvc.perform(get("/supplier-service/export").param("format", "smile").with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse();
+        assertTrue(explicit.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("suppliers.smile"));
+    }
+
+    private MockHttpServletResponse export(String accept, MediaType expected) throws Exception {
+        return mockMvc.perform(get("/supplier-service/export").header(HttpHeaders.ACCEPT, accept).with(user("reader")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(expected))
+                .andReturn().getResponse();
+    }
+
+    private static SupplierDTO supplier(String name) {
+        return TestSuppliers.supplier(name, "NEGOTIATION").build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.service.SupplierDocumentService;
+import com.bufalari.supplier.service.SupplierService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies document download: the full content with Accept-Ranges and the content-hash ETag, single byte ranges
+ * (explicit, open-ended and suffix) as 206, unsatisfiable ranges as 416, malformed or multiple ranges answered with
+ * the whole document, If-Range and If-None-Match, and HEAD sending headers only.
+ * Verifica o download de documentos: conteúdo inteiro com Accept-Ranges e ETag do hash, faixas únicas (explícita,
+ * aberta e sufixo) como 206, faixas impossíveis como 416, faixas malformadas ou múltiplas respondidas com o documento
+ * inteiro, If-Range e If-None-Match, e HEAD enviando só os cabeçalhos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierDocumentDownloadTests {
+
+    private static final int SIZE = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    private UUID supplierId;
+    private byte[] document;
+    private String contentUrl;
+    private String etag;
+
+    @BeforeEach
+    void uploadDocument() throws Exception {
+        supplierId = supplierService.createSupplier(supplier()).getId();
+        document = new byte[SIZE];
+        ThreadLocalRandom.current().nextBytes(document);
+        String reference = mockMvc.perform(post("/supplier-service/" + supplierId + "/documents")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(document)
+                        .with(user("editor").roles("PURCHASING")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        contentUrl = "/supplier-service/" + supplierId + "/documents/" + reference + "/content";
+        etag = "\"" + SupplierDocumentService.contentHash(reference) + "\"";
+    }
+
+    @Test
+    void fullDownloadAdvertisesRangesAndTheContentHash() throws Exception {
+        mockMvc.perform(download())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andExpect(content().bytes(document));
+
+        mockMvc.perform(download().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void singleRangesArePartialContent() throws Exception {
+        expectPartial("bytes=10-19", 10, 19);
+        expectPartial("bytes=990-", 990, SIZE - 1);
+        expectPartial("bytes=-5", SIZE - 5, SIZE - 1);
+        expectPartial("bytes=995-5000", 995, SIZE - 1); // o fim é limitado ao tamanho
+    }
+
+    @Test
+    void rangeBeyondTheEndIsNotSatisfiable() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=" + SIZE + "-" + (SIZE + 10)))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + SIZE))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void malformedAndMultipleRangesGetTheWholeDocument() throws Exception {
+        for (String range : new String[] {"bytes=abc", "lines=1-2", "bytes=0-1,5-6"}) {
+            mockMvc.perform(download().header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(document));
+        }
+    }
+
+    @Test
+    void ifRangeHonoursTheRangeOnlyForTheCurrentEtag() throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(document, 0, 10)));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"another-version\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(document));
+        mockMvc.perform(download().header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "Wed, 21 Oct 2015 07:28:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(document));
+    }
+
+    @Test
+    void headSendsTheHeadersOfTheRangeWithoutABody() throws Exception {
+        mockMvc.perform(head(contentUrl).header(HttpHeaders.RANGE, "bytes=100-199").with(user("reader")))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/" + SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void unknownReferenceIsNotFound() throws Exception {
+        String otherReference = SupplierDocumentService.REFERENCE_PREFIX + "0".repeat(64);
+        mockMvc.perform(get("/supplier-service/" + supplierId + "/documents/" + otherReference + "/content").with(user("reader")))
+                .andExpect(status().isNotFound());
+    }
+
+    private void expectPartial(String range, int start, int end) throws Exception {
+        mockMvc.perform(download().header(HttpHeaders.RANGE, range))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, end - start + 1))
+                .andExpect(content().bytes(Arrays.copyOfRange(document, start, end + 1)));
+    }
+
+    private MockHttpServletRequestBuilder download() {
+        return get(contentUrl).with(user("reader"));
+    }
+
+    private static SupplierDTO supplier() {
+        return TestSuppliers.supplier("Document Supplier", "DOCUMENTS").build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.exception.DocumentTooLargeException;
+import com.bufalari.supplier.service.SupplierDocumentService;
+import com.bufalari.supplier.service.SupplierService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies document upload limits against a storage of its own: empty uploads are 400 and store nothing (streaming,
+ * unknown length and multipart), uploads over supplier.documents.max-size are 413 whether declared or only discovered
+ * while reading, and the same content uploaded twice is stored once.
+ * Verifica os limites do upload de documentos num armazenamento próprio: uploads vazios são 400 e não gravam nada
+ * (streaming, tamanho desconhecido e multipart), uploads acima de supplier.documents.max-size são 413 declarados ou descobertos na
+ * leitura, e o mesmo conteúdo enviado duas vezes é armazenado uma vez.
+ */
+@SpringBootTest(properties = "supplier.documents.max-size=1KB")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierDocumentUploadTests {
+
+    private static final int MAX_SIZE = 1024;
+
+    @TempDir
+    static Path storageRoot;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierDocumentService supplierDocumentService;
+
+    private UUID supplierId;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("supplier.documents.storage.local.root", () -> storageRoot.toString());
+    }
+
+    @BeforeEach
+    void createSupplier() {
+        supplierId = supplierService.createSupplier(TestSuppliers.supplier("Upload Supplier", "UPLOADS").build()).getId();
+    }
+
+    @Test
+    void emptyUploadsAreRejectedBeforeAnythingIsStored() throws Exception {
+        List<Path> before = storedFiles();
+
+        mockMvc.perform(post(documentsUrl()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(new byte[0]).with(editor()))
+                .andExpect(status().isBadRequest());
+        // Chunked: tamanho desconhecido (o MockMvc sempre informa o tamanho do corpo)
+        assertThrows(IllegalArgumentException.class, () -> supplierDocumentService.upload(supplierId, new ByteArrayInputStream(new byte[0]), -1));
+        mockMvc.perform(multipart(documentsUrl()).file(new MockMultipartFile("file", "empty.pdf", MediaType.APPLICATION_PDF_VALUE, new byte[0])).with(editor()))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(before, storedFiles());
+        assertEquals(List.of(), supplierService.getSupplierById(supplierId).getDocumentReferences());
+    }
+
+    @Test
+    void uploadsOverTheMaximumSizeArePayloadTooLarge() throws Exception {
+        List<Path> before = storedFiles();
+        byte[] document = randomBytes(MAX_SIZE + 1);
+
+        mockMvc.perform(post(documentsUrl()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(document).with(editor()))
+                .andExpect(status().isPayloadTooLarge());
+        // Sem tamanho declarado: só descoberto durante a leitura
+        assertThrows(DocumentTooLargeException.class, () -> supplierDocumentService.upload(supplierId, new ByteArrayInputStream(document), -1));
+
+        assertEquals(before, storedFiles());
+        mockMvc.perform(post(documentsUrl()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(randomBytes(MAX_SIZE)).with(editor()))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void sameContentIsStoredOnce() throws Exception {
+        byte[] document = randomBytes(100);
+
+        String first = upload(document);
+        int stored = storedFiles().size();
+        String second = upload(document);
+
+        assertEquals(first, second);
+        assertEquals(stored, storedFiles().size());
+        assertEquals(List.of(first), supplierService.getSupplierById(supplierId).getDocumentReferences());
+    }
+
+    private String upload(byte[] document) throws Exception {
+        return mockMvc.perform(post(documentsUrl()).contentType(MediaType.APPLICATION_OCTET_STREAM).content(document).with(editor()))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private String documentsUrl() {
+        return "/supplier-service/" + supplierId + "/documents";
+    }
+
+    private static RequestPostProcessor editor() {
+        return user("editor").roles("PURCHASING");
+    }
+
+    /** Every file in the storage, including uploads still in progress. / Todos os arquivos do armazenamento, inclusive uploads em andamento. */
+    private static List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(storageRoot)) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
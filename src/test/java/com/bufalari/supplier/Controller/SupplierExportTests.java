@@ -0,0 +1,180 @@
+package com.bufalari.supplier.Controller;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.converter.SupplierCsvConverter;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.service.SupplierBulkImportService;
+import com.bufalari.supplier.service.SupplierService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the streaming export: every supplier is written once in (name, id) order across export chunks, NDJSON
+ * puts one escaped JSON document per line, CSV quotes commas, quotes and line breaks and neutralises formulas so the
+ * import reads the same values back, and unknown formats are rejected with 400. Uses its own database so the export holds only its rows.
+ * Verifica a exportação em stream: cada fornecedor sai uma vez, na ordem (name, id), atravessando os blocos; o NDJSON
+ * tem um documento JSON escapado por linha; o CSV coloca entre aspas vírgulas, aspas e quebras de linha e neutraliza
+ * fórmulas, de modo que a importação lê os mesmos valores; e formatos desconhecidos recebem 400. Usa banco próprio.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SupplierExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierBulkImportService supplierBulkImportService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private SupplierCsvConverter supplierCsvConverter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportStreamsEverySupplierOnceInNameOrderAcrossChunks() throws Exception {
+        List<SupplierDTO> suppliers = new ArrayList<>();
+        for (int i = 0; i <= SupplierRepository.EXPORT_FETCH_SIZE; i++) {
+            suppliers.add(supplier(String.format("Export %04d", i)).toBuilder().documentReferences(List.of("doc-" + i)).build());
+        }
+        supplierBulkImportService.importJson(new ByteArrayInputStream(objectMapper.writeValueAsBytes(suppliers)));
+
+        List<SupplierDTO> exported = new ArrayList<>();
+        long count = supplierService.exportSuppliers(exported::add);
+
+        assertEquals(supplierRepository.count(), count);
+        assertEquals(count, exported.size());
+        assertEquals(count, exported.stream().map(SupplierDTO::getId).distinct().count(), "no supplier twice");
+        for (int i = 1; i < exported.size(); i++) {
+            assertTrue(exported.get(i - 1).getName().compareTo(exported.get(i).getName()) <= 0, "ordered by name");
+        }
+        SupplierDTO lastOfSecondChunk = exported.stream().filter(s -> s.getName().equals(String.format("Export %04d", SupplierRepository.EXPORT_FETCH_SIZE)))
+                .findFirst().orElseThrow();
+        assertEquals(List.of("doc-" + SupplierRepository.EXPORT_FETCH_SIZE), lastOfSecondChunk.getDocumentReferences(),
+                "document references loaded for later chunks too");
+    }
+
+    @Test
+    void ndjsonHasOneEscapedDocumentPerLine() throws Exception {
+        SupplierDTO tricky = supplierService.createSupplier(supplier("NDJSON \"Quoted\"\nSecond Line").toBuilder().tradeName("Tab\tSeparated").build());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/supplier-service/export").param("format", "ndjson").with(user("reader")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertTrue(response.getContentType().startsWith(SupplierController.APPLICATION_NDJSON_VALUE), response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("suppliers.ndjson"));
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(supplierRepository.count(), lines.length, "one line per supplier; embedded line breaks are escaped");
+        SupplierDTO read = null;
+        for (String line : lines) {
+            SupplierDTO dto = objectMapper.readValue(line, SupplierDTO.class);
+            if (dto.getId().equals(tricky.getId())) {
+                read = dto;
+            }
+        }
+        assertNotNull(read);
+        assertEquals(tricky.getName(), read.getName());
+        assertEquals("Tab\tSeparated", read.getTradeName());
+    }
+
+    @Test
+    void csvQuotesSpecialCharactersAndReadsBackTheSameValues() throws Exception {
+        SupplierDTO tricky = supplierService.createSupplier(supplier("CSV, \"Quoted\" Ltda").toBuilder()
+                .tradeName("Two\nLines")
+                .documentReferences(List.of("a.pdf", "b.pdf"))
+                .build());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/supplier-service/export").param("format", "csv").with(user("reader")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertTrue(response.getContentType().startsWith(SupplierController.TEXT_CSV_VALUE), response.getContentType());
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith(supplierCsvConverter.header() + "\r\n"));
+        assertTrue(body.contains("\"CSV, \"\"Quoted\"\" Ltda\""), "commas and quotes are quoted and doubled");
+
+        BufferedReader reader = new BufferedReader(new StringReader(body));
+        List<String> header = supplierCsvConverter.readRecord(reader);
+        SupplierDTO read = null;
+        List<String> record;
+        while ((record = supplierCsvConverter.readRecord(reader)) != null) {
+            if (record.get(0).equals(tricky.getId().toString())) {
+                read = supplierCsvConverter.fromCsvRecord(header, record);
+            }
+        }
+        assertNotNull(read);
+        assertEquals(tricky.getName(), read.getName());
+        assertEquals("Two\nLines", read.getTradeName(), "quoted line break survives");
+        assertEquals(List.of("a.pdf", "b.pdf"), read.getDocumentReferences().stream().sorted().toList());
+    }
+
+    @Test
+    void csvNeutralisesFormulasAndTheImportRestoresTheValues() throws Exception {
+        SupplierDTO formulas = supplierService.createSupplier(supplier("=HYPERLINK(\"http://evil.example\",\"Click\")").toBuilder()
+                .tradeName("@SUM(1+1)")
+                .primaryContactName("-2+3")
+                .primaryContactPhone("+1 555 0100")
+                .bankName("Banco = Seguro")
+                .build());
+
+        String body = mockMvc.perform(get("/supplier-service/export").param("format", "csv").with(user("reader")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String line = body.lines().filter(candidate -> candidate.startsWith(formulas.getId().toString())).findFirst().orElseThrow();
+
+        List<String> cells = supplierCsvConverter.readRecord(new StringReader(line));
+        List<String> columns = SupplierCsvConverter.COLUMNS;
+        assertEquals("'=HYPERLINK(\"http://evil.example\",\"Click\")", cells.get(columns.indexOf("name")));
+        assertEquals("'@SUM(1+1)", cells.get(columns.indexOf("tradeName")));
+        assertEquals("'-2+3", cells.get(columns.indexOf("primaryContactName")));
+        assertEquals("'+1 555 0100", cells.get(columns.indexOf("primaryContactPhone")));
+        assertEquals("Banco = Seguro", cells.get(columns.indexOf("bankName")), "only the first character matters");
+
+        SupplierDTO read = supplierCsvConverter.fromCsvRecord(columns, cells);
+        assertEquals(formulas.getName(), read.getName());
+        assertEquals("@SUM(1+1)", read.getTradeName());
+        assertEquals("-2+3", read.getPrimaryContactName());
+        assertEquals("+1 555 0100", read.getPrimaryContactPhone());
+    }
+
+    @Test
+    void unsupportedFormatIsABadRequest() throws Exception {
+        mockMvc.perform(get("/supplier-service/export").param("format", "xml").with(user("reader")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static SupplierDTO supplier(String name) {
+        return TestSuppliers.supplier(name, "EXPORT").build();
+    }
+}
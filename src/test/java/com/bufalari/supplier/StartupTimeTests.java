@@ -0,0 +1,287 @@
+package com.bufalari.supplier;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Startup benchmark: launches the service in a fresh JVM against an embedded H2 and measures the time from process
+ * launch to the first successful {@code GET /supplier-service/{id}}. Each run is a cold start (new JVM, nothing
+ * loaded or JIT-compiled). The median is compared with the baseline recorded for the same configuration (Java
+ * version, JVM flags, CDS on or off) and may exceed it by the tolerance at most; the result goes to
+ * {@code target/startup-time.json}.
+ * <p>
+ * With {@code startup.cds=true} the test first makes a training run that writes an AppCDS archive
+ * ({@code -XX:ArchiveClassesAtExit}, leaving right after the context refresh), then starts every measured run with
+ * {@code -XX:SharedArchiveFile} and {@code -Xshare:on}, so a run that cannot use the archive fails instead of quietly
+ * starting without it. CDS only archives classes from JARs, so the class directories of the build are packed into
+ * JARs first, as the Dockerfile does by extracting the boot JAR.
+ * <p>
+ * System properties: {@code startup.runs} (default 3), {@code startup.baseline} (baseline file, default
+ * {@code src/test/startup-baseline.json}), {@code startup.tolerance} (default 0.25, i.e. 25% over the baseline),
+ * {@code startup.record-baseline} (true writes this run's median as the new baseline), {@code startup.cds} and
+ * {@code startup.jvm-args} (extra JVM flags). A configuration without a baseline records one and passes. The
+ * fast-startup Maven profile runs this test with AOT and CDS after the regular suite.
+ * <p>
+ * Benchmark de inicialização: sobe o serviço numa JVM nova com H2 embarcado e mede do lançamento do processo até o
+ * primeiro {@code GET /supplier-service/{id}} com sucesso. A mediana é comparada com a linha de base gravada para a
+ * mesma configuração (versão do Java, flags da JVM, CDS ligado ou não) e pode passar dela no máximo pela tolerância.
+ * Com {@code startup.cds=true}, uma execução de treino grava um arquivo AppCDS e todas as execuções medidas sobem
+ * com {@code -XX:SharedArchiveFile} e {@code -Xshare:on}, falhando se o arquivo não puder ser usado. Uma configuração
+ * sem linha de base grava uma e passa; {@code startup.record-baseline=true} regrava. Marcado com a tag
+ * {@code startup}, fica fora do {@code mvn test} padrão.
+ */
+@Tag("startup")
+class StartupTimeTests {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeTests.class);
+
+    private static final String SECRET_KEY = "test-only-secret-key-with-at-least-256-bits-0123456789";
+    /** Inserted by db/startup/R__startup_seed.sql. / Inserido por db/startup/R__startup_seed.sql. */
+    private static final String SEEDED_SUPPLIER_ID = "5a1e0000-0000-4000-8000-000000000001";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+    /** Limit for one start, baseline or not. / Limite para uma partida, com ou sem linha de base. */
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+    private static final Path WORK_DIRECTORY = Path.of("target", "startup");
+
+    private final int runs = Integer.getInteger("startup.runs", 3);
+    private final Path baselineFile = Path.of(System.getProperty("startup.baseline", "src/test/startup-baseline.json"));
+    private final double tolerance = Double.parseDouble(System.getProperty("startup.tolerance", "0.25"));
+    private final boolean recordBaseline = Boolean.getBoolean("startup.record-baseline");
+    private final boolean cds = Boolean.getBoolean("startup.cds");
+    private final List<String> jvmArgs = Arrays.stream(System.getProperty("startup.jvm-args", "").trim().split("\\s+"))
+            .filter(arg -> !arg.isEmpty())
+            .toList();
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test
+    void firstSuccessfulGetByIdIsWithinToleranceOfTheBaseline() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        String token = token();
+        String classPath = cds ? jarClassPath() : System.getProperty("java.class.path");
+        List<String> runArgs = new ArrayList<>(jvmArgs);
+        if (cds) {
+            Path archive = trainCdsArchive(classPath);
+            runArgs.addAll(List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:on"));
+        }
+        List<Long> times = new ArrayList<>(runs);
+        for (int run = 1; run <= runs; run++) {
+            long millis = timeToFirstResponse(client, token, classPath, runArgs, run);
+            log.info("Startup run {}/{}: first successful GET after {} ms (JVM args: {})", run, runs, millis, runArgs);
+            times.add(millis);
+        }
+
+        List<Long> sorted = times.stream().sorted().toList();
+        long median = sorted.get(sorted.size() / 2);
+        String configuration = configuration();
+        Map<String, Long> baselines = readBaselines();
+        Long baseline = baselines.get(configuration);
+        Files.createDirectories(WORK_DIRECTORY);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("metric", "time-to-first-get-by-id");
+        result.put("unit", "ms");
+        result.put("configuration", configuration);
+        result.put("jvmArgs", runArgs);
+        result.put("runs", times);
+        result.put("median", median);
+        result.put("min", sorted.get(0));
+        result.put("max", sorted.get(sorted.size() - 1));
+        result.put("baseline", baseline);
+        result.put("tolerance", tolerance);
+        Path report = Path.of("target", "startup-time.json");
+        objectMapper.writeValue(report.toFile(), result);
+        log.info("Startup median {} ms over {} runs ({}), baseline {} ms, written to {}",
+                median, runs, configuration, baseline, report.toAbsolutePath());
+
+        if (baseline == null || recordBaseline) {
+            // Sem linha de base para esta configuração (ou regravação pedida): esta mediana passa a ser a referência
+            baselines.put(configuration, median);
+            objectMapper.writeValue(baselineFile.toFile(), baselines);
+            log.warn("Recorded startup baseline {} ms for '{}' in {}", median, configuration, baselineFile.toAbsolutePath());
+            return;
+        }
+        long limit = Math.round(baseline * (1 + tolerance));
+        assertTrue(median <= limit, "median startup " + median + " ms exceeds the baseline of " + baseline + " ms by more than "
+                + Math.round(tolerance * 100) + "% (limit " + limit + " ms, configuration '" + configuration + "')");
+    }
+
+    /** Key of the baseline: results of different setups are not comparable. / Chave da linha de base. */
+    private String configuration() {
+        List<String> parts = new ArrayList<>();
+        parts.add("java" + Runtime.version().feature());
+        parts.addAll(jvmArgs);
+        if (cds) {
+            parts.add("cds");
+        }
+        return String.join(" ", parts);
+    }
+
+    private Map<String, Long> readBaselines() throws IOException {
+        if (!Files.exists(baselineFile)) {
+            return new TreeMap<>();
+        }
+        return objectMapper.readValue(baselineFile.toFile(), new TypeReference<TreeMap<String, Long>>() {
+        });
+    }
+
+    /**
+     * Runs the service once up to the context refresh with -XX:ArchiveClassesAtExit and returns the archive.
+     * Sobe o serviço uma vez até o refresh do contexto com -XX:ArchiveClassesAtExit e devolve o arquivo CDS.
+     */
+    private Path trainCdsArchive(String classPath) throws Exception {
+        Path archive = WORK_DIRECTORY.resolve("supplier-service.jsa");
+        Files.deleteIfExists(archive);
+        List<String> trainingArgs = new ArrayList<>(jvmArgs);
+        trainingArgs.addAll(List.of("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath(), "-Dspring.context.exit=onRefresh"));
+        Path output = WORK_DIRECTORY.resolve("cds-training.log");
+        Process process = new ProcessBuilder(command(classPath, trainingArgs, freePort()))
+                .redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        if (!process.waitFor(START_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            fail("CDS training run did not exit within " + START_TIMEOUT + "; log: " + output);
+        }
+        if (process.exitValue() != 0 || !Files.exists(archive)) {
+            fail("CDS training run exited with code " + process.exitValue() + " without writing " + archive + "; log: " + output);
+        }
+        return archive;
+    }
+
+    /**
+     * The test class path with every directory packed into a JAR, since CDS archives classes from JARs only.
+     * O class path do teste com cada diretório empacotado num JAR, pois o CDS só arquiva classes de JARs.
+     */
+    private static String jarClassPath() throws IOException {
+        Path jars = Files.createDirectories(WORK_DIRECTORY.resolve("classpath"));
+        List<String> entries = new ArrayList<>();
+        int index = 0;
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (!Files.isDirectory(path)) {
+                entries.add(entry);
+                continue;
+            }
+            Path jar = jars.resolve(index++ + "-" + path.getFileName() + ".jar");
+            try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+                 Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.filter(file -> !file.equals(path)).sorted().toList()) {
+                    String name = path.relativize(file).toString().replace(File.separatorChar, '/');
+                    // Entradas de diretório: sem elas o component scan e o Flyway não encontram nada no JAR
+                    out.putNextEntry(new JarEntry(Files.isDirectory(file) ? name + "/" : name));
+                    if (Files.isRegularFile(file)) {
+                        Files.copy(file, out);
+                    }
+                    out.closeEntry();
+                }
+            }
+            entries.add(jar.toAbsolutePath().toString());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private long timeToFirstResponse(HttpClient client, String token, String classPath, List<String> runArgs, int run) throws Exception {
+        int port = freePort();
+        Path output = Files.createTempFile("supplier-startup-" + run + "-", ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/supplier-service/" + SEEDED_SUPPLIER_ID))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command(classPath, runArgs, port)).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+        try {
+            while (true) {
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (!process.isAlive()) {
+                    fail("Service exited with code " + process.exitValue() + " before answering; log: " + output);
+                }
+                if (elapsed > START_TIMEOUT.toMillis()) {
+                    fail("No successful response after " + elapsed + " ms; log: " + output);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        Files.delete(output);
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Tomcat ainda não está escutando
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static List<String> command(String classPath, List<String> extraJvmArgs, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dspring.devtools.restart.enabled=false"); // DevTools está no classpath de teste, mas não no JAR
+        command.addAll(extraJvmArgs);
+        command.addAll(List.of(
+                "-cp", classPath,
+                SupplierServiceApplication.class.getName(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                // Banco próprio, criado pelas migrações Flyway, com um fornecedor semeado por uma migração repetível de teste
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor},classpath:db/startup",
+                // Roles lidas do token: nenhum auth-service precisa estar de pé
+                "--security.jwt.authorization-mode=claims"));
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String token() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("startup-user")
+                .addClaims(Map.of("roles", List.of("PURCHASING")))
+                .setIssuedAt(now)
+                .setExpiration(Date.from(now.toInstant().plus(Duration.ofMinutes(30))))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
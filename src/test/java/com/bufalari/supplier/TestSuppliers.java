@@ -0,0 +1,46 @@
+package com.bufalari.supplier;
+
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Valid suppliers for tests: a random 14-digit business ID, so tests sharing a database never collide, and a
+ * complete address. Callers override what their test is about on the returned builders.
+ * Fornecedores válidos para testes: um ID de negócio aleatório de 14 dígitos, para testes que compartilham o banco
+ * não colidirem, e um endereço completo. Cada teste sobrescreve nos builders o que lhe interessa.
+ */
+public final class TestSuppliers {
+
+    private TestSuppliers() {
+    }
+
+    public static SupplierDTO.SupplierDTOBuilder supplier(String name, String category) {
+        return SupplierDTO.builder()
+                .name(name)
+                .businessIdentificationNumber(randomBusinessId())
+                .category(category)
+                .address(address().build());
+    }
+
+    public static AddressDTO.AddressDTOBuilder address() {
+        return AddressDTO.builder()
+                .street("Rua Teste")
+                .city("Toronto")
+                .province("ON")
+                .postalCode("M5V 1A1")
+                .country("Canada");
+    }
+
+    /** 14 random digits, the unformatted shape of a CNPJ. / 14 dígitos aleatórios, o formato sem pontuação de um CNPJ. */
+    public static String randomBusinessId() {
+        return String.format("%014d", ThreadLocalRandom.current().nextLong(100_000_000_000_000L));
+    }
+
+    /** 12.345.678/0001-99 */
+    public static String formatted(String digits) {
+        return digits.substring(0, 2) + "." + digits.substring(2, 5) + "." + digits.substring(5, 8) + "/"
+                + digits.substring(8, 12) + "-" + digits.substring(12);
+    }
+}
@@ -0,0 +1,150 @@
+package com.bufalari.supplier;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test comparing how many requests can be in flight at once when every request blocks on auth-service,
+ * with platform threads (bounded by the Tomcat pool) and with virtual threads.
+ * Teste de carga comparando quantas requisições podem estar em andamento ao mesmo tempo quando cada uma bloqueia no
+ * auth-service, com threads de plataforma (limitadas pelo pool do Tomcat) e com virtual threads.
+ */
+class VirtualThreadsLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadTests.class);
+
+    private static final int CONCURRENT_REQUESTS = 100;
+    private static final int TOMCAT_MAX_THREADS = 10;
+    private static final Duration AUTH_SERVICE_DELAY = Duration.ofMillis(300);
+    private static final String SECRET_KEY = "test-only-secret-key-with-at-least-256-bits-0123456789";
+
+    /** Outcome of one load run. / Resultado de uma execução de carga. */
+    private record LoadResult(int maxInFlight, long elapsedMillis, List<Integer> statuses) {
+    }
+
+    @Test
+    void platformThreadsCapInFlightRequestsAtTomcatPoolSize() throws Exception {
+        LoadResult result = run(false);
+
+        assertTrue(result.maxInFlight() <= TOMCAT_MAX_THREADS,
+                "in flight " + result.maxInFlight() + " should not exceed the Tomcat pool of " + TOMCAT_MAX_THREADS);
+    }
+
+    @Test
+    @Tag("virtual-threads") // Execução própria do surefire, num JDK 21 (ver pom.xml)
+    void virtualThreadsAreNotCappedByTomcatPool() throws Exception {
+        assertTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21; this JVM is " + Runtime.version());
+        LoadResult result = run(true);
+
+        assertTrue(result.maxInFlight() > TOMCAT_MAX_THREADS * 4,
+                "in flight " + result.maxInFlight() + " should be well above the Tomcat pool of " + TOMCAT_MAX_THREADS);
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        HttpServer authService = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        ExecutorService stubExecutor = Executors.newCachedThreadPool();
+        authService.setExecutor(stubExecutor);
+        authService.createContext("/users/username/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(AUTH_SERVICE_DELAY.toMillis()); // auth-service lento
+                String username = exchange.getRequestURI().getPath().substring("/users/username/".length());
+                byte[] body = ("{\"username\":\"" + username + "\",\"password\":\"\",\"roles\":[\"PURCHASING\"]}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        authService.start();
+
+        ExecutorService clientExecutor = Executors.newCachedThreadPool();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SupplierServiceApplication.class)
+                .profiles("test")
+                .run(
+                        // Argumentos de linha de comando têm precedência sobre application-test.yml
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--auth.service.url=http://localhost:" + authService.getAddress().getPort(),
+                        // O bulkhead do auth-service não pode ser o limite medido aqui
+                        "--resilience4j.bulkhead.instances.auth-service-client-supplier.max-concurrent-calls=" + CONCURRENT_REQUESTS,
+                        // Banco próprio: o H2 compartilhado pelos outros testes não pode ser dropado aqui
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";MODE=PostgreSQL")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().executor(clientExecutor).build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                // Um usuário por requisição: cada uma perde o cache de UserDetails e chama o auth-service
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/supplier-service/" + UUID.randomUUID()))
+                        .header("Authorization", "Bearer " + token("load-user-" + i))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+            List<Integer> statuses = new ArrayList<>(CONCURRENT_REQUESTS);
+            for (CompletableFuture<HttpResponse<Void>> response : responses) {
+                statuses.add(response.join().statusCode());
+            }
+            LoadResult result = new LoadResult(maxInFlight.get(), (System.nanoTime() - start) / 1_000_000, statuses);
+            log.info("Load run (virtual threads: {}): {} requests, max {} in flight at auth-service, {} ms total",
+                    virtualThreads, CONCURRENT_REQUESTS, result.maxInFlight(), result.elapsedMillis());
+
+            // Fornecedores inexistentes: 404 prova que a requisição passou pela autenticação
+            assertEquals(CONCURRENT_REQUESTS, result.statuses().stream().filter(status -> status == 404).count());
+            return result;
+        } finally {
+            authService.stop(0);
+            stubExecutor.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static String token(String username) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(username)
+                .addClaims(Map.of("roles", List.of("PURCHASING")))
+                .setIssuedAt(now)
+                .setExpiration(Date.from(now.toInstant().plus(Duration.ofMinutes(5))))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,256 @@
+package com.bufalari.supplier.client;
+
+import com.bufalari.supplier.config.FeignClientDefaults;
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the outbound client layer (pooling, timeouts, bulkhead, circuit breaker, fallback, metrics) of
+ * {@link AuthServiceClient} against a local stub auth-service.
+ * Verifica a camada de clientes externos (pool, timeouts, bulkhead, circuit breaker, fallback, métricas) do
+ * {@link AuthServiceClient} contra um auth-service stub local.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.cloud.openfeign.client.config.auth-service-client-supplier.read-timeout=500",
+        "resilience4j.bulkhead.instances.auth-service-client-supplier.max-concurrent-calls=2",
+        "resilience4j.circuitbreaker.configs.auth-service-client-supplier.sliding-window-size=4",
+        "resilience4j.circuitbreaker.configs.auth-service-client-supplier.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.configs.auth-service-client-supplier.wait-duration-in-open-state=60s"
+})
+@ActiveProfiles("test")
+class FeignClientResilienceTests {
+
+    private static final String CLIENT_NAME = "auth-service-client-supplier";
+    private static final String USER_JSON = "{\"username\":\"ana\",\"password\":\"\",\"roles\":[\"PURCHASING\"]}";
+
+    private static final AtomicReference<HttpHandler> behaviour = new AtomicReference<>();
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService stubExecutor = Executors.newCachedThreadPool();
+    private static final HttpServer authService = startStub();
+
+    @Autowired
+    private AuthServiceClient authServiceClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MetricsProperties metricsProperties;
+
+    @DynamicPropertySource
+    static void authServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("auth.service.url", () -> "http://localhost:" + authService.getAddress().getPort());
+    }
+
+    @BeforeEach
+    void reset() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+        hits.set(0);
+        clientPorts.clear();
+        behaviour.set(exchange -> respond(exchange, 200, USER_JSON));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        authService.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    void reusesPooledConnectionAndRecordsLatencyHistogramPerClient() {
+        Timer before = latencyTimer();
+        long countBefore = before != null ? before.count() : 0;
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ana", authServiceClient.getUserByUsername("ana").getUsername());
+        }
+
+        assertEquals(20, hits.get());
+        // Conexões ociosas de outros testes podem estar no pool; sem pool seriam 20 conexões
+        assertTrue(clientPorts.size() <= 2, "sequential calls should reuse keep-alive connections, saw ports " + clientPorts);
+        Timer timer = latencyTimer();
+        assertNotNull(timer);
+        assertEquals(countBefore + 20, timer.count());
+        // Buckets só aparecem em registries com percentis agregáveis (ex.: Prometheus); aqui conferimos a configuração
+        assertEquals(Boolean.TRUE, metricsProperties.getDistribution().getPercentilesHistogram().get("http.client.requests"));
+    }
+
+    @Test
+    void readTimeoutFailsFastAsServiceUnavailable() {
+        behaviour.set(exchange -> {
+            sleep(3_000);
+            respond(exchange, 200, USER_JSON);
+        });
+
+        long start = System.nanoTime();
+        ExternalServiceUnavailableException e = assertThrows(ExternalServiceUnavailableException.class,
+                () -> authServiceClient.getUserByUsername("ana"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 2_000, "read timeout of 500 ms should cut the call short, took " + elapsedMillis + " ms");
+        assertEquals("auth-service", e.getService());
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondConcurrencyLimit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        behaviour.set(exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+                respond(exchange, 200, USER_JSON);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                calls.add(callers.submit(() -> authServiceClient.getUserByUsername("ana")));
+            }
+            int rejected = 0;
+            for (Future<?> call : calls) {
+                try {
+                    call.get(200, TimeUnit.MILLISECONDS);
+                } catch (java.util.concurrent.TimeoutException stillRunning) {
+                    // chamada admitida, aguardando o stub
+                } catch (java.util.concurrent.ExecutionException e) {
+                    assertInstanceOf(ExternalServiceUnavailableException.class, e.getCause());
+                    assertInstanceOf(BulkheadFullException.class, e.getCause().getCause());
+                    rejected++;
+                }
+            }
+            release.countDown();
+            for (Future<?> call : calls) {
+                try {
+                    call.get(5, TimeUnit.SECONDS);
+                } catch (java.util.concurrent.ExecutionException ignored) {
+                    // já contadas acima
+                }
+            }
+
+            assertEquals(3, rejected);
+            assertEquals(2, maxInFlight.get());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void circuitOpensAfterServerErrorsAndStopsCallingService() {
+        behaviour.set(exchange -> respond(exchange, 500, "{}"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ExternalServiceUnavailableException.class, () -> authServiceClient.getUserByUsername("ana"));
+        }
+        for (int i = 0; i < 10; i++) {
+            ExternalServiceUnavailableException e = assertThrows(ExternalServiceUnavailableException.class,
+                    () -> authServiceClient.getUserByUsername("ana"));
+            assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        }
+
+        assertEquals(4, hits.get(), "an open circuit must not reach auth-service");
+        // Um breaker por cliente, não por método (AuthServiceClient#getUserByUsername(String))
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker(CLIENT_NAME).getState());
+        assertTrue(circuitBreakerRegistry.getAllCircuitBreakers().stream().noneMatch(circuitBreaker -> circuitBreaker.getName().contains("#")));
+    }
+
+    @Test
+    void clientErrorsPropagateAndDoNotOpenCircuit() {
+        behaviour.set(exchange -> respond(exchange, 404, "{}"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(FeignException.NotFound.class, () -> authServiceClient.getUserByUsername("nobody"));
+        }
+
+        assertEquals(10, hits.get());
+        circuitBreakerRegistry.getAllCircuitBreakers()
+                .forEach(circuitBreaker -> assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState(), circuitBreaker.getName()));
+    }
+
+    private Timer latencyTimer() {
+        return meterRegistry.find("http.client.requests").tag(FeignClientDefaults.CLIENT_NAME_TAG, CLIENT_NAME).tag("http.status_code", "200").timer();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 50);
+            server.setExecutor(stubExecutor);
+            server.createContext("/", exchange -> {
+                hits.incrementAndGet();
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                behaviour.get().handle(exchange);
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.bufalari.supplier.datasource;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.ResourceNotFoundException;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.bufalari.supplier.service.SupplierService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies read-replica routing against two H2 databases that do not replicate to each other, so where a read went
+ * shows in what it finds: read-only transactions read the replica, writes and primary-scoped reads use the primary,
+ * a lagging or failing replica is skipped, and the supplier cache never stores what a replica returned.
+ * Verifica o roteamento para réplicas com dois bancos H2 que não replicam entre si, então o resultado de uma leitura
+ * mostra de onde ela veio: transações somente leitura leem a réplica, escritas e leituras no escopo primário usam o
+ * primário, uma réplica atrasada ou com falha é pulada, e o cache de fornecedores nunca guarda o que veio da réplica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "supplier.datasource.replicas.urls=" + ReadReplicaRoutingTests.REPLICA_URL,
+        // O atraso "medido" vem de uma tabela da réplica controlada pelo teste
+        "supplier.datasource.replicas.lag-query=SELECT MAX(lag_seconds) FROM replica_lag",
+        "supplier.datasource.replicas.check-interval=PT1H", // Checagens só quando o teste chama check()
+        "supplier.cache.revalidate-after=PT1M" // Entradas do cache continuam frescas durante cada teste
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ReplicaMonitor replicaMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", "password"));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+    @BeforeEach
+    void healthyReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "password")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE PRECISION)");
+        setReplicaLag(0);
+        replicaMonitor.check();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaAndWritesGoToThePrimary() {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM suppliers WHERE id = ?", Integer.class, created.getId()));
+        assertFalse(existsReadOnly(created.getId()), "read-only transaction reads the replica");
+        assertThrows(ResourceNotFoundException.class, () -> readOnly().execute(status -> supplierService.getSupplierById(created.getId())));
+
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            assertTrue(existsReadOnly(created.getId()), "primary scope reads the primary");
+            assertEquals(created.getName(), supplierService.getSupplierById(created.getId()).getName());
+        }
+    }
+
+    @Test
+    void supplierCacheIsFilledFromThePrimaryAndBypassedInPrimaryScope() {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+        UUID id = created.getId();
+        // A réplica guarda uma versão antiga do mesmo fornecedor
+        replica.update("INSERT INTO suppliers (id, name, created_at, last_modified_at) VALUES (?, ?, ?, ?)",
+                id, "Stale Replica Copy", LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(1));
+
+        assertEquals("Stale Replica Copy", readOnly().execute(status -> supplierService.getSupplierById(id).getName()),
+                "read-only transaction reads the replica");
+        assertEquals(created.getName(), supplierService.getSupplierById(id).getName(),
+                "the replica read was not cached; the cache loads from the primary");
+        assertEquals(created.getName(), readOnly().execute(status -> supplierService.getSupplierById(id).getName()),
+                "fresh entry served from the cache");
+
+        // Escrita feita por outra instância: o cache local não é avisado
+        primary.update("UPDATE suppliers SET name = ?, last_modified_at = ? WHERE id = ?",
+                "Changed Elsewhere", LocalDateTime.now().plusSeconds(1), id);
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            assertEquals("Changed Elsewhere", supplierService.getSupplierById(id).getName(), "primary scope bypasses the cache");
+            assertEquals(supplierService.getVersionedSupplierById(id).lastModifiedAt(), supplierService.getSupplierVersion(id),
+                    "primary scope does not answer versions from the cache");
+        }
+        assertEquals(created.getName(), supplierService.getSupplierById(id).getName(),
+                "the primary-scope read did not replace the cached entry");
+    }
+
+    @Test
+    void laggingOrFailingReplicaIsSkippedUntilItRecovers() {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+
+        setReplicaLag(60);
+        replicaMonitor.check();
+        assertTrue(existsReadOnly(created.getId()), "lagging replica: read-only transaction reads the primary");
+
+        setReplicaLag(0);
+        replicaMonitor.check();
+        assertFalse(existsReadOnly(created.getId()), "recovered replica is used again");
+
+        replica.execute("DROP TABLE replica_lag"); // A query de checagem passa a falhar
+        replicaMonitor.check();
+        assertTrue(existsReadOnly(created.getId()), "failing replica: read-only transaction reads the primary");
+    }
+
+    @Test
+    void readYourWritesFilterRoutesRecentWritersAndHeaderToThePrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1), true);
+        authenticate("writer");
+        assertFalse(primaryRequiredFor(filter, get()), "no recent write");
+
+        filter.doFilter(new MockHttpServletRequest("PUT", "/supplier-service/" + UUID.randomUUID()), new MockHttpServletResponse(),
+                (request, response) -> ((MockHttpServletResponse) response).setStatus(200));
+        assertTrue(primaryRequiredFor(filter, get()), "same user after a write");
+
+        authenticate("reader");
+        assertFalse(primaryRequiredFor(filter, get()), "other users are not affected");
+        MockHttpServletRequest withHeader = get();
+        withHeader.addHeader(ReadYourWritesFilter.HEADER, "true");
+        assertTrue(primaryRequiredFor(filter, withHeader), "explicit header");
+        assertFalse(ReadRouting.isPrimaryRequired(), "scope closed after the request");
+    }
+
+    private boolean existsReadOnly(UUID id) {
+        return Boolean.TRUE.equals(readOnly().execute(status -> supplierRepository.existsById(id)));
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
+
+    private void setReplicaLag(double seconds) {
+        replica.update("DELETE FROM replica_lag");
+        replica.update("INSERT INTO replica_lag (lag_seconds) VALUES (?)", seconds);
+    }
+
+    private static boolean primaryRequiredFor(ReadYourWritesFilter filter, MockHttpServletRequest request) throws Exception {
+        boolean[] primary = new boolean[1];
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> primary[0] = ReadRouting.isPrimaryRequired());
+        return primary[0];
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/supplier-service/" + UUID.randomUUID());
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static SupplierDTO supplier() {
+        return TestSuppliers.supplier("Routing Supplier", "ROUTING").build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.bufalari.supplier.observability;
+
+import com.bufalari.supplier.converter.SupplierConverter;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.security.CustomUserDetailsService;
+import com.bufalari.supplier.security.JwtAuthenticationFilter;
+import com.bufalari.supplier.security.JwtUtil;
+import com.bufalari.supplier.service.SupplierService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the per-layer timers, the slow-query log and the custom JFR events.
+ * Verifica os timers por camada, o log de queries lentas e os eventos JFR customizados.
+ */
+@SpringBootTest(properties = {
+        "supplier.observability.slow-query.threshold=0ms", // Todo comando conta como lento
+        "spring.datasource.url=jdbc:h2:mem:observability;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class ObservabilityTests {
+
+    private static final String SECRET_KEY = "test-only-secret-key-with-at-least-256-bits-0123456789";
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierConverter supplierConverter;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void servicesAndRepositoriesAreTimedAndStatementsAttributedToTheirServiceMethod() {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+        supplierService.getSupplierById(created.getId());
+
+        Timer serviceTimer = meterRegistry.find(ServiceMethodTimingAspect.METRIC_NAME)
+                .tags("class", "SupplierService", "method", "createSupplier", "exception", "none").timer();
+        assertNotNull(serviceTimer);
+        assertTrue(serviceTimer.count() >= 1);
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "SupplierRepository", "method", "existsByNormalizedBusinessId").timer());
+
+        SlowQueryLog.SlowQuery insert = slowQueryLog.recent().stream()
+                .filter(query -> query.sql().startsWith("insert into suppliers"))
+                .findFirst().orElseThrow();
+        assertEquals("SupplierService.createSupplier", insert.caller());
+        assertTrue(insert.bindCount() > 10, "one bind per column, got " + insert.bindCount());
+        assertTrue(slowQueryLog.recent().stream().anyMatch(query -> query.caller().equals("SupplierService.getSupplierById")));
+        assertTrue(meterRegistry.find("supplier.db.slow.queries").tag("caller", "SupplierService.createSupplier").counter().count() >= 1);
+    }
+
+    @Test
+    void jwtFilterAndConvertersEmitJfrEvents() throws Exception {
+        Path file = Files.createTempFile("supplier-observability", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.bufalari.supplier.Conversion").withThreshold(Duration.ZERO);
+            recording.enable("com.bufalari.supplier.JwtAuthentication");
+            recording.start();
+
+            supplierConverter.dtoToEntity(supplier());
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/supplier-service/" + UUID.randomUUID());
+            request.addHeader("Authorization", "Bearer " + token());
+            new JwtAuthenticationFilter(userDetailsService, jwtUtil, JwtAuthenticationFilter.MODE_CLAIMS, false)
+                    .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            SecurityContextHolder.clearContext();
+
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.bufalari.supplier.Conversion")
+                    && "dtoToEntity".equals(e.getString("operation"))));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("com.bufalari.supplier.JwtAuthentication")
+                    && "authenticated".equals(e.getString("outcome"))));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static SupplierDTO supplier() {
+        return SupplierDTO.builder()
+                .name("Observability Supplier")
+                .businessIdentificationNumber("OBS-" + UUID.randomUUID().toString().substring(0, 8))
+                .category("OBSERVABILITY")
+                .build();
+    }
+
+    private static String token() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("observability-user")
+                .addClaims(Map.of("roles", List.of("ADMIN")))
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,119 @@
+package com.bufalari.supplier.security;
+
+import com.bufalari.supplier.client.AuthServiceClient;
+import com.bufalari.supplier.dto.UserDetailsDTO;
+import com.bufalari.supplier.exception.ExternalServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests of the user-details cache: hits within the TTL, a new call to auth-service after it, one call for
+ * concurrent requests of the same user, failures not cached, and no password hash kept in the cached user.
+ * Testes unitários do cache de UserDetails: hits dentro do TTL, nova chamada ao auth-service depois dele, uma
+ * chamada para requisições simultâneas do mesmo usuário, falhas não cacheadas, e nenhum hash de senha no cache.
+ */
+class CustomUserDetailsServiceTests {
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+
+    @Test
+    void cachedUserHasRolesButNoPasswordHash() {
+        when(authServiceClient.getUserByUsername("alice")).thenReturn(user("alice"));
+
+        UserDetails user = service(Duration.ofMinutes(5)).loadUserByUsername("alice");
+
+        assertEquals("", user.getPassword());
+        assertEquals(List.of("ROLE_PURCHASING"), user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void userIsServedFromTheCacheUntilTheTtl() throws InterruptedException {
+        when(authServiceClient.getUserByUsername("alice")).thenReturn(user("alice"));
+        CustomUserDetailsService service = service(Duration.ofSeconds(1));
+
+        UserDetails first = service.loadUserByUsername("alice");
+        assertSame(first, service.loadUserByUsername("alice"));
+        verify(authServiceClient, times(1)).getUserByUsername("alice");
+
+        Thread.sleep(1_200);
+
+        service.loadUserByUsername("alice");
+        verify(authServiceClient, times(2)).getUserByUsername("alice");
+    }
+
+    @Test
+    void concurrentRequestsForOneUserShareOneCall() throws Exception {
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(authServiceClient.getUserByUsername("alice")).thenAnswer(invocation -> {
+            called.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return user("alice");
+        });
+        CustomUserDetailsService service = service(Duration.ofMinutes(5));
+        AtomicReference<UserDetails> firstResult = new AtomicReference<>();
+        AtomicReference<UserDetails> secondResult = new AtomicReference<>();
+
+        Thread first = new Thread(() -> firstResult.set(service.loadUserByUsername("alice")));
+        first.start();
+        assertTrue(called.await(10, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> secondResult.set(service.loadUserByUsername("alice")));
+        second.start();
+        awaitWaiting(second); // Aguarda a chamada em andamento, sem chamar o auth-service
+        release.countDown();
+        first.join(10_000);
+        second.join(10_000);
+
+        assertSame(firstResult.get(), secondResult.get());
+        verify(authServiceClient, times(1)).getUserByUsername("alice");
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        when(authServiceClient.getUserByUsername("alice"))
+                .thenThrow(new ExternalServiceUnavailableException("auth-service", new RuntimeException("down")))
+                .thenReturn(null)
+                .thenReturn(user("alice"));
+        CustomUserDetailsService service = service(Duration.ofMinutes(5));
+
+        assertThrows(ExternalServiceUnavailableException.class, () -> service.loadUserByUsername("alice"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("alice"));
+        assertEquals("alice", service.loadUserByUsername("alice").getUsername());
+        verify(authServiceClient, times(3)).getUserByUsername("alice");
+    }
+
+    private CustomUserDetailsService service(Duration ttl) {
+        return new CustomUserDetailsService(authServiceClient, new SimpleMeterRegistry(), ttl, 100);
+    }
+
+    private static UserDetailsDTO user(String username) {
+        return new UserDetailsDTO(UUID.randomUUID(), username, "$2a$10$hash-from-auth-service", List.of("PURCHASING"));
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+}
@@ -0,0 +1,94 @@
+package com.bufalari.supplier.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests of the verified-claims cache: a token is parsed once and then served from the cache, each entry
+ * expires at the token's exp or at max-ttl, whichever comes first, and invalid or expired tokens are never cached.
+ * Testes unitários do cache de claims verificadas: um token é verificado uma vez e depois servido do cache, cada
+ * entrada expira no exp do token ou no max-ttl, o que vier antes, e tokens inválidos ou expirados nunca são cacheados.
+ */
+class JwtUtilTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tokenIsVerifiedOnceAndThenServedFromTheCache() {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofMinutes(15));
+        String token = TestTokens.token("alice", List.of("PURCHASING"), Duration.ofMinutes(5));
+
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims(token);
+
+        assertSame(first, second);
+        assertEquals("alice", second.getSubject());
+        assertEquals(1, gets("miss"));
+        assertEquals(1, gets("hit"));
+    }
+
+    @Test
+    void entryExpiresAtTheTokensExp() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofMinutes(15));
+        String token = TestTokens.token("alice", List.of("PURCHASING"), Duration.ofMillis(1500));
+        jwtUtil.parseClaims(token);
+
+        Thread.sleep(2_000); // exp tem precisão de segundos: já passou
+
+        // Uma entrada ainda no cache devolveria as claims sem verificar o exp de novo
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseClaims(token));
+    }
+
+    @Test
+    void entryExpiresAtMaxTtlBeforeALaterExp() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofSeconds(1));
+        String token = TestTokens.token("alice", List.of("PURCHASING"), Duration.ofHours(1));
+        jwtUtil.parseClaims(token);
+        jwtUtil.parseClaims(token);
+        assertEquals(1, gets("miss"));
+
+        Thread.sleep(1_200);
+
+        jwtUtil.parseClaims(token);
+        assertEquals(2, gets("miss"), "verified again after max-ttl");
+    }
+
+    @Test
+    void invalidAndExpiredTokensAreNotCached() {
+        JwtUtil jwtUtil = jwtUtil(Duration.ofMinutes(15));
+        String forged = TestTokens.token("mallory", List.of("ADMIN"), Duration.ofMinutes(5), "another-secret-key-with-at-least-256-bits-abcdefghij");
+        String expired = TestTokens.token("alice", List.of("PURCHASING"), Duration.ofMinutes(-1));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThrows(SignatureException.class, () -> jwtUtil.parseClaims(forged));
+            assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseClaims(expired));
+        }
+        assertEquals(4, gets("miss"), "verified on every attempt");
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "jwtClaims").gauge().value());
+    }
+
+    private JwtUtil jwtUtil(Duration maxTtl) {
+        JwtUtil jwtUtil = new JwtUtil(meterRegistry);
+        ReflectionTestUtils.setField(jwtUtil, "configuredSecretKey", TestTokens.SECRET_KEY);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxTtl", maxTtl);
+        ReflectionTestUtils.setField(jwtUtil, "rolesClaim", "roles");
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "jwtClaims", "result", result).functionCounter().count();
+    }
+}
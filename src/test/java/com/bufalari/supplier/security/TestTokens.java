@@ -0,0 +1,47 @@
+package com.bufalari.supplier.security;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Signed JWTs for tests, with the secret key of application-test.yml.
+ * JWTs assinados para testes, com a chave secreta de application-test.yml.
+ */
+public final class TestTokens {
+
+    /** Same value as security.jwt.token.secret-key in application-test.yml. / Mesmo valor de application-test.yml. */
+    public static final String SECRET_KEY = "test-only-secret-key-with-at-least-256-bits-0123456789";
+
+    private TestTokens() {
+    }
+
+    /**
+     * A token for {@code subject} valid for {@code validFor}, with a roles claim unless {@code roles} is null.
+     * Um token para {@code subject} válido por {@code validFor}, com claim de roles a menos que {@code roles} seja null.
+     */
+    public static String token(String subject, List<String> roles, Duration validFor) {
+        return token(subject, roles, validFor, SECRET_KEY);
+    }
+
+    /**
+     * Same as {@link #token(String, List, Duration)}, signed with another key (rejected by the service).
+     * Igual a {@link #token(String, List, Duration)}, assinado com outra chave (recusado pelo serviço).
+     */
+    public static String token(String subject, List<String> roles, Duration validFor, String secretKey) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + validFor.toMillis()));
+        if (roles != null) {
+            builder.claim("roles", roles);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8))).compact();
+    }
+}
@@ -0,0 +1,172 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierImportResultDTO;
+import com.bufalari.supplier.dto.SupplierImportRowResultDTO;
+import com.bufalari.supplier.dto.SupplierImportStatus;
+import com.bufalari.supplier.repository.SupplierRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies bulk import: rows are written in chunks, duplicate business IDs are caught within a chunk, across chunks
+ * and against the database, unreadable rows are reported per row, and CSV quoting and a leading BOM are honoured.
+ * Verifica a importação em lote: linhas gravadas em blocos, Business IDs duplicados detectados no bloco, entre blocos
+ * e contra o banco, linhas ilegíveis informadas por linha, e aspas do CSV e BOM inicial respeitados.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SupplierBulkImportTests {
+
+    @Autowired
+    private SupplierBulkImportService supplierBulkImportService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void jsonImportSpanningChunksReportsDuplicatesWithinAcrossChunksAndAgainstTheDatabase() throws Exception {
+        String prefix = randomPrefix();
+        supplierService.createSupplier(supplier(prefix, 7));
+        int total = SupplierBulkImportService.CHUNK_SIZE + 10;
+        List<SupplierDTO> suppliers = new ArrayList<>();
+        for (int i = 1; i <= total; i++) {
+            suppliers.add(supplier(prefix, i));
+        }
+        suppliers.set(2, supplier(prefix, 1).toBuilder().businessIdentificationNumber(TestSuppliers.formatted(businessId(prefix, 1))).build()); // linha 3 = linha 1, no mesmo bloco
+        suppliers.set(SupplierBulkImportService.CHUNK_SIZE + 4, supplier(prefix, 2)); // linha do segundo bloco repete a linha 2
+
+        SupplierImportResultDTO result = supplierBulkImportService.importJson(json(suppliers));
+
+        assertEquals(total, result.getTotalRows());
+        assertEquals(total - 3, result.getCreated());
+        assertEquals(3, result.getDuplicates());
+        assertEquals(SupplierImportStatus.DUPLICATE, row(result, 3).getStatus());
+        assertEquals(SupplierImportStatus.DUPLICATE, row(result, 7).getStatus());
+        assertEquals(SupplierImportStatus.DUPLICATE, row(result, SupplierBulkImportService.CHUNK_SIZE + 5).getStatus());
+        assertNull(row(result, 3).getId());
+        for (int rowNumber : List.of(1, SupplierBulkImportService.CHUNK_SIZE, SupplierBulkImportService.CHUNK_SIZE + 1, total)) {
+            SupplierImportRowResultDTO created = row(result, rowNumber);
+            assertEquals(SupplierImportStatus.CREATED, created.getStatus());
+            assertTrue(supplierRepository.existsById(created.getId()), "row " + rowNumber + " was written");
+        }
+    }
+
+    @Test
+    void unmappableJsonElementIsAValidationErrorAndTheImportContinues() throws Exception {
+        String prefix = randomPrefix();
+        String body = "[" + objectMapper.writeValueAsString(supplier(prefix, 1))
+                + ",{\"name\":\"Wrong Address\",\"address\":\"not an object\",\"businessIdentificationNumber\":\"" + businessId(prefix, 2) + "\"}"
+                + ",{\"name\":\"Missing Address\",\"businessIdentificationNumber\":\"" + businessId(prefix, 3) + "\"}"
+                + "," + objectMapper.writeValueAsString(supplier(prefix, 4)) + "]";
+
+        SupplierImportResultDTO result = supplierBulkImportService.importJson(stream(body));
+
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getCreated());
+        assertEquals(2, result.getValidationErrors());
+        assertEquals(SupplierImportStatus.VALIDATION_ERROR, row(result, 2).getStatus());
+        assertEquals(SupplierImportStatus.VALIDATION_ERROR, row(result, 3).getStatus());
+        assertEquals(SupplierImportStatus.CREATED, row(result, 4).getStatus());
+    }
+
+    @Test
+    void malformedJsonAfterACommittedChunkReturnsTheResultsSoFar() throws Exception {
+        String prefix = randomPrefix();
+        List<SupplierDTO> suppliers = new ArrayList<>();
+        for (int i = 1; i <= SupplierBulkImportService.CHUNK_SIZE; i++) {
+            suppliers.add(supplier(prefix, i));
+        }
+        String valid = objectMapper.writeValueAsString(suppliers);
+        String body = valid.substring(0, valid.length() - 1) + ",{\"name\":\"Broken\",}," + objectMapper.writeValueAsString(supplier(prefix, 999)) + "]";
+
+        SupplierImportResultDTO result = supplierBulkImportService.importJson(stream(body));
+
+        assertEquals(SupplierBulkImportService.CHUNK_SIZE + 1, result.getTotalRows());
+        assertEquals(SupplierBulkImportService.CHUNK_SIZE, result.getCreated());
+        SupplierImportRowResultDTO broken = row(result, SupplierBulkImportService.CHUNK_SIZE + 1);
+        assertEquals(SupplierImportStatus.VALIDATION_ERROR, broken.getStatus());
+        assertTrue(broken.getErrors().get(0).startsWith("Malformed JSON"), broken.getErrors().get(0));
+        assertTrue(supplierRepository.existsById(row(result, 1).getId()), "first chunk stays committed");
+    }
+
+    @Test
+    void csvImportHonoursBomQuotingAndReportsRowStatuses() throws Exception {
+        String prefix = randomPrefix();
+        String csv = "\uFEFFname,tradeName,businessIdentificationNumber,street,city,province,postalCode,country,documentReferences\r\n"
+                + "\"Comma, Quote \"\"Ltd\"\"\",\"Two\nLines\"," + businessId(prefix, 1) + ",Rua A,Toronto,ON,M5V 1A1,Canada,doc-a|doc-b\r\n"
+                + "\r\n"
+                + "Plain Supplier,," + businessId(prefix, 2) + ",Rua B,Toronto,ON,M5V 1A1,Canada,\r\n"
+                + "Duplicate Supplier,," + TestSuppliers.formatted(businessId(prefix, 2)) + ",Rua C,Toronto,ON,M5V 1A1,Canada,\r\n"
+                + ",,," + businessId(prefix, 3) + ",Rua D,Toronto,ON,M5V 1A1,Canada,\r\n" // coluna a mais
+                + ",," + businessId(prefix, 4) + ",Rua E,Toronto,ON,M5V 1A1,Canada,\r\n"; // sem nome
+
+        SupplierImportResultDTO result = supplierBulkImportService.importCsv(stream(csv));
+
+        assertEquals(5, result.getTotalRows(), "blank line is skipped");
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(2, result.getValidationErrors());
+        assertEquals(SupplierImportStatus.DUPLICATE, row(result, 3).getStatus());
+        assertEquals(SupplierImportStatus.VALIDATION_ERROR, row(result, 4).getStatus());
+        assertNull(row(result, 4).getBusinessIdentificationNumber(), "unparsed row has no business ID");
+        assertEquals(SupplierImportStatus.VALIDATION_ERROR, row(result, 5).getStatus());
+
+        SupplierDTO quoted = supplierService.getSupplierById(row(result, 1).getId());
+        assertEquals("Comma, Quote \"Ltd\"", quoted.getName(), "BOM stripped from the first header column");
+        assertEquals("Two\nLines", quoted.getTradeName());
+        assertEquals(List.of("doc-a", "doc-b"), quoted.getDocumentReferences().stream().sorted().toList());
+        assertNotNull(supplierService.getSupplierById(row(result, 2).getId()));
+    }
+
+    private static SupplierImportRowResultDTO row(SupplierImportResultDTO result, int rowNumber) {
+        SupplierImportRowResultDTO row = result.getRows().get(rowNumber - 1);
+        assertEquals(rowNumber, row.getRowNumber());
+        return row;
+    }
+
+    private InputStream json(List<SupplierDTO> suppliers) throws Exception {
+        return new ByteArrayInputStream(objectMapper.writeValueAsBytes(suppliers));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SupplierDTO supplier(String prefix, int index) {
+        return TestSuppliers.supplier("Import Supplier " + prefix + "-" + index, "IMPORT")
+                .businessIdentificationNumber(businessId(prefix, index))
+                .address(TestSuppliers.address().street("Rua " + index).build())
+                .build();
+    }
+
+    private static String randomPrefix() {
+        return String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000));
+    }
+
+    private static String businessId(String prefix, int index) {
+        return prefix + String.format("%06d", index);
+    }
+}
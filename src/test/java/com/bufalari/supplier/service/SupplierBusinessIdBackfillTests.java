@@ -0,0 +1,72 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies the business_id_normalized backfill: rows written before the column existed are filled in batches
+ * (two rows per batch here), a row whose normalized ID belongs to another supplier is left NULL without stopping the
+ * others, a business ID without letters or digits stays NULL, and a second run finds nothing. Uses its own database.
+ * Verifica o backfill de business_id_normalized: linhas anteriores à coluna são preenchidas em lotes (dois por lote
+ * aqui), uma linha cujo ID normalizado pertence a outro fornecedor fica NULL sem impedir as demais, um business ID
+ * sem letras nem dígitos continua NULL, e uma segunda execução não encontra nada. Usa banco próprio.
+ */
+@SpringBootTest(properties = {
+        "supplier.schema.business-id-backfill-batch-size=2",
+        "spring.datasource.url=jdbc:h2:mem:businessidbackfill;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class SupplierBusinessIdBackfillTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierBusinessIdBackfill supplierBusinessIdBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void legacyRowsAreFilledInBatchesAndDuplicatesAreLeftNull() {
+        List<SupplierDTO> legacy = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            legacy.add(supplierService.createSupplier(TestSuppliers.supplier("Legacy " + i, "BACKFILL")
+                    .businessIdentificationNumber(TestSuppliers.formatted(TestSuppliers.randomBusinessId())).build()));
+        }
+        SupplierDTO owner = supplierService.createSupplier(TestSuppliers.supplier("Owner", "BACKFILL").build());
+        SupplierDTO duplicate = supplierService.createSupplier(TestSuppliers.supplier("Duplicate", "BACKFILL").build());
+        SupplierDTO punctuationOnly = supplierService.createSupplier(TestSuppliers.supplier("Punctuation", "BACKFILL").build());
+        // Como antes da V4: coluna vazia; o duplicado tem o ID do dono com outra pontuação
+        jdbcTemplate.update("UPDATE suppliers SET business_identification_number = ? WHERE id = ?",
+                TestSuppliers.formatted(owner.getBusinessIdentificationNumber()), duplicate.getId());
+        jdbcTemplate.update("UPDATE suppliers SET business_identification_number = './-' WHERE id = ?", punctuationOnly.getId());
+        jdbcTemplate.update("UPDATE suppliers SET business_id_normalized = NULL WHERE category = 'BACKFILL' AND id <> ?", owner.getId());
+
+        assertEquals(legacy.size(), supplierBusinessIdBackfill.backfill());
+
+        for (SupplierDTO supplier : legacy) {
+            assertEquals(BusinessIdentificationNumbers.normalize(supplier.getBusinessIdentificationNumber()), normalized(supplier.getId()));
+        }
+        assertNull(normalized(duplicate.getId()), "the owner keeps the ID");
+        assertEquals(owner.getBusinessIdentificationNumber(), normalized(owner.getId()));
+        assertNull(normalized(punctuationOnly.getId()));
+        assertEquals(0, supplierBusinessIdBackfill.backfill());
+    }
+
+    private String normalized(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT business_id_normalized FROM suppliers WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.ResourceAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies that business ID lookups and duplicate checks ignore punctuation and case.
+ * Verifica que buscas e verificações de duplicidade por business ID ignoram pontuação e caixa.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SupplierBusinessIdTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Test
+    void normalizesToUpperCaseLettersAndDigits() {
+        assertEquals("12345678000199", BusinessIdentificationNumbers.normalize("12.345.678/0001-99"));
+        assertEquals("123456789RT0001", BusinessIdentificationNumbers.normalize(" 123456789 rt 0001 "));
+        assertNull(BusinessIdentificationNumbers.normalize("./-"));
+    }
+
+    @Test
+    void duplicateWithDifferentPunctuationIsRejected() {
+        String digits = TestSuppliers.randomBusinessId();
+        supplierService.createSupplier(supplier("Formatted", TestSuppliers.formatted(digits)));
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> supplierService.createSupplier(supplier("Digits only", digits)));
+    }
+
+    @Test
+    void updateToSameIdWithDifferentPunctuationIsAllowedButNotToAnotherSuppliersId() {
+        String digits = TestSuppliers.randomBusinessId();
+        String otherDigits = TestSuppliers.randomBusinessId();
+        SupplierDTO created = supplierService.createSupplier(supplier("Reformatted", TestSuppliers.formatted(digits)));
+        supplierService.createSupplier(supplier("Other", otherDigits));
+
+        SupplierDTO updated = supplierService.updateSupplier(created.getId(), created.toBuilder().businessIdentificationNumber(digits).build());
+        assertEquals(digits, updated.getBusinessIdentificationNumber());
+        assertThrows(ResourceAlreadyExistsException.class, () -> supplierService.updateSupplier(created.getId(),
+                updated.toBuilder().businessIdentificationNumber(TestSuppliers.formatted(otherDigits)).build()));
+    }
+
+    @Test
+    void batchLookupMatchesAnyFormatAndReportsMissesAsRequested() {
+        String digits = TestSuppliers.randomBusinessId();
+        SupplierDTO created = supplierService.createSupplier(supplier("Batch", TestSuppliers.formatted(digits)));
+        String missing = TestSuppliers.formatted(TestSuppliers.randomBusinessId());
+
+        SupplierBatchResultDTO result = supplierService.getSuppliersBatch(SupplierBatchRequestDTO.builder()
+                .businessIdentificationNumbers(List.of(digits, missing))
+                .build());
+
+        assertEquals(List.of(created.getId()), result.getSuppliers().stream().map(SupplierDTO::getId).toList());
+        assertEquals(List.of(missing), result.getNotFoundBusinessIdentificationNumbers());
+    }
+
+    private static SupplierDTO supplier(String name, String businessId) {
+        return TestSuppliers.supplier("Business ID Supplier " + name, "BUSINESS-ID")
+                .businessIdentificationNumber(businessId)
+                .build();
+    }
+}
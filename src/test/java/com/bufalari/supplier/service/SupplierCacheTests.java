@@ -0,0 +1,188 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.datasource.ReadRouting;
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.repository.SupplierRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests of the supplier cache: hits within the revalidation window, revalidation against last_modified_at,
+ * eviction now and after commit, and the cases where entries are neither served nor stored (primary scope, loads
+ * inside a transaction).
+ * Testes unitários do cache de fornecedores: hits dentro da janela de revalidação, revalidação contra
+ * last_modified_at, remoção imediata e após o commit, e os casos em que entradas não são servidas nem guardadas.
+ */
+class SupplierCacheTests {
+
+    private static final LocalDateTime V1 = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime V2 = V1.plusMinutes(1);
+
+    private final SupplierRepository supplierRepository = mock(SupplierRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID id = UUID.randomUUID();
+    private final AtomicReference<SupplierCache.VersionedSupplier> database = new AtomicReference<>(versioned("Original", V1));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<UUID, Optional<SupplierCache.VersionedSupplier>> loader = supplierId -> {
+        loads.incrementAndGet();
+        return Optional.ofNullable(database.get());
+    };
+
+    @AfterEach
+    void clearTransactionState() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void freshEntryIsServedWithoutTheDatabaseAndCallersGetCopies() {
+        SupplierCache cache = cache(Duration.ofMinutes(1));
+
+        SupplierDTO first = cache.get(id, loader).orElseThrow().supplier();
+        first.setName("Changed by the caller");
+        first.getDocumentReferences().add("added-by-caller.pdf");
+        SupplierCache.VersionedSupplier second = cache.get(id, loader).orElseThrow();
+
+        assertEquals(1, loads.get());
+        assertEquals("Original", second.supplier().getName());
+        assertEquals(0, second.supplier().getDocumentReferences().size());
+        assertEquals(Optional.of(V1), cache.peekFreshVersion(id));
+        verify(supplierRepository, never()).findLastModifiedAtById(id);
+    }
+
+    @Test
+    void staleEntryIsKeptWhenTheVersionMatchesAndReloadedWhenItChanged() {
+        SupplierCache cache = cache(Duration.ZERO);
+        cache.get(id, loader);
+        when(supplierRepository.findLastModifiedAtById(id)).thenReturn(Optional.of(V1));
+
+        assertEquals("Original", cache.get(id, loader).orElseThrow().supplier().getName());
+        assertEquals(1, loads.get(), "same version: served from the cache after the probe");
+        assertEquals(Optional.empty(), cache.peekFreshVersion(id), "entries always need revalidation here");
+
+        // Outra instância alterou o fornecedor
+        database.set(versioned("Changed elsewhere", V2));
+        when(supplierRepository.findLastModifiedAtById(id)).thenReturn(Optional.of(V2));
+
+        SupplierCache.VersionedSupplier reloaded = cache.get(id, loader).orElseThrow();
+        assertEquals("Changed elsewhere", reloaded.supplier().getName());
+        assertEquals(V2, reloaded.lastModifiedAt());
+        assertEquals(2, loads.get());
+        assertEquals(1.0, revalidations("unchanged"));
+        assertEquals(1.0, revalidations("changed"));
+    }
+
+    @Test
+    void supplierDeletedElsewhereIsNotServedFromTheCache() {
+        SupplierCache cache = cache(Duration.ZERO);
+        cache.get(id, loader);
+        database.set(null);
+        when(supplierRepository.findLastModifiedAtById(id)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), cache.get(id, loader));
+        assertEquals(1.0, revalidations("changed"));
+    }
+
+    @Test
+    void evictOutsideATransactionDropsTheEntryNow() {
+        SupplierCache cache = cache(Duration.ofMinutes(1));
+        cache.get(id, loader);
+        database.set(versioned("Updated", V2));
+
+        cache.evict(id);
+
+        assertEquals("Updated", cache.get(id, loader).orElseThrow().supplier().getName());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictInsideATransactionDropsAnEntryRepopulatedBeforeTheCommit() {
+        SupplierCache cache = cache(Duration.ofMinutes(1));
+        cache.get(id, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(id);
+        // Uma leitura concorrente, antes do commit, ainda vê e guarda o estado antigo
+        cache.get(id, loader);
+        assertEquals(Optional.of(V1), cache.peekFreshVersion(id));
+        database.set(versioned("Committed", V2));
+        for (TransactionSynchronization synchronization : new ArrayList<>(TransactionSynchronizationManager.getSynchronizations())) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(Optional.empty(), cache.peekFreshVersion(id));
+        assertEquals("Committed", cache.get(id, loader).orElseThrow().supplier().getName());
+    }
+
+    @Test
+    void primaryScopeBypassesTheCache() {
+        SupplierCache cache = cache(Duration.ofMinutes(1));
+        cache.get(id, loader);
+        database.set(versioned("Own write", V2));
+
+        try (ReadRouting.Scope ignored = ReadRouting.primary()) {
+            assertEquals(Optional.empty(), cache.peekFreshVersion(id));
+            assertEquals("Own write", cache.get(id, loader).orElseThrow().supplier().getName());
+            assertEquals("Own write", cache.get(id, loader).orElseThrow().supplier().getName());
+        }
+
+        assertEquals(3, loads.get());
+        assertEquals("Original", cache.get(id, loader).orElseThrow().supplier().getName(), "the scope neither read nor stored entries");
+    }
+
+    @Test
+    void missInsideATransactionIsLoadedButNotStored() {
+        SupplierCache cache = cache(Duration.ofMinutes(1));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        cache.get(id, loader);
+        cache.get(id, loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(Optional.empty(), cache.peekFreshVersion(id));
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        cache.get(id, loader);
+        assertTrue(cache.peekFreshVersion(id).isPresent(), "outside the transaction the load is stored");
+    }
+
+    private SupplierCache cache(Duration revalidateAfter) {
+        return new SupplierCache(supplierRepository, meterRegistry, 100, Duration.ofMinutes(10), revalidateAfter);
+    }
+
+    private double revalidations(String result) {
+        return meterRegistry.get("cache.revalidations").tag("result", result).counter().count();
+    }
+
+    private SupplierCache.VersionedSupplier versioned(String name, LocalDateTime lastModifiedAt) {
+        SupplierDTO supplier = SupplierDTO.builder()
+                .id(id)
+                .name(name)
+                .businessIdentificationNumber("12345678000199")
+                .address(AddressDTO.builder().street("Rua Cache").city("Toronto").build())
+                .documentReferences(new ArrayList<>())
+                .build();
+        return new SupplierCache.VersionedSupplier(supplier, lastModifiedAt);
+    }
+}
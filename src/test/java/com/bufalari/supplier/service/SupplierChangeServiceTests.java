@@ -0,0 +1,202 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.auditing.ChangeSequenceGenerator;
+import com.bufalari.supplier.dto.SupplierChangeDTO;
+import com.bufalari.supplier.dto.SupplierChangeType;
+import com.bufalari.supplier.dto.SupplierChangesPageDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.ChangeCursorExpiredException;
+import com.bufalari.supplier.observability.SlowQueryLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the supplier change feed: writes and deletes in sequence order, bounded batches, cursor handling, and
+ * numbering in commit order with one statement per transaction.
+ * Verifica o feed de mudanças de fornecedores: escritas e exclusões em ordem de sequência, lotes limitados, cursores
+ * e numeração em ordem de commit com um comando por transação.
+ */
+@SpringBootTest(properties = {
+        "supplier.observability.slow-query.threshold=0ms", // Captura todos os comandos para contá-los
+        // Banco próprio: outros testes gravam fornecedores no H2 compartilhado
+        "spring.datasource.url=jdbc:h2:mem:changes;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class SupplierChangeServiceTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierChangeService supplierChangeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    private String cursor;
+
+    @BeforeEach
+    void drainFeed() {
+        SupplierChangesPageDTO page;
+        String since = null;
+        do {
+            page = supplierChangeService.getChanges(since, SupplierService.MAX_PAGE_SIZE);
+            since = page.getNextCursor();
+        } while (page.isHasMore());
+        cursor = since;
+    }
+
+    @Test
+    void returnsLatestWritesAndDeletesInSequenceOrderInBoundedBatches() {
+        SupplierDTO a = create("A");
+        SupplierDTO b = create("B");
+        SupplierDTO c = create("C");
+        supplierService.updateSupplier(a.getId(), a.toBuilder().tradeName("A Trade").build());
+        supplierService.deleteSupplier(b.getId());
+
+        statistics().clear();
+        SupplierChangesPageDTO first = supplierChangeService.getChanges(cursor, 2);
+        assertEquals(3, statistics().getPrepareStatementCount(), "suppliers + tombstones + one batched document references query");
+        assertEquals(List.of(c.getId(), a.getId()), first.getChanges().stream().map(SupplierChangeDTO::getSupplierId).toList());
+        assertEquals("A Trade", first.getChanges().get(1).getSupplier().getTradeName());
+        assertTrue(first.isHasMore());
+
+        SupplierChangesPageDTO second = supplierChangeService.getChanges(first.getNextCursor(), 2);
+        assertEquals(1, second.getChanges().size());
+        SupplierChangeDTO deleted = second.getChanges().get(0);
+        assertEquals(SupplierChangeType.DELETED, deleted.getType());
+        assertEquals(b.getId(), deleted.getSupplierId());
+        assertEquals(b.getBusinessIdentificationNumber(), deleted.getBusinessIdentificationNumber());
+        assertNull(deleted.getSupplier());
+        assertTrue(deleted.getSequence() > first.getChanges().get(1).getSequence());
+        assertFalse(second.isHasMore());
+
+        SupplierChangesPageDTO empty = supplierChangeService.getChanges(second.getNextCursor(), 2);
+        assertTrue(empty.getChanges().isEmpty());
+        assertFalse(empty.isHasMore());
+    }
+
+    @Test
+    void documentReferenceChangeIsReportedButNoOpUpdateIsNot() {
+        SupplierDTO supplier = create("D");
+        cursor = supplierChangeService.getChanges(cursor, 10).getNextCursor();
+
+        supplierService.updateSupplier(supplier.getId(), supplier);
+        assertTrue(supplierChangeService.getChanges(cursor, 10).getChanges().isEmpty());
+
+        supplierService.addDocumentReference(supplier.getId(), "doc-d");
+        List<SupplierChangeDTO> changes = supplierChangeService.getChanges(cursor, 10).getChanges();
+        assertEquals(1, changes.size());
+        assertEquals(List.of("doc-d"), changes.get(0).getSupplier().getDocumentReferences());
+    }
+
+    @Test
+    void slowTransactionCommittingAfterAFasterOneIsNotSkipped() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SupplierDTO> slow = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                SupplierDTO created = create("Slow");
+                entityManager.flush(); // INSERT já emitido: com a sequência obtida na escrita, o valor dele seria o menor
+                written.countDown();
+                try {
+                    assertTrue(release.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return created;
+            }));
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            SupplierDTO fast = create("Fast");
+
+            SupplierChangesPageDTO beforeSlowCommit = supplierChangeService.getChanges(cursor, 10);
+            assertEquals(List.of(fast.getId()), supplierIds(beforeSlowCommit));
+
+            release.countDown();
+            SupplierDTO slowSupplier = slow.get(10, TimeUnit.SECONDS);
+
+            SupplierChangesPageDTO afterSlowCommit = supplierChangeService.getChanges(beforeSlowCommit.getNextCursor(), 10);
+            assertEquals(List.of(slowSupplier.getId()), supplierIds(afterSlowCommit), "the late commit comes after the cursor");
+            assertTrue(afterSlowCommit.getChanges().get(0).getSequence() > beforeSlowCommit.getChanges().get(0).getSequence());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void writesOfOneTransactionAreNumberedInOneStatement() {
+        Instant start = Instant.now();
+
+        Set<UUID> written = new TransactionTemplate(transactionManager).execute(status ->
+                Set.of(create("One").getId(), create("Two").getId(), create("Three").getId()));
+
+        long numbering = slowQueryLog.recent().stream()
+                .filter(query -> !query.at().isBefore(start) && query.sql().toLowerCase().contains(ChangeSequenceGenerator.SEQUENCE_NAME))
+                .count();
+        assertEquals(1, numbering, "one UPDATE for the three rows instead of a nextval per row");
+        assertEquals(written, supplierIds(supplierChangeService.getChanges(cursor, 10)).stream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    void rejectsExpiredAndMalformedCursors() {
+        String expired = new SupplierChangeCursor(0, Instant.now().minus(Duration.ofDays(31))).encode();
+
+        assertThrows(ChangeCursorExpiredException.class, () -> supplierChangeService.getChanges(expired, 10));
+        assertThrows(IllegalArgumentException.class, () -> supplierChangeService.getChanges("not-a-cursor", 10));
+    }
+
+    private SupplierDTO create(String name) {
+        return supplierService.createSupplier(SupplierDTO.builder()
+                .name("Change Feed Supplier " + name)
+                .businessIdentificationNumber("CF-" + UUID.randomUUID().toString().substring(0, 8))
+                .category("CHANGES")
+                .build());
+    }
+
+    private static List<UUID> supplierIds(SupplierChangesPageDTO page) {
+        return page.getChanges().stream().map(SupplierChangeDTO::getSupplierId).toList();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,133 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierPageDTO;
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.dto.SupplierSummaryPageDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the keyset-paginated listing: page tokens walk the (name, id) order without gaps or repeats, even with
+ * equal names; filters combine; the name prefix is matched literally; and page sizes and tokens are validated.
+ * Verifica a listagem paginada por keyset: os tokens percorrem a ordem (name, id) sem lacunas nem repetições, mesmo
+ * com nomes iguais; filtros se combinam; o prefixo do nome é literal; e tamanhos e tokens são validados.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SupplierListingTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Test
+    void pageTokensWalkTheWholeListingInNameOrderWithoutRepeats() {
+        String category = randomCategory();
+        List<UUID> created = new ArrayList<>();
+        for (String name : List.of("Keyset E", "Keyset A", "Keyset C", "Keyset B", "Keyset B", "Keyset D", "Keyset A")) {
+            created.add(supplierService.createSupplier(supplier(name, category, "Toronto", "ON")).getId());
+        }
+
+        List<SupplierDTO> listed = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            SupplierPageDTO page = supplierService.getAllSuppliers(category, null, null, null, token, 2);
+            assertEquals(2, page.getSize());
+            assertTrue(page.getContent().size() <= 2);
+            listed.addAll(page.getContent());
+            token = page.getNextPageToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(4, pages, "7 rows in pages of 2; no empty trailing page");
+        assertEquals(new HashSet<>(created), ids(listed), "every supplier exactly once");
+        assertEquals(created.size(), listed.size());
+        for (int i = 1; i < listed.size(); i++) {
+            assertTrue(listed.get(i - 1).getName().compareTo(listed.get(i).getName()) <= 0, "ordered by name");
+        }
+    }
+
+    @Test
+    void summariesPageLikeTheFullListing() {
+        String category = randomCategory();
+        for (String name : List.of("Summary C", "Summary A", "Summary B")) {
+            supplierService.createSupplier(supplier(name, category, "Toronto", "ON"));
+        }
+
+        SupplierSummaryPageDTO first = supplierService.getSupplierSummaries(category, null, null, null, null, 2);
+        SupplierSummaryPageDTO second = supplierService.getSupplierSummaries(category, null, null, null, first.getNextPageToken(), 2);
+
+        assertEquals(List.of("Summary A", "Summary B"), first.getContent().stream().map(SupplierSummaryDTO::getName).toList());
+        assertEquals(List.of("Summary C"), second.getContent().stream().map(SupplierSummaryDTO::getName).toList());
+        assertNull(second.getNextPageToken());
+        assertEquals(first.getNextPageToken(),
+                supplierService.getAllSuppliers(category, null, null, null, null, 2).getNextPageToken(), "same cursor format");
+    }
+
+    @Test
+    void filtersCombineAndNamePrefixIsMatchedLiterally() {
+        String category = randomCategory();
+        UUID torontoPercent = supplierService.createSupplier(supplier("100%_Off Supplies", category, "Toronto", "ON")).getId();
+        supplierService.createSupplier(supplier("100X Supplies", category, "Toronto", "ON"));
+        UUID ottawaPercent = supplierService.createSupplier(supplier("100%_Off Ottawa", category, "Ottawa", "ON")).getId();
+        supplierService.createSupplier(supplier("100%_Off Montreal", category, "Montreal", "QC"));
+
+        assertEquals(Set.of(torontoPercent, ottawaPercent),
+                ids(supplierService.getAllSuppliers(category, null, "ON", "100%_", null, 50).getContent()),
+                "'%' and '_' in the prefix are not wildcards");
+        assertEquals(Set.of(torontoPercent),
+                ids(supplierService.getAllSuppliers(category, "Toronto", "ON", "100%", null, 50).getContent()));
+        assertEquals(Set.of(), ids(supplierService.getAllSuppliers(category, "Toronto", "QC", null, null, 50).getContent()));
+        assertEquals(4, supplierService.getAllSuppliers(category, " ", "", null, null, 50).getContent().size(), "blank filters are ignored");
+    }
+
+    @Test
+    void pageSizeIsClampedAndMalformedTokensAreRejected() {
+        String category = randomCategory();
+        supplierService.createSupplier(supplier("Clamp A", category, "Toronto", "ON"));
+        supplierService.createSupplier(supplier("Clamp B", category, "Toronto", "ON"));
+
+        SupplierPageDTO smallest = supplierService.getAllSuppliers(category, null, null, null, null, 0);
+        assertEquals(1, smallest.getSize());
+        assertEquals(1, smallest.getContent().size());
+        assertNotNull(smallest.getNextPageToken());
+        assertEquals(SupplierService.MAX_PAGE_SIZE, supplierService.getAllSuppliers(category, null, null, null, null, 100_000).getSize());
+
+        assertThrows(IllegalArgumentException.class, () -> supplierService.getAllSuppliers(category, null, null, null, "not-a-token", 10));
+        assertThrows(IllegalArgumentException.class, () -> supplierService.getAllSuppliers(category, null, null, null, "c2hvcnQ", 10));
+    }
+
+    private static Set<UUID> ids(List<SupplierDTO> suppliers) {
+        Set<UUID> ids = new HashSet<>();
+        suppliers.forEach(supplier -> ids.add(supplier.getId()));
+        return ids;
+    }
+
+    private static SupplierDTO supplier(String name, String category, String city, String province) {
+        return TestSuppliers.supplier(name, category)
+                .address(TestSuppliers.address().city(city).province(province).build())
+                .build();
+    }
+
+    /** Each test lists only its own suppliers. / Cada teste lista apenas os próprios fornecedores. */
+    private static String randomCategory() {
+        return "KEYSET-" + ThreadLocalRandom.current().nextInt(1_000_000);
+    }
+}
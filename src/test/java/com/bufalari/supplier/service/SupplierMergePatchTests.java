@@ -0,0 +1,175 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.auditing.ChangeSequenceGenerator;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.exception.ResourceNotFoundException;
+import com.bufalari.supplier.observability.SlowQueryLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies JSON Merge Patch semantics (null removes a member, nested objects merge, arrays replace), that a patch
+ * writes only the columns it changed and diffs document references row by row, and removal of a single reference.
+ * Every statement is captured through the slow-query log (threshold 0) of a dedicated database.
+ * Verifica a semântica do JSON Merge Patch (null remove, objetos aninhados mesclam, arrays substituem), que o patch
+ * grava só as colunas alteradas e aplica as referências de documentos linha a linha, e a remoção de uma referência.
+ * Todos os comandos são capturados pelo log de queries lentas (limite 0) de um banco próprio.
+ */
+@SpringBootTest(properties = {
+        "supplier.observability.slow-query.threshold=0ms",
+        "spring.datasource.url=jdbc:h2:mem:mergepatch;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class SupplierMergePatchTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void nullRemovesAMemberAndNestedObjectsAreMerged() throws Exception {
+        UUID id = supplierService.createSupplier(supplier()).getId();
+
+        SupplierDTO patched = supplierService.patchSupplier(id,
+                objectMapper.readTree("{\"tradeName\":null,\"primaryContactPhone\":\"+1 555 0100\",\"address\":{\"city\":\"Ottawa\"}}"), null).supplier();
+
+        assertNull(patched.getTradeName());
+        assertEquals("+1 555 0100", patched.getPrimaryContactPhone());
+        assertEquals("Ottawa", patched.getAddress().getCity());
+        assertEquals("Rua Patch", patched.getAddress().getStreet(), "members absent from the nested patch are kept");
+        assertEquals("Banco Patch", patched.getBankName(), "members absent from the patch are kept");
+        assertNull(supplierService.getSupplierById(id).getTradeName());
+    }
+
+    @Test
+    void patchWritesOnlyTheChangedColumnAndLeavesReferencesAlone() throws Exception {
+        UUID id = supplierService.createSupplier(supplier()).getId();
+        statistics().clear();
+        Instant start = Instant.now();
+
+        supplierService.patchSupplier(id, objectMapper.readTree("{\"tradeName\":\"Only This Column\"}"), null);
+
+        Set<String> columns = updatedColumns(patchStatements(start).stream()
+                .filter(sql -> sql.startsWith("update suppliers") && !sql.contains(ChangeSequenceGenerator.SEQUENCE_NAME)) // não a numeração no commit
+                .findFirst().orElseThrow());
+        assertTrue(columns.contains("trade_name"), columns.toString());
+        for (String untouched : List.of("name", "business_identification_number", "primary_contact_phone", "bank_name", "category")) {
+            assertFalse(columns.contains(untouched), untouched + " is not written: " + columns);
+        }
+        assertTrue(patchStatements(start).stream().noneMatch(sql -> sql.contains("supplier_document_references")
+                && !sql.startsWith("select")), "document references untouched");
+        assertEquals(1, statistics().getEntityUpdateCount());
+    }
+
+    @Test
+    void documentReferencesAreDiffedNotRecreated() throws Exception {
+        UUID id = supplierService.createSupplier(supplier()).getId();
+        statistics().clear();
+        Instant start = Instant.now();
+
+        SupplierDTO patched = supplierService.patchSupplier(id, objectMapper.readTree("{\"documentReferences\":[\"a.pdf\",\"c.pdf\"]}"), null).supplier();
+
+        assertEquals(List.of("a.pdf", "c.pdf"), patched.getDocumentReferences().stream().sorted().toList());
+        assertEquals(0, statistics().getCollectionRecreateCount(), "the collection is not deleted and re-inserted");
+        assertEquals(1, patchStatements(start).stream().filter(sql -> sql.startsWith("insert into supplier_document_references")).count());
+        assertEquals(1, patchStatements(start).stream().filter(sql -> sql.startsWith("delete from supplier_document_references")).count());
+    }
+
+    @Test
+    void unchangedPatchWritesNothing() throws Exception {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+        SupplierCache.VersionedSupplier before = supplierService.getVersionedSupplierById(created.getId());
+        statistics().clear();
+        Instant start = Instant.now();
+
+        SupplierCache.VersionedSupplier after = supplierService.patchSupplier(created.getId(),
+                objectMapper.readTree("{\"tradeName\":\"" + created.getTradeName() + "\",\"documentReferences\":[\"b.pdf\",\"a.pdf\"]}"), null);
+
+        assertEquals(before.lastModifiedAt(), after.lastModifiedAt(), "same ETag");
+        assertEquals(0, statistics().getEntityUpdateCount());
+        assertTrue(patchStatements(start).stream().noneMatch(sql -> !sql.startsWith("select")));
+    }
+
+    @Test
+    void invalidPatchesAreRejected() throws Exception {
+        UUID id = supplierService.createSupplier(supplier()).getId();
+
+        assertThrows(ConstraintViolationException.class, () -> supplierService.patchSupplier(id, objectMapper.readTree("{\"name\":null}"), null));
+        assertThrows(IllegalArgumentException.class, () -> supplierService.patchSupplier(id, objectMapper.readTree("[]"), null));
+        assertThrows(ResourceNotFoundException.class, () -> supplierService.patchSupplier(UUID.randomUUID(), objectMapper.readTree("{}"), null));
+        assertEquals("Patch Supplier", supplierService.getSupplierById(id).getName());
+    }
+
+    @Test
+    void removeDocumentReferenceDeletesOneRowAndRejectsUnknownReferences() {
+        SupplierDTO created = supplierService.createSupplier(supplier());
+        SupplierCache.VersionedSupplier before = supplierService.getVersionedSupplierById(created.getId());
+
+        supplierService.removeDocumentReference(created.getId(), "a.pdf");
+
+        SupplierCache.VersionedSupplier after = supplierService.getVersionedSupplierById(created.getId());
+        assertEquals(List.of("b.pdf"), after.supplier().getDocumentReferences(), "the cached copy was evicted");
+        assertTrue(after.lastModifiedAt().isAfter(before.lastModifiedAt()), "new ETag");
+        assertThrows(ResourceNotFoundException.class, () -> supplierService.removeDocumentReference(created.getId(), "a.pdf"));
+        assertThrows(ResourceNotFoundException.class, () -> supplierService.removeDocumentReference(UUID.randomUUID(), "b.pdf"));
+    }
+
+    /** Statements issued by patchSupplier since {@code start}, newest first. / Comandos emitidos por patchSupplier desde {@code start}. */
+    private List<String> patchStatements(Instant start) {
+        return slowQueryLog.recent().stream()
+                .filter(query -> !query.at().isBefore(start) && query.caller().equals("SupplierService.patchSupplier"))
+                .map(query -> query.sql().toLowerCase())
+                .toList();
+    }
+
+    /** Column names in the SET clause of an UPDATE. / Nomes das colunas na cláusula SET de um UPDATE. */
+    private static Set<String> updatedColumns(String updateSql) {
+        String setClause = updateSql.substring(updateSql.indexOf(" set ") + 5, updateSql.indexOf(" where "));
+        return Arrays.stream(setClause.split(","))
+                .map(assignment -> assignment.substring(0, assignment.indexOf('=')).trim())
+                .collect(Collectors.toSet());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static SupplierDTO supplier() {
+        return TestSuppliers.supplier("Patch Supplier", "PATCH")
+                .tradeName("Patch Trade")
+                .primaryContactPhone("+1 555 0000")
+                .bankName("Banco Patch")
+                .address(TestSuppliers.address().street("Rua Patch").build())
+                .documentReferences(List.of("a.pdf", "b.pdf"))
+                .build();
+    }
+}
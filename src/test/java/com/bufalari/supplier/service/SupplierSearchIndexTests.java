@@ -0,0 +1,143 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.dto.SupplierSummaryDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests of the in-memory typeahead index: text folding, ranking of prefix and substring matches, business ID
+ * matching regardless of punctuation, updates and removals, and writes made while a rebuild reads the database.
+ * Testes unitários do índice de busca em memória: normalização de texto, ordenação de prefixos e substrings, Business
+ * IDs independentes de pontuação, atualizações e remoções, e escritas feitas durante uma reconstrução.
+ */
+class SupplierSearchIndexTests {
+
+    private SupplierRepository supplierRepository;
+    private SupplierSearchIndex index;
+
+    @BeforeEach
+    void emptyIndex() {
+        supplierRepository = mock(SupplierRepository.class);
+        // Fora de uma transação de verdade, index() e remove() aplicam as mudanças imediatamente
+        index = new SupplierSearchIndex(supplierRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void foldsAccentsCaseAndPunctuation() {
+        assertEquals("sao joao materiais ltda", SupplierSearchIndex.fold("  São-João  MATERIAIS Ltda. "));
+        assertEquals("", SupplierSearchIndex.fold("./-"));
+        assertEquals("12345678000199", SupplierSearchIndex.compactBusinessId("12.345.678/0001-99"));
+
+        SupplierEntity supplier = supplier("Construtora São João", "SJ Obras", "11.111.111/0001-11");
+        index.index(supplier);
+
+        assertEquals(List.of(supplier.getId()), ids(index.search("SAO joão", 10)));
+        assertEquals(List.of(supplier.getId()), ids(index.search("sj obras", 10)), "trade name");
+    }
+
+    @Test
+    void ranksExactThenWholeFieldPrefixThenWordPrefixThenSubstring() {
+        SupplierEntity substring = supplier("Beta Reconstrução", null, "22.222.222/0001-22");
+        SupplierEntity wordPrefix = supplier("Alfa Construções", null, "33.333.333/0001-33");
+        SupplierEntity fieldPrefix = supplier("Construtora Alfa", null, "44.444.444/0001-44");
+        SupplierEntity exact = supplier("Constru", null, "55.555.555/0001-55");
+        Stream.of(substring, wordPrefix, fieldPrefix, exact).forEach(index::index);
+
+        assertEquals(List.of(exact.getId(), fieldPrefix.getId(), wordPrefix.getId(), substring.getId()),
+                ids(index.search("constru", 10)));
+        // Com nomes suficientes começando pela consulta, o caminho rápido (mapa ordenado) dá o mesmo topo
+        assertEquals(List.of(exact.getId(), fieldPrefix.getId()), ids(index.search("constru", 2)));
+    }
+
+    @Test
+    void shortQueriesOnlyMatchWordPrefixes() {
+        SupplierEntity alfa = supplier("Alfa Materiais", null, "66.666.666/0001-66");
+        SupplierEntity metal = supplier("Metal Forte", null, "77.777.777/0001-77");
+        Stream.of(alfa, metal).forEach(index::index);
+
+        assertEquals(List.of(alfa.getId()), ids(index.search("al", 10)), "'al' inside 'metal' is not a word prefix");
+        assertEquals(List.of(metal.getId(), alfa.getId()), ids(index.search("m", 10)), "name prefix before word prefix");
+    }
+
+    @Test
+    void businessIdMatchesWhateverThePunctuation() {
+        SupplierEntity supplier = supplier("Fornecedor Documento", null, "12.345.678/0001-99");
+        index.index(supplier);
+
+        assertEquals(List.of(supplier.getId()), ids(index.search("12345678000199", 10)), "exact, digits only");
+        assertEquals(List.of(supplier.getId()), ids(index.search("12.345", 10)), "prefix, formatted");
+        assertEquals(List.of(supplier.getId()), ids(index.search("678/0001", 10)), "inside the ID");
+        assertEquals(List.of(), ids(index.search("98765", 10)));
+    }
+
+    @Test
+    void updateReplacesTheOldKeysAndRemoveDropsTheSupplier() {
+        SupplierEntity supplier = supplier("Nome Antigo", null, "88.888.888/0001-88");
+        index.index(supplier);
+        supplier.setName("Nome Novo");
+        index.index(supplier);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), ids(index.search("antigo", 10)));
+        assertEquals(List.of(supplier.getId()), ids(index.search("novo", 10)));
+
+        index.remove(supplier.getId());
+        assertEquals(0, index.size());
+        assertEquals(List.of(), ids(index.search("nome", 10)));
+        assertEquals(List.of(), ids(index.search("88888888000188", 10)));
+    }
+
+    @Test
+    void writesMadeWhileARebuildReadsTheDatabaseAreKept() {
+        SupplierEntity kept = supplier("Mantido Durante Reconstrução", null, "10.101.010/0001-10");
+        SupplierEntity deleted = supplier("Excluído Durante Reconstrução", null, "20.202.020/0001-20");
+        SupplierEntity created = supplier("Criado Durante Reconstrução", null, "30.303.030/0001-30");
+        // O banco devolve kept e deleted; enquanto são lidos, outra requisição cria created e exclui deleted
+        when(supplierRepository.streamAllSummaries()).thenAnswer(invocation -> Stream.of(summary(kept), summary(deleted))
+                .peek(summary -> {
+                    if (summary.getId().equals(deleted.getId())) {
+                        index.index(created);
+                        index.remove(deleted.getId());
+                    }
+                }));
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(created.getId(), kept.getId()), ids(index.search("reconstrucao", 10)));
+    }
+
+    private static SupplierEntity supplier(String name, String tradeName, String businessId) {
+        SupplierEntity supplier = SupplierEntity.builder()
+                .name(name)
+                .tradeName(tradeName)
+                .businessIdentificationNumber(businessId)
+                .category("SEARCH")
+                .build();
+        supplier.setId(UUID.randomUUID());
+        return supplier;
+    }
+
+    private static SupplierSummaryDTO summary(SupplierEntity supplier) {
+        return new SupplierSummaryDTO(supplier.getId(), supplier.getName(), supplier.getTradeName(),
+                supplier.getBusinessIdentificationNumber(), supplier.getCategory(), null, null, null);
+    }
+
+    private static List<UUID> ids(List<SupplierSummaryDTO> results) {
+        assertTrue(results.size() <= SupplierSearchIndex.MAX_LIMIT);
+        return results.stream().map(SupplierSummaryDTO::getId).toList();
+    }
+}
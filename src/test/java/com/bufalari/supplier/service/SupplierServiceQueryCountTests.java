@@ -0,0 +1,102 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.dto.AddressDTO;
+import com.bufalari.supplier.dto.SupplierBatchRequestDTO;
+import com.bufalari.supplier.dto.SupplierBatchResultDTO;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierPageDTO;
+import com.bufalari.supplier.dto.SupplierSummaryPageDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that supplier reads issue a constant number of SQL statements (no N+1 on document references).
+ * Verifica que as leituras de fornecedores emitem um número constante de statements SQL (sem N+1 nas referências de documentos).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SupplierServiceQueryCountTests {
+
+    private static final int SUPPLIERS = 30;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String category;
+    private UUID anyId;
+
+    @BeforeEach
+    void createSuppliers() {
+        // Categoria única por teste para isolar os dados no banco H2 compartilhado
+        category = "QC-" + UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < SUPPLIERS; i++) {
+            anyId = supplierService.createSupplier(SupplierDTO.builder()
+                    .name("Query Count Supplier " + i)
+                    .businessIdentificationNumber(category + "-" + i)
+                    .category(category)
+                    .address(AddressDTO.builder().street("Rua A").city("Curitiba").province("PR").postalCode("80000-000").country("BR").build())
+                    .documentReferences(List.of("doc-a-" + i, "doc-b-" + i))
+                    .build()).getId();
+        }
+        statistics().clear();
+    }
+
+    @Test
+    void listingLoadsDocumentReferencesInOneBatch() {
+        SupplierPageDTO page = supplierService.getAllSuppliers(category, null, null, null, null, 100);
+
+        assertEquals(SUPPLIERS, page.getContent().size());
+        assertEquals(2, page.getContent().get(0).getDocumentReferences().size());
+        assertEquals(2, statistics().getPrepareStatementCount(), "suppliers query + one batched document references query");
+    }
+
+    @Test
+    void summaryListingSkipsDocumentReferences() {
+        SupplierSummaryPageDTO page = supplierService.getSupplierSummaries(category, null, null, null, null, 100);
+
+        assertEquals(SUPPLIERS, page.getContent().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void getByIdFetchesDocumentReferencesInSameQuery() {
+        SupplierDTO supplier = supplierService.getSupplierById(anyId);
+
+        assertEquals(2, supplier.getDocumentReferences().size());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void batchLookupIssuesOneQueryPerKeyKind() {
+        List<UUID> ids = supplierService.getAllSuppliers(category, null, null, null, null, 100).getContent().stream()
+                .map(SupplierDTO::getId).toList();
+        List<String> businessIds = IntStream.range(0, SUPPLIERS).mapToObj(i -> category + "-" + i).toList();
+        statistics().clear();
+
+        SupplierBatchResultDTO result = supplierService.getSuppliersBatch(SupplierBatchRequestDTO.builder()
+                .ids(ids).businessIdentificationNumbers(businessIds).build());
+
+        assertEquals(SUPPLIERS, result.getSuppliers().size());
+        assertEquals(2, result.getSuppliers().get(0).getDocumentReferences().size());
+        assertEquals(2, statistics().getPrepareStatementCount(), "one query by ID and one by business ID, each fetching document references");
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,159 @@
+package com.bufalari.supplier.service;
+
+import com.bufalari.supplier.TestSuppliers;
+import com.bufalari.supplier.dto.SupplierDTO;
+import com.bufalari.supplier.dto.SupplierGroupCountDTO;
+import com.bufalari.supplier.dto.SupplierStatisticsDTO;
+import com.bufalari.supplier.entity.SupplierEntity;
+import com.bufalari.supplier.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that supplier statistics follow creates, updates (including category and address changes) and deletes
+ * without a query, that reconciliation picks up writes made behind SupplierService's back, and that a write the
+ * reconciliation already counted is not counted again when its after-commit step runs later.
+ * Verifica que as estatísticas acompanham criações, atualizações (inclusive de categoria e endereço) e exclusões
+ * sem query, que a reconciliação captura escritas feitas por fora do SupplierService, e que uma escrita já contada
+ * pela reconciliação não é contada de novo quando sua etapa pós-commit roda depois.
+ */
+@SpringBootTest(properties = {
+        // Banco próprio: outros testes gravam fornecedores no H2 compartilhado
+        "spring.datasource.url=jdbc:h2:mem:statistics;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+})
+@ActiveProfiles("test")
+class SupplierStatisticsTests {
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private SupplierStatistics supplierStatistics;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String suffix;
+    private SupplierStatisticsDTO baseline;
+
+    @BeforeEach
+    void reconcile() {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        supplierStatistics.reconcile();
+        baseline = supplierService.getStatistics();
+    }
+
+    @Test
+    void followsCreatesUpdatesAndDeletes() {
+        SupplierDTO a = supplierService.createSupplier(supplier("A", "cat-" + suffix, "prov-" + suffix, "country-" + suffix));
+        SupplierDTO b = supplierService.createSupplier(supplier("B", "cat-" + suffix, "prov-" + suffix, "country-" + suffix));
+
+        SupplierStatisticsDTO created = supplierService.getStatistics();
+        assertEquals(baseline.getTotalSuppliers() + 2, created.getTotalSuppliers());
+        assertEquals(baseline.getAddedThisMonth() + 2, created.getAddedThisMonth());
+        assertEquals(2, count(created.getByCategory(), "cat-" + suffix));
+        assertEquals(2, count(created.getByProvince(), "prov-" + suffix));
+        assertEquals(2, count(created.getByCountry(), "country-" + suffix));
+
+        // Mudança de categoria e de endereço: o fornecedor sai dos grupos antigos e entra nos novos
+        supplierService.updateSupplier(a.getId(), a.toBuilder()
+                .category("other-" + suffix)
+                .address(a.getAddress().toBuilder().province("other-prov-" + suffix).build())
+                .build());
+        SupplierStatisticsDTO updated = supplierService.getStatistics();
+        assertEquals(created.getTotalSuppliers(), updated.getTotalSuppliers());
+        assertEquals(1, count(updated.getByCategory(), "cat-" + suffix));
+        assertEquals(1, count(updated.getByCategory(), "other-" + suffix));
+        assertEquals(1, count(updated.getByProvince(), "prov-" + suffix));
+        assertEquals(1, count(updated.getByProvince(), "other-prov-" + suffix));
+        assertEquals(2, count(updated.getByCountry(), "country-" + suffix));
+
+        supplierService.deleteSupplier(b.getId());
+        SupplierStatisticsDTO deleted = supplierService.getStatistics();
+        assertEquals(baseline.getTotalSuppliers() + 1, deleted.getTotalSuppliers());
+        assertEquals(baseline.getAddedThisMonth() + 1, deleted.getAddedThisMonth());
+        assertEquals(0, count(deleted.getByCategory(), "cat-" + suffix), "empty groups are dropped");
+        assertEquals(1, count(deleted.getByCountry(), "country-" + suffix));
+
+        supplierStatistics.reconcile();
+        assertEquals(withoutReconciledAt(deleted), withoutReconciledAt(supplierService.getStatistics()), "incremental counts match the database");
+    }
+
+    @Test
+    void reconciliationPicksUpWritesMadeElsewhere() {
+        String digits = TestSuppliers.randomBusinessId();
+        supplierRepository.save(SupplierEntity.builder() // Como se fosse outra instância: SupplierStatistics não é avisado
+                .name("Statistics Elsewhere " + suffix)
+                .businessIdentificationNumber(digits)
+                .normalizedBusinessId(digits)
+                .category("elsewhere-" + suffix)
+                .build());
+        assertEquals(0, count(supplierService.getStatistics().getByCategory(), "elsewhere-" + suffix));
+
+        supplierStatistics.reconcile();
+        SupplierStatisticsDTO reconciled = supplierService.getStatistics();
+        assertEquals(baseline.getTotalSuppliers() + 1, reconciled.getTotalSuppliers());
+        assertEquals(1, count(reconciled.getByCategory(), "elsewhere-" + suffix));
+    }
+
+    @Test
+    void writeCommittedBeforeTheReconciliationQueryIsCountedOnce() {
+        String category = "interleaved-" + suffix;
+        ExecutorService reconciler = Executors.newSingleThreadExecutor();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // Registrada antes da de SupplierStatistics: a reconciliação inteira roda entre o commit e a aplicação da escrita
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        try {
+                            reconciler.submit(supplierStatistics::reconcile).get(10, TimeUnit.SECONDS);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+                supplierService.createSupplier(supplier("Interleaved", category, "prov-" + suffix, "country-" + suffix));
+            });
+        } finally {
+            reconciler.shutdownNow();
+        }
+
+        SupplierStatisticsDTO statistics = supplierService.getStatistics();
+        assertEquals(1, count(statistics.getByCategory(), category), "counted by the reconciliation query only");
+        assertEquals(baseline.getTotalSuppliers() + 1, statistics.getTotalSuppliers());
+    }
+
+    private static long count(List<SupplierGroupCountDTO> groups, String value) {
+        return groups.stream().filter(g -> value.equals(g.getValue())).mapToLong(SupplierGroupCountDTO::getSuppliers).sum();
+    }
+
+    private static SupplierStatisticsDTO withoutReconciledAt(SupplierStatisticsDTO statistics) {
+        statistics.setReconciledAt(null);
+        return statistics;
+    }
+
+    private static SupplierDTO supplier(String name, String category, String province, String country) {
+        return TestSuppliers.supplier("Statistics Supplier " + name, category)
+                .address(TestSuppliers.address().province(province).country(country).build())
+                .build();
+    }
+}
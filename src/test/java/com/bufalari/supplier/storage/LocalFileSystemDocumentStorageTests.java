@@ -0,0 +1,119 @@
+package com.bufalari.supplier.storage;
+
+import com.bufalari.supplier.exception.DocumentTooLargeException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the local document storage on a temporary directory: content lands under its SHA-256 through the
+ * incoming directory (chunk boundaries included), identical content is stored once, oversized uploads leave nothing
+ * behind, and only well-formed hashes are ever resolved to a path.
+ * Verifica o armazenamento local num diretório temporário: o conteúdo chega ao caminho do seu SHA-256 passando pelo
+ * diretório incoming (incluindo limites de chunk), conteúdo idêntico é armazenado uma vez, uploads grandes demais não
+ * deixam nada, e só hashes bem formados viram caminho.
+ */
+class LocalFileSystemDocumentStorageTests {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @TempDir
+    Path root;
+
+    private LocalFileSystemDocumentStorage storage;
+
+    @BeforeEach
+    void createStorage() {
+        storage = new LocalFileSystemDocumentStorage(root.toString(), DataSize.ofBytes(CHUNK_SIZE));
+    }
+
+    @Test
+    void contentIsMovedFromIncomingToItsHashPath() throws Exception {
+        byte[] document = randomBytes(3 * CHUNK_SIZE + 17);
+
+        StoredDocument stored = storage.store(new ByteArrayInputStream(document), Long.MAX_VALUE);
+
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(document)), stored.contentHash());
+        assertEquals(document.length, stored.size());
+        assertFalse(stored.deduplicated());
+        Path file = root.resolve(stored.contentHash().substring(0, 2)).resolve(stored.contentHash());
+        assertArrayEquals(document, Files.readAllBytes(file));
+        assertEquals(List.of(), incoming(), "the temporary file was moved, not copied");
+        assertTrue(storage.exists(stored.contentHash()));
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        byte[] document = randomBytes(CHUNK_SIZE);
+
+        StoredDocument first = storage.store(new ByteArrayInputStream(document), Long.MAX_VALUE);
+        StoredDocument second = storage.store(new ByteArrayInputStream(document), Long.MAX_VALUE);
+
+        assertEquals(first.contentHash(), second.contentHash());
+        assertTrue(second.deduplicated());
+        assertEquals(1, storedFiles().size());
+        assertEquals(List.of(), incoming(), "the duplicate upload was discarded");
+    }
+
+    @Test
+    void oversizedUploadLeavesNothingBehind() throws Exception {
+        byte[] document = randomBytes(2 * CHUNK_SIZE + 1);
+
+        assertThrows(DocumentTooLargeException.class, () -> storage.store(new ByteArrayInputStream(document), 2 * CHUNK_SIZE));
+
+        assertEquals(List.of(), storedFiles());
+        assertEquals(List.of(), incoming());
+        assertEquals(document.length, storage.store(new ByteArrayInputStream(document), document.length).size(), "exactly the limit is accepted");
+    }
+
+    @Test
+    void onlyWellFormedHashesAreResolved() throws Exception {
+        StoredDocument stored = storage.store(new ByteArrayInputStream(randomBytes(10)), Long.MAX_VALUE);
+        Files.writeString(root.resolve("secret.txt"), "outside the hash layout");
+
+        for (String contentHash : new String[] {"../secret.txt", stored.contentHash().toUpperCase(), stored.contentHash() + "0",
+                stored.contentHash().substring(1), "/" + stored.contentHash().substring(1)}) {
+            assertFalse(storage.exists(contentHash), contentHash);
+            assertTrue(storage.open(contentHash).isEmpty(), contentHash);
+        }
+        try (DocumentContent content = storage.open(stored.contentHash()).orElseThrow()) {
+            assertEquals(10, content.size());
+        }
+        assertTrue(storage.open("0".repeat(64)).isEmpty(), "well formed but not stored");
+    }
+
+    private List<Path> incoming() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve(".incoming"))) {
+            return files.toList();
+        }
+    }
+
+    private List<Path> storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).filter(file -> !file.startsWith(root.resolve(".incoming"))).toList();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,2 @@
+-- Fornecedor lido por StartupTimeTests na primeira requisição; migração repetível, aplicada pelo Flyway após as versionadas
+INSERT INTO suppliers (id, name, business_identification_number, business_id_normalized, category, created_at, last_modified_at) VALUES ('5a1e0000-0000-4000-8000-000000000001', 'Startup Supplier', 'STARTUP-0001', 'STARTUP0001', 'STARTUP', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);